@@ -0,0 +1,362 @@
+package com.trade.copy.binance.bracket;
+
+import com.trade.copy.binance.cache.ExchangeInfoCache;
+import com.trade.copy.binance.cache.ExchangeInfoCache.SymbolFilterInfo;
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.gateway.OrderGateway;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.stream.UserDataStream;
+import com.trade.copy.binance.util.Calculator;
+import com.trade.copy.binance.util.TelegramMessageSender;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포지션별 거래소 익절(TAKE_PROFIT_MARKET) / 손절(STOP_MARKET) 주문을 관리하는 컴포넌트
+ *  - 진입 직후 evaluateProfitTarget 과 같은 목표가로 보호 주문을 겁니다.
+ *  - 헤지 모드에서는 reduceOnly 를 보낼 수 없으므로(-1106) 두 모드 모두 closePosition=true 로 겁니다.
+ *  - 유저 데이터 스트림으로 체결 / 포지션 변경을 받아 한쪽이 체결되면 나머지를 취소하고,
+ *    추가 진입으로 평균 진입가가 바뀌면 목표가를 다시 계산해 주문을 교체합니다.
+ *  - 보호 주문이 걸린 심볼은 분 단위 익절 폴링에서 제외됩니다.
+ *  - 재시작 후에는 미체결 주문의 clientOrderId 접두사로 보호 주문을 다시 찾아 등록합니다.
+ */
+@Component
+public class BracketOrderManager {
+
+	private static final Logger logger = Logger.getLogger(BracketOrderManager.class.getName());
+
+	/**
+	 * 포지션 하나에 걸린 보호 주문
+	 *
+	 * @param closeSide    청산 주문 방향 (LONG → SELL, SHORT → BUY)
+	 * @param entryPrice   목표가 계산에 사용한 진입가
+	 * @param takeProfitId 익절 주문 clientOrderId
+	 * @param stopLossId   손절 주문 clientOrderId (없으면 null)
+	 */
+	public record Bracket(String symbol, String positionSide, String closeSide, double entryPrice,
+		  String takeProfitId, String stopLossId) {
+
+		boolean contains(String clientOrderId) {
+			return clientOrderId.equals(takeProfitId) || clientOrderId.equals(stopLossId);
+		}
+	}
+
+	// 보호 주문 clientOrderId 접두사. 재시작 후 미체결 주문에서 보호 주문을 찾는 데 사용
+	static final String TAKE_PROFIT_PREFIX = "tp_";
+	static final String STOP_LOSS_PREFIX = "sl_";
+
+	private final BinanceProperties props;
+	private final OrderGateway orderGateway;
+	private final BinanceApiHelper apiHelper;
+	private final ExchangeInfoCache exchangeInfoCache;
+	private final UserDataStream userDataStream;
+	private final TelegramMessageSender telegram;
+
+	// "심볼|positionSide" → 보호 주문
+	private final ConcurrentMap<String, Bracket> brackets = new ConcurrentHashMap<>();
+	// 이벤트 순서를 유지하면서 수신 스레드를 막지 않도록 단일 스레드에서 처리
+	private final ExecutorService eventExecutor = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "bracket-events");
+		t.setDaemon(true);
+		return t;
+	});
+
+	public BracketOrderManager(BinanceProperties props, OrderGateway orderGateway, BinanceApiHelper apiHelper,
+		  ExchangeInfoCache exchangeInfoCache, UserDataStream userDataStream, TelegramMessageSender telegram) {
+		this.props = props;
+		this.orderGateway = orderGateway;
+		this.apiHelper = apiHelper;
+		this.exchangeInfoCache = exchangeInfoCache;
+		this.userDataStream = userDataStream;
+		this.telegram = telegram;
+	}
+
+	@PostConstruct
+	public void start() {
+		if (isEnabled()) {
+			userDataStream.addListener(
+				  event -> eventExecutor.execute(() -> onUserEvent(event)),
+				  () -> eventExecutor.execute(this::reconcile));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		eventExecutor.shutdownNow();
+	}
+
+	public boolean isEnabled() {
+		return props.getBracket().isEnabled();
+	}
+
+	/**
+	 * 심볼에 보호 주문이 걸린 포지션이 있는지 여부 (true 면 익절 폴링 생략)
+	 */
+	public boolean isProtected(String symbol) {
+		return brackets.values().stream().anyMatch(b -> b.symbol().equals(symbol));
+	}
+
+	public Map<String, Bracket> getBrackets() {
+		return Map.copyOf(brackets);
+	}
+
+	/**
+	 * 포지션에 익절(+ 손절) 주문을 겁니다. 이미 걸려 있으면 취소 후 새 진입가 기준으로 교체합니다.
+	 * 주문에 실패하면 보호 주문 없이 두어 기존 익절 폴링이 처리하도록 합니다.
+	 *
+	 * @param symbol       거래 페어 (예: "BTCUSDT")
+	 * @param positionSide LONG, SHORT (단방향 모드는 BOTH)
+	 * @param closeSide    청산 주문 방향 (SELL 이면 롱 포지션)
+	 * @param entryPrice   포지션 평균 진입가
+	 */
+	public synchronized void protect(String symbol, String positionSide, String closeSide, double entryPrice) {
+		Bracket previous = brackets.remove(key(symbol, positionSide));
+		if (previous != null) {
+			cancelLegs(previous);
+		}
+
+		boolean isLong = closeSide.equals("SELL");
+		double target = Calculator.profitTargetPrice(
+			  entryPrice, props.getTargetProfitPercent(), props.getCommissionRate(), isLong);
+		String takeProfitId = newClientOrderId(TAKE_PROFIT_PREFIX);
+		String stopLossId = null;
+
+		try {
+			placeLeg(symbol, positionSide, closeSide, "TAKE_PROFIT_MARKET", target, takeProfitId,
+				  isLong ? RoundingMode.UP : RoundingMode.DOWN);
+
+			double stopLossPercent = props.getBracket().getStopLossPercent();
+			if (stopLossPercent > 0) {
+				double stop = isLong ? entryPrice * (1 - stopLossPercent) : entryPrice * (1 + stopLossPercent);
+				stopLossId = newClientOrderId(STOP_LOSS_PREFIX);
+				placeLeg(symbol, positionSide, closeSide, "STOP_MARKET", stop, stopLossId,
+					  isLong ? RoundingMode.DOWN : RoundingMode.UP);
+			}
+		} catch (Exception e) {
+			cancelLegs(new Bracket(symbol, positionSide, closeSide, entryPrice, takeProfitId, stopLossId));
+			logger.warning("⚠️ 보호 주문 실패 [" + symbol + " " + positionSide + "]: " + e.getMessage());
+			telegram.sendMessage("⚠️ 보호 주문 실패: " + symbol + " " + positionSide + "\n" + e.getMessage());
+			return;
+		}
+
+		brackets.put(key(symbol, positionSide),
+			  new Bracket(symbol, positionSide, closeSide, entryPrice, takeProfitId, stopLossId));
+		logger.info("🛡️ 보호 주문 등록 [" + symbol + " " + positionSide + "] 진입가 " + entryPrice + " / 목표가 " + target);
+	}
+
+	/**
+	 * 유저 데이터 스트림 이벤트 처리
+	 */
+	synchronized void onUserEvent(JSONObject event) {
+		switch (event.optString("e")) {
+			case "ORDER_TRADE_UPDATE" -> onOrderUpdate(event.getJSONObject("o"));
+			case "ACCOUNT_UPDATE" -> {
+				JSONArray positions = event.getJSONObject("a").optJSONArray("P");
+				if (positions == null) return;
+				for (int i = 0; i < positions.length(); i++) {
+					JSONObject p = positions.getJSONObject(i);
+					onPositionUpdate(p.getString("s"), p.getString("ps"),
+						  Double.parseDouble(p.getString("pa")), Double.parseDouble(p.getString("ep")));
+				}
+			}
+			default -> {
+			}
+		}
+	}
+
+	private void onOrderUpdate(JSONObject order) {
+		String clientOrderId = order.optString("c");
+		Bracket bracket = brackets.values().stream()
+			  .filter(b -> b.contains(clientOrderId))
+			  .findFirst()
+			  .orElse(null);
+		if (bracket == null) return;
+
+		String status = order.optString("X");
+		switch (status) {
+			case "FILLED" -> {
+				brackets.remove(key(bracket.symbol(), bracket.positionSide()));
+				cancelLegs(bracket);
+				boolean takeProfit = clientOrderId.equals(bracket.takeProfitId());
+				telegram.sendMessage(String.format(
+					  "%s 체결: %s %s\n진입가: %.4f\n체결가: %s",
+					  takeProfit ? "💰 익절" : "🛑 손절",
+					  bracket.symbol(), bracket.positionSide(), bracket.entryPrice(), order.optString("ap")));
+			}
+			case "CANCELED", "EXPIRED", "REJECTED" -> {
+				// 직접 취소한 주문은 맵에서 먼저 빠지므로, 여기 오는 것은 외부에서 취소 / 만료된 경우
+				brackets.remove(key(bracket.symbol(), bracket.positionSide()));
+				cancelLegs(bracket);
+				logger.warning("⚠️ 보호 주문 해제됨 (" + status + ") [" + bracket.symbol() + "], 익절 폴링으로 전환");
+			}
+			default -> {
+			}
+		}
+	}
+
+	private void onPositionUpdate(String symbol, String positionSide, double amount, double entryPrice) {
+		Bracket bracket = brackets.get(key(symbol, positionSide));
+		if (bracket == null) return;
+
+		if (amount == 0) {
+			// 포지션이 다른 경로로 청산됨 → 남은 보호 주문 정리
+			brackets.remove(key(symbol, positionSide));
+			cancelLegs(bracket);
+			return;
+		}
+
+		SymbolFilterInfo info = exchangeInfoCache.getSymbolInfo(symbol);
+		double tick = info == null ? 0 : info.getTickSize().doubleValue();
+		if (Math.abs(entryPrice - bracket.entryPrice()) > tick / 2) {
+			// 추가 진입 등으로 평균 진입가가 바뀜 → 목표가 재계산 후 교체
+			protect(symbol, positionSide, bracket.closeSide(), entryPrice);
+		}
+	}
+
+	/**
+	 * 연결 / 재연결 시 거래소 미체결 주문과 대조합니다.
+	 *  - 스트림이 끊긴 동안 놓친 체결 반영: 미체결 목록에 없는 보호 주문이 있으면 해당 포지션의 보호를 해제합니다.
+	 *  - 재시작으로 맵이 비었을 때: clientOrderId 접두사(tp_ / sl_)로 보호 주문을 찾아 포지션 진입가와 함께 다시 등록하고,
+	 *    포지션이 이미 없거나 익절 주문이 빠진 보호 주문은 취소합니다.
+	 */
+	synchronized void reconcile() {
+		// "심볼|positionSide" → { 익절, 손절 } 미체결 주문
+		Map<String, JSONObject[]> legs = new HashMap<>();
+		Set<String> openIds = new HashSet<>();
+		try {
+			JSONArray open = new JSONArray(apiHelper.sendGetRequest("/fapi/v1/openOrders", Map.of()));
+			for (int i = 0; i < open.length(); i++) {
+				JSONObject order = open.getJSONObject(i);
+				String clientOrderId = order.optString("clientOrderId");
+				openIds.add(clientOrderId);
+
+				int leg = clientOrderId.startsWith(TAKE_PROFIT_PREFIX) ? 0
+					  : clientOrderId.startsWith(STOP_LOSS_PREFIX) ? 1 : -1;
+				if (leg >= 0) {
+					legs.computeIfAbsent(key(order.getString("symbol"), order.getString("positionSide")),
+						  k -> new JSONObject[2])[leg] = order;
+				}
+			}
+		} catch (Exception e) {
+			logger.warning("⚠️ 보호 주문 대조 실패: " + e.getMessage());
+			return;
+		}
+
+		for (Bracket b : List.copyOf(brackets.values())) {
+			boolean intact = openIds.contains(b.takeProfitId())
+				  && (b.stopLossId() == null || openIds.contains(b.stopLossId()));
+			if (!intact) {
+				brackets.remove(key(b.symbol(), b.positionSide()));
+				cancelLegs(b);
+			}
+		}
+
+		legs.keySet().removeAll(brackets.keySet());
+		if (!legs.isEmpty()) {
+			restore(legs);
+		}
+	}
+
+	/**
+	 * 맵에 없는 보호 주문을 현재 포지션 진입가로 다시 등록합니다.
+	 */
+	private void restore(Map<String, JSONObject[]> legs) {
+		Map<String, Double> entryPrices = new HashMap<>();
+		try {
+			JSONArray positions = new JSONArray(orderGateway.getPositions(null));
+			for (int i = 0; i < positions.length(); i++) {
+				JSONObject p = positions.getJSONObject(i);
+				if (Double.parseDouble(p.getString("positionAmt")) != 0) {
+					entryPrices.put(key(p.getString("symbol"), p.getString("positionSide")),
+						  Double.parseDouble(p.getString("entryPrice")));
+				}
+			}
+		} catch (Exception e) {
+			logger.warning("⚠️ 보호 주문 복원 실패 (포지션 조회): " + e.getMessage());
+			return;
+		}
+
+		legs.forEach((key, pair) -> {
+			JSONObject takeProfit = pair[0];
+			JSONObject stopLoss = pair[1];
+			JSONObject any = takeProfit != null ? takeProfit : stopLoss;
+			Bracket bracket = new Bracket(any.getString("symbol"), any.getString("positionSide"), any.getString("side"),
+				  entryPrices.getOrDefault(key, 0.0),
+				  takeProfit == null ? null : takeProfit.getString("clientOrderId"),
+				  stopLoss == null ? null : stopLoss.getString("clientOrderId"));
+
+			if (takeProfit == null || !entryPrices.containsKey(key)) {
+				cancelLegs(bracket);
+				logger.info("🧹 남은 보호 주문 정리 [" + bracket.symbol() + " " + bracket.positionSide() + "]");
+				return;
+			}
+			brackets.put(key, bracket);
+			logger.info("🛡️ 보호 주문 복원 [" + bracket.symbol() + " " + bracket.positionSide() + "] 진입가 "
+				  + bracket.entryPrice());
+		});
+	}
+
+	private void placeLeg(String symbol, String positionSide, String closeSide, String type, double stopPrice,
+		  String clientOrderId, RoundingMode rounding) throws Exception {
+		Map<String, String> params = new HashMap<>();
+		params.put("symbol", symbol);
+		params.put("side", closeSide);
+		params.put("positionSide", positionSide);
+		params.put("type", type);
+		params.put("stopPrice", roundToTick(symbol, stopPrice, rounding));
+		params.put("closePosition", "true");
+		params.put("workingType", props.getBracket().getWorkingType());
+		params.put("newClientOrderId", clientOrderId);
+		orderGateway.placeOrder(params);
+	}
+
+	private void cancelLegs(Bracket bracket) {
+		for (String clientOrderId : new String[] { bracket.takeProfitId(), bracket.stopLossId() }) {
+			if (clientOrderId == null) continue;
+			try {
+				orderGateway.cancelOrder(Map.of("symbol", bracket.symbol(), "origClientOrderId", clientOrderId));
+			} catch (Exception e) {
+				// 이미 체결 / 취소된 주문(-2011)이면 무시
+				logger.log(Level.FINE, "보호 주문 취소 생략 [" + clientOrderId + "]: " + e.getMessage());
+			}
+		}
+	}
+
+	private String roundToTick(String symbol, double price, RoundingMode rounding) {
+		SymbolFilterInfo info = exchangeInfoCache.getSymbolInfo(symbol);
+		if (info == null) {
+			throw new RuntimeException("캐시에 심볼 정보가 없습니다: " + symbol);
+		}
+		BigDecimal tick = info.getTickSize();
+		return BigDecimal.valueOf(price)
+			  .divide(tick, 0, rounding)
+			  .multiply(tick)
+			  .stripTrailingZeros()
+			  .toPlainString();
+	}
+
+	private static String key(String symbol, String positionSide) {
+		return symbol + "|" + positionSide;
+	}
+
+	private static String newClientOrderId(String prefix) {
+		return prefix + UUID.randomUUID().toString().replace("-", "").substring(0, 24);
+	}
+}
@@ -0,0 +1,132 @@
+package com.trade.copy.binance.cache;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * 멱등 조회(GET) 응답 캐시
+ *  - 경로별 TTL 동안 같은 요청(경로 + 파라미터)의 응답을 재사용합니다.
+ *  - 동시에 들어온 같은 요청은 진행 중인 호출 하나의 결과를 함께 받습니다. (single-flight)
+ *  - 주문 / 취소 등 쓰기 요청이 성공하면 해당 심볼과 전체 심볼 응답을 무효화합니다.
+ *  - 적중 / 미스 / 합쳐진 요청 수를 binance.api.cache 메트릭으로 노출합니다.
+ */
+@Component
+public class ApiResponseCache {
+
+	private record Entry(String body, long expiresAt, String symbol) {
+	}
+
+	private record Flight(CompletableFuture<String> future, String symbol) {
+	}
+
+	private final BinanceProperties props;
+	private final MeterRegistry meterRegistry;
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+	// 무효화 시마다 증가. 무효화 전에 시작된 호출의 응답은 저장하지 않음
+	private final AtomicLong generation = new AtomicLong();
+
+	public ApiResponseCache(BinanceProperties props, MeterRegistry meterRegistry) {
+		this.props = props;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * 캐시된 응답이 있으면 반환하고, 없으면 loader 로 조회해 저장합니다.
+	 *
+	 * @param path   API 경로 (TTL 설정 조회용)
+	 * @param params 요청 파라미터 (timestamp 등 매번 바뀌는 값은 제외)
+	 * @param loader 실제 호출
+	 * @return response body
+	 */
+	public String get(String path, Map<String, String> params, Callable<String> loader) throws Exception {
+		Long ttl = props.getCache().getTtlMillis().get(path);
+		if (!props.getCache().isEnabled() || ttl == null || ttl <= 0) {
+			return loader.call();
+		}
+
+		String key = key(path, params);
+		Entry cached = entries.get(key);
+		if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+			counter(path, "hit").increment();
+			return cached.body();
+		}
+
+		String symbol = params == null ? null : params.get("symbol");
+		Flight created = new Flight(new CompletableFuture<>(), symbol);
+		Flight running = inFlight.putIfAbsent(key, created);
+		if (running != null) {
+			counter(path, "coalesced").increment();
+			return join(running.future());
+		}
+
+		counter(path, "miss").increment();
+		long startGeneration = generation.get();
+		try {
+			String body = loader.call();
+			if (generation.get() == startGeneration) {
+				entries.put(key, new Entry(body, System.currentTimeMillis() + ttl, symbol));
+			}
+			created.future().complete(body);
+			return body;
+		} catch (Exception e) {
+			created.future().completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, created);
+		}
+	}
+
+	/**
+	 * 심볼 상태를 바꾸는 요청 이후 호출합니다. 해당 심볼 응답과 심볼 없이 조회한 전체 응답을 지웁니다.
+	 * 진행 중인 같은 범위의 조회도 목록에서 빼서, 이후 요청이 변경 전 응답에 합류하지 않고 새로 조회하게 합니다.
+	 *
+	 * @param symbol 변경된 심볼. null 이면 전체 무효화
+	 */
+	public void invalidate(String symbol) {
+		generation.incrementAndGet();
+		if (symbol == null) {
+			entries.clear();
+			inFlight.clear();
+			return;
+		}
+		entries.values().removeIf(e -> e.symbol() == null || e.symbol().equals(symbol));
+		inFlight.values().removeIf(f -> f.symbol() == null || f.symbol().equals(symbol));
+	}
+
+	private Counter counter(String path, String result) {
+		return Counter.builder("binance.api.cache")
+			  .tag("path", path)
+			  .tag("result", result)
+			  .register(meterRegistry);
+	}
+
+	private static String key(String path, Map<String, String> params) {
+		if (params == null || params.isEmpty()) {
+			return path;
+		}
+		return path + "?" + new TreeMap<>(params);
+	}
+
+	private static String join(CompletableFuture<String> future) throws Exception {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof Exception cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
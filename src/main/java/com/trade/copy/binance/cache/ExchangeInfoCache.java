@@ -14,7 +14,7 @@ import org.springframework.stereotype.Component;
 
 /**
  * 애플리케이션 구동 시 한 번만 /fapi/v1/exchangeInfo API를 호출하여
- * 각 심볼별 MIN_NOTIONAL, LOT_SIZE precision 정보를 메모리에 캐싱합니다.
+ * 각 심볼별 MIN_NOTIONAL, LOT_SIZE precision, PRICE_FILTER tickSize 정보를 메모리에 캐싱합니다.
  * JVM이 살아있는 동안만 유지되는 인메모리 캐시입니다.
  */
 @Component
@@ -45,6 +45,7 @@ public class ExchangeInfoCache {
 
 				double minNotional = 0.0;
 				int lotSizePrecision = 0;
+				BigDecimal tickSize = null;
 
 				JSONArray filters = s.getJSONArray("filters");
 				for (int j = 0; j < filters.length(); j++) {
@@ -61,6 +62,9 @@ public class ExchangeInfoCache {
 							  .stripTrailingZeros()
 							  .scale();
 					}
+					else if ("PRICE_FILTER".equals(filterType)) {
+						tickSize = new BigDecimal(f.getString("tickSize")).stripTrailingZeros();
+					}
 				}
 
 				// 기본값이 0인 경우가 없도록, 최소 거래 금액이 0.0이면 5.0으로 설정
@@ -72,7 +76,12 @@ public class ExchangeInfoCache {
 					lotSizePrecision = 1;
 				}
 
-				symbolInfoMap.put(symbol, new SymbolFilterInfo(minNotional, lotSizePrecision));
+				// tickSize 가 없으면 pricePrecision 자릿수로 대신함
+				if (tickSize == null || tickSize.signum() <= 0) {
+					tickSize = BigDecimal.ONE.movePointLeft(s.optInt("pricePrecision", 2));
+				}
+
+				symbolInfoMap.put(symbol, new SymbolFilterInfo(minNotional, lotSizePrecision, tickSize));
 			}
 
 		} catch (Exception e) {
@@ -96,10 +105,12 @@ public class ExchangeInfoCache {
 	public static class SymbolFilterInfo {
 		private final double minNotional;
 		private final int lotSizePrecision;
+		private final BigDecimal tickSize;
 
-		public SymbolFilterInfo(double minNotional, int lotSizePrecision) {
+		public SymbolFilterInfo(double minNotional, int lotSizePrecision, BigDecimal tickSize) {
 			this.minNotional = minNotional;
 			this.lotSizePrecision = lotSizePrecision;
+			this.tickSize = tickSize;
 		}
 	}
 }
\ No newline at end of file
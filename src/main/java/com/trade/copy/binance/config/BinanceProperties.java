@@ -1,5 +1,9 @@
 package com.trade.copy.binance.config;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -54,4 +58,302 @@ public class BinanceProperties {
 	 * recvWindow (예: 5000L)
 	 */
 	private long recvWindow;
-}
\ No newline at end of file
+
+	/**
+	 * 마켓 / 유저 데이터 스트림 WebSocket URL (예: wss://fstream.binance.com)
+	 */
+	private String streamUrl;
+
+	/**
+	 * 로컬 오더북 설정
+	 */
+	private OrderBook orderBook = new OrderBook();
+
+	/**
+	 * 주문 게이트웨이 설정
+	 */
+	private Gateway orderGateway = new Gateway();
+
+	/**
+	 * 자동매매 스케줄 설정
+	 */
+	private Schedule schedule = new Schedule();
+
+	/**
+	 * 진입 시 거래소에 함께 거는 익절 / 손절 주문 설정
+	 */
+	private Bracket bracket = new Bracket();
+
+	/**
+	 * 조회 API 응답 캐시 설정
+	 */
+	private Cache cache = new Cache();
+
+	/**
+	 * 주문 전 리스크 한도 설정
+	 */
+	private Risk risk = new Risk();
+
+	/**
+	 * 익절 폴링 설정
+	 */
+	private TakeProfit takeProfit = new TakeProfit();
+
+	/**
+	 * 손익 장부 설정
+	 */
+	private Ledger ledger = new Ledger();
+
+	/**
+	 * REST 호출 재시도 / 회로 차단 / 헤지 설정
+	 */
+	private Resilience resilience = new Resilience();
+
+	@Getter
+	@Setter
+	public static class OrderBook {
+
+		/**
+		 * depth diff 스트림으로 로컬 오더북을 유지할지 여부
+		 */
+		private boolean enabled;
+
+		/**
+		 * REST 스냅샷 호가 개수 (5, 10, 20, 50, 100, 500, 1000)
+		 */
+		private int snapshotLimit = 1000;
+	}
+
+	@Getter
+	@Setter
+	public static class Gateway {
+
+		/**
+		 * 주문 전송 방식 (rest, websocket)
+		 */
+		private String type = "rest";
+
+		/**
+		 * 선물 WebSocket API URL (예: wss://ws-fapi.binance.com/ws-fapi/v1)
+		 */
+		private String wsApiUrl;
+
+		/**
+		 * WebSocket API 응답 대기 시간 (ms). 초과 시 REST 로 대체 전송
+		 */
+		private long requestTimeoutMillis = 3000;
+	}
+
+	@Getter
+	@Setter
+	public static class Schedule {
+
+		/**
+		 * 자동매매 대상 심볼
+		 */
+		private List<String> symbols = new ArrayList<>();
+
+		/**
+		 * 진입 조건을 평가할 캔들 간격 (예: 15m, 1h). 캔들이 마감될 때마다 한 번씩 평가
+		 */
+		private List<String> entryIntervals = new ArrayList<>(List.of("15m"));
+
+		/**
+		 * 캔들 마감 후 평가까지 기다리는 시간 (ms). 거래소에 마감 캔들이 반영될 여유
+		 */
+		private long closeDelayMillis = 1000;
+	}
+
+	@Getter
+	@Setter
+	public static class Bracket {
+
+		/**
+		 * 진입 후 TAKE_PROFIT_MARKET(+ STOP_MARKET) 주문을 걸고 분 단위 익절 폴링을 생략할지 여부
+		 */
+		private boolean enabled;
+
+		/**
+		 * 손절 비율 (예: 0.02 == 2%). 0 이면 STOP_MARKET 주문을 걸지 않음
+		 */
+		private double stopLossPercent;
+
+		/**
+		 * 트리거 기준 가격 (MARK_PRICE, CONTRACT_PRICE)
+		 */
+		private String workingType = "MARK_PRICE";
+	}
+
+	@Getter
+	@Setter
+	public static class Cache {
+
+		/**
+		 * GET 응답 캐시 / 동시 요청 합치기 사용 여부
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * 경로별 캐시 유지 시간 (ms). 목록에 없는 경로는 캐시하지 않음
+		 */
+		private Map<String, Long> ttlMillis = new LinkedHashMap<>(Map.of(
+			  "/fapi/v2/positionRisk", 1000L,
+			  "/fapi/v3/positionRisk", 1000L,
+			  "/fapi/v1/premiumIndex", 1000L,
+			  "/fapi/v1/positionSide/dual", 60_000L));
+	}
+
+	@Getter
+	@Setter
+	public static class Risk {
+
+		/**
+		 * 진입 주문 전 리스크 한도 점검 사용 여부 (기본 false)
+		 *  - 켜면 첫 REST 동기화가 끝날 때까지 모든 진입을 거부합니다.
+		 */
+		private boolean enabled;
+
+		/**
+		 * 심볼당 최대 명목가 (USDT, 양방향 합). 0 이면 제한 없음
+		 */
+		private double maxSymbolNotional;
+
+		/**
+		 * 전체 최대 명목가 (USDT). 0 이면 제한 없음
+		 */
+		private double maxTotalNotional;
+
+		/**
+		 * 지갑 잔고 대비 최대 증거금 사용률 (예: 0.5 == 50%). 0 이면 제한 없음
+		 */
+		private double maxMarginUsage;
+
+		/**
+		 * 최대 미체결 주문 수 (보호 주문, 전송 중인 진입 주문 포함). 0 이면 제한 없음
+		 */
+		private int maxOpenOrders;
+
+		/**
+		 * 하루(UTC) 최대 손실 (USDT, 실현 손익 - 수수료). 도달하면 그날은 진입 거부. 0 이면 제한 없음
+		 */
+		private double maxDailyLoss;
+	}
+
+	@Getter
+	@Setter
+	public static class TakeProfit {
+
+		/**
+		 * 목표가까지의 거리 / 변동성으로 포지션별 점검 주기를 정하는 적응형 폴링 사용 여부 (false 면 1분 고정 폴링)
+		 */
+		private boolean adaptive;
+
+		/**
+		 * 점검 대상을 고르는 주기 (ms)
+		 */
+		private long tickMillis = 250;
+
+		/**
+		 * 포지션별 최소 / 최대 점검 간격 (ms)
+		 */
+		private long minCheckMillis = 250;
+		private long maxCheckMillis = 60_000;
+
+		/**
+		 * 목표가 도달 예상 시간 대비 점검 간격 비율 (예: 0.1 이면 예상 시간의 1/10 마다 점검)
+		 */
+		private double checkFraction = 0.1;
+
+		/**
+		 * 폴링에 쓸 분당 요청 가중치 예산 (계정 한도 2400 중 일부)
+		 */
+		private int weightPerMinute = 300;
+
+		/**
+		 * 포지션 목록(positionRisk) 갱신 주기 (ms)
+		 */
+		private long positionRefreshMillis = 5000;
+
+		/**
+		 * ATR 계산에 쓰는 캔들 간격 / 기간
+		 */
+		private String atrInterval = "15m";
+		private int atrPeriod = 14;
+	}
+
+	@Getter
+	@Setter
+	public static class Ledger {
+
+		/**
+		 * income / userTrades 를 주기적으로 받아 손익 장부를 유지할지 여부
+		 */
+		private boolean enabled;
+
+		/**
+		 * 장부(커서 + 일별 집계) 저장 파일
+		 */
+		private String path = "data/pnl-ledger.json";
+
+		/**
+		 * 증분 조회 주기 (ms)
+		 */
+		private long syncIntervalMillis = 300_000;
+
+		/**
+		 * 장부가 비어 있을 때 처음 가져올 기간 (일). userTrades 는 최대 7일
+		 */
+		private int initialLookbackDays = 7;
+	}
+
+	@Getter
+	@Setter
+	public static class Resilience {
+
+		/**
+		 * 요청 한 건의 응답 대기 시간 (ms). 초과하면 재시도 가능한 오류로 처리
+		 */
+		private long requestTimeoutMillis = 5_000;
+
+		/**
+		 * 최대 시도 횟수 (첫 호출 포함)
+		 */
+		private int maxAttempts = 3;
+
+		/**
+		 * 재시도 대기 상한 = min(backoffMaxMillis, backoffBaseMillis * 2^(n-1)), 실제 대기는 0 ~ 상한 사이 임의 값
+		 */
+		private long backoffBaseMillis = 100;
+		private long backoffMaxMillis = 2_000;
+
+		/**
+		 * 조회 응답이 p95 지연보다 늦으면 같은 요청을 한 번 더 보낼지 여부
+		 */
+		private boolean hedgeEnabled = true;
+
+		/**
+		 * 헤지 요청을 보내기 전 최소 대기 (ms)
+		 */
+		private long hedgeMinDelayMillis = 100;
+
+		/**
+		 * p95 계산에 필요한 최소 표본 수. 모자라면 헤지하지 않음
+		 */
+		private int hedgeMinSamples = 20;
+
+		/**
+		 * 연속 실패가 이 횟수에 도달하면 엔드포인트 회로를 엶
+		 */
+		private int breakerFailureThreshold = 5;
+
+		/**
+		 * 회로가 열린 뒤 시험 호출까지 대기 (ms)
+		 */
+		private long breakerOpenMillis = 10_000;
+
+		/**
+		 * 실행 여부를 알 수 없는 주문을 newClientOrderId 로 다시 조회하는 간격 (ms). recvWindow 가 지날 때까지 반복
+		 */
+		private long orderLookupIntervalMillis = 200;
+	}
+}
@@ -8,5 +8,6 @@ public class ProfitEvaluationResult {
 	private final String side;
 	private final double entryPrice;
 	private final double markPrice;
+	private final double estimatedExitPrice;
 	private final double targetPrice;
 }
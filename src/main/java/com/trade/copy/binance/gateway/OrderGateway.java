@@ -0,0 +1,36 @@
+package com.trade.copy.binance.gateway;
+
+import java.util.Map;
+
+/**
+ * 주문 전송 / 취소 및 포지션 조회 경로를 추상화한 인터페이스
+ *  - RestOrderGateway: 요청마다 서명된 REST 호출
+ *  - WebSocketOrderGateway: 인증된 WebSocket API 세션을 유지하고, 실패 시 REST 로 대체
+ * 반환값은 REST 응답과 같은 형태의 JSON 문자열입니다.
+ */
+public interface OrderGateway {
+
+	/**
+	 * 신규 주문 (POST /fapi/v1/order, order.place)
+	 *
+	 * @param params 주문 파라미터 (symbol, side, type, quantity, positionSide ...)
+	 * @return 주문 결과 JSON 문자열
+	 */
+	String placeOrder(Map<String, String> params) throws Exception;
+
+	/**
+	 * 주문 취소 (DELETE /fapi/v1/order, order.cancel)
+	 *
+	 * @param params symbol 과 orderId 또는 origClientOrderId
+	 * @return 취소된 주문 JSON 문자열
+	 */
+	String cancelOrder(Map<String, String> params) throws Exception;
+
+	/**
+	 * 포지션 조회 (GET /fapi/v2/positionRisk, account.position)
+	 *
+	 * @param symbol 조회할 심볼. null 이면 전체
+	 * @return 포지션 배열 JSON 문자열
+	 */
+	String getPositions(String symbol) throws Exception;
+}
@@ -0,0 +1,69 @@
+package com.trade.copy.binance.gateway;
+
+import com.trade.copy.binance.helper.BinanceApiException;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청마다 서명된 REST 호출로 주문을 처리하는 기본 게이트웨이
+ */
+@Component
+@RequiredArgsConstructor
+public class RestOrderGateway implements OrderGateway {
+
+	private final BinanceApiHelper apiHelper;
+
+	/**
+	 * newClientOrderId 가 없으면 붙여서 전송합니다. 응답을 받지 못하면 같은 id 로 접수 여부를 조회한 뒤에만 다시 보냅니다.
+	 */
+	@Override
+	public String placeOrder(Map<String, String> params) throws Exception {
+		Map<String, String> orderParams = new HashMap<>(params);
+		orderParams.putIfAbsent("newClientOrderId", UUID.randomUUID().toString());
+
+		return apiHelper.sendOrderRequest("/fapi/v1/order", orderParams,
+			  () -> findOrder(orderParams.get("symbol"), orderParams.get("newClientOrderId")));
+	}
+
+	@Override
+	public String cancelOrder(Map<String, String> params) throws Exception {
+		return apiHelper.sendDeleteRequest("/fapi/v1/order", params);
+	}
+
+	@Override
+	public String getPositions(String symbol) throws Exception {
+		return apiHelper.sendGetRequest("/fapi/v2/positionRisk",
+			  symbol == null ? Collections.emptyMap() : Map.of("symbol", symbol));
+	}
+
+	/**
+	 * clientOrderId 로 주문을 조회합니다. 응답 유실 후 재전송 전에 이미 접수되었는지 확인하는 용도입니다.
+	 *
+	 * @return 주문이 없으면(-2013) 빈 값
+	 */
+	public Optional<String> findOrder(String symbol, String clientOrderId) throws Exception {
+		return findOrder(Map.of("symbol", symbol, "origClientOrderId", clientOrderId));
+	}
+
+	/**
+	 * symbol 과 orderId 또는 origClientOrderId 로 주문을 조회합니다.
+	 *
+	 * @return 주문이 없으면(-2013) 빈 값
+	 */
+	public Optional<String> findOrder(Map<String, String> params) throws Exception {
+		try {
+			return Optional.of(apiHelper.sendGetRequest("/fapi/v1/order", params));
+		} catch (BinanceApiException e) {
+			if (e.getCode() == -2013) {
+				return Optional.empty();
+			}
+			throw e;
+		}
+	}
+}
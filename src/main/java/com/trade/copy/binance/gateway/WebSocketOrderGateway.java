@@ -0,0 +1,282 @@
+package com.trade.copy.binance.gateway;
+
+import com.trade.copy.binance.cache.ApiResponseCache;
+import com.trade.copy.binance.config.BinanceHttpClient;
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.ApiResilience;
+import com.trade.copy.binance.helper.BinanceApiException;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.helper.BinanceWebSocketClient;
+import com.trade.copy.binance.util.SignatureUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import org.json.JSONObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * 선물 WebSocket API(order.place, order.cancel, account.position)로 주문을 처리하는 게이트웨이
+ *  - 연결 하나를 계속 유지하여 주문마다 발생하는 HTTP 연결 / 헤더 오버헤드를 없앱니다.
+ *  - 요청 id 별 CompletableFuture 로 응답을 매칭하며, 연결이 끊기면 자동으로 재연결합니다.
+ *  - session.logon 으로 세션을 인증하지 않고 요청마다 apiKey / timestamp 를 넣어 HMAC 서명합니다.
+ *    session.logon 은 Ed25519 키만 지원하는데, 이 프로젝트는 REST 와 같은 HMAC 키(key / secret)를 쓰기 때문입니다.
+ *  - 연결이 없거나 응답이 제한 시간 안에 오지 않거나 실행 여부를 알 수 없는 오류(5xx, -1007)를 받으면 REST 로 대체 전송합니다.
+ *    주문이 이미 접수되었을 수 있으므로 신규 주문은 원래 요청이 접수될 수 있는 동안 newClientOrderId 로 조회한 뒤 끝내 없을 때만 다시 보냅니다.
+ *    취소가 이미 처리되었으면 REST 취소는 -2011 로 실패하므로, 주문을 조회해 취소된 상태면 그대로 반환합니다.
+ * binance.futures.order-gateway.type=websocket 일 때만 등록되며, 이때 기본(@Primary) OrderGateway 가 됩니다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "binance.futures.order-gateway", name = "type", havingValue = "websocket")
+public class WebSocketOrderGateway implements OrderGateway {
+
+	private static final Logger logger = Logger.getLogger(WebSocketOrderGateway.class.getName());
+
+	private final BinanceProperties props;
+	private final BinanceApiHelper apiHelper;
+	private final RestOrderGateway restGateway;
+	private final ApiResponseCache responseCache;
+	private final ApiResilience resilience;
+	private final BinanceWebSocketClient client;
+
+	private final ConcurrentMap<String, CompletableFuture<JSONObject>> pending = new ConcurrentHashMap<>();
+	private final AtomicLong requestIds = new AtomicLong();
+	private final AtomicLong fallbackCount = new AtomicLong();
+
+	public WebSocketOrderGateway(BinanceProperties props, BinanceHttpClient httpClient,
+		  BinanceApiHelper apiHelper, RestOrderGateway restGateway, ApiResponseCache responseCache,
+		  ApiResilience resilience) {
+		this.props = props;
+		this.apiHelper = apiHelper;
+		this.restGateway = restGateway;
+		this.responseCache = responseCache;
+		this.resilience = resilience;
+		this.client = new BinanceWebSocketClient(
+			  "ws-api",
+			  httpClient.client,
+			  () -> URI.create(props.getOrderGateway().getWsApiUrl()),
+			  this::onMessage,
+			  () -> { },
+			  this::failPending);
+	}
+
+	@PostConstruct
+	public void start() {
+		client.connect();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		client.close();
+		failPending();
+	}
+
+	public boolean isConnected() {
+		return client.isOpen();
+	}
+
+	/**
+	 * REST 로 대체 전송한 횟수
+	 */
+	public long getFallbackCount() {
+		return fallbackCount.get();
+	}
+
+	@Override
+	public String placeOrder(Map<String, String> params) throws Exception {
+		Map<String, String> orderParams = new HashMap<>(params);
+		orderParams.putIfAbsent("newClientOrderId", UUID.randomUUID().toString());
+
+		try {
+			String result = call("order.place", orderParams).toString();
+			responseCache.invalidate(orderParams.get("symbol"));
+			return result;
+		} catch (UnavailableException e) {
+			return placeOrderOverRest(orderParams, e.maybeSent, e.getMessage());
+		} catch (BinanceApiException e) {
+			// 5xx / -1007 은 실행 여부를 알 수 없는 응답이므로 응답 유실과 같이 처리
+			if (!e.isMayHaveExecuted()) {
+				throw e;
+			}
+			return placeOrderOverRest(orderParams, true, e.getMessage());
+		}
+	}
+
+	/**
+	 * REST 로 대체 전송. 거래소에 접수되었을 수 있으면 원래 요청이 접수될 수 있는 동안 newClientOrderId 로 조회하고,
+	 * 끝내 없을 때만 다시 보냅니다.
+	 */
+	private String placeOrderOverRest(Map<String, String> orderParams, boolean maybeSent, String reason)
+		  throws Exception {
+		String symbol = orderParams.get("symbol");
+		fallbackCount.incrementAndGet();
+		logger.warning("⚠️ WebSocket 주문 실패, REST 로 대체 [" + symbol + "]: " + reason);
+
+		if (maybeSent) {
+			responseCache.invalidate(symbol);
+			Optional<String> existing = resilience.awaitOrder(
+				  () -> restGateway.findOrder(symbol, orderParams.get("newClientOrderId")));
+			if (existing.isPresent()) {
+				return existing.get();
+			}
+		}
+		return restGateway.placeOrder(orderParams);
+	}
+
+	@Override
+	public String cancelOrder(Map<String, String> params) throws Exception {
+		try {
+			String result = call("order.cancel", params).toString();
+			responseCache.invalidate(params.get("symbol"));
+			return result;
+		} catch (UnavailableException e) {
+			fallbackCount.incrementAndGet();
+			try {
+				return restGateway.cancelOrder(params);
+			} catch (BinanceApiException rest) {
+				// WebSocket 취소가 이미 처리되었으면 REST 취소는 -2011(Unknown order) 로 실패하므로 취소된 주문을 반환
+				if (!e.maybeSent || rest.getCode() != -2011) {
+					throw rest;
+				}
+				Optional<String> order = restGateway.findOrder(params);
+				if (order.isPresent() && "CANCELED".equals(new JSONObject(order.get()).optString("status"))) {
+					return order.get();
+				}
+				throw rest;
+			}
+		}
+	}
+
+	@Override
+	public String getPositions(String symbol) throws Exception {
+		Map<String, String> params = new HashMap<>();
+		if (symbol != null) {
+			params.put("symbol", symbol);
+		}
+		try {
+			return call("account.position", params).toString();
+		} catch (UnavailableException e) {
+			fallbackCount.incrementAndGet();
+			return restGateway.getPositions(symbol);
+		}
+	}
+
+	/**
+	 * 서명된 요청을 보내고 응답의 result 를 반환합니다.
+	 *
+	 * @throws UnavailableException 연결이 없거나, 전송 실패, 전송 / 응답 시간 초과
+	 * @throws BinanceApiException  거래소가 오류 응답(status != 200)을 보낸 경우
+	 */
+	private Object call(String method, Map<String, String> params) throws Exception {
+		if (!client.isOpen()) {
+			throw new UnavailableException("연결 없음", false);
+		}
+
+		String id = String.valueOf(requestIds.incrementAndGet());
+		JSONObject request = new JSONObject()
+			  .put("id", id)
+			  .put("method", method)
+			  .put("params", new JSONObject(sign(params)));
+
+		long timeout = props.getOrderGateway().getRequestTimeoutMillis();
+		CompletableFuture<JSONObject> response = new CompletableFuture<>();
+		pending.put(id, response);
+		try {
+			send(request.toString()).get(timeout, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			pending.remove(id);
+			throw new UnavailableException("전송 실패: " + e.getMessage(), false);
+		} catch (TimeoutException e) {
+			// 전송 완료를 확인하지 못했을 뿐 프레임은 이미 나갔을 수 있음
+			pending.remove(id);
+			throw new UnavailableException("전송 시간 초과", true);
+		}
+
+		JSONObject res;
+		try {
+			res = response.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException | TimeoutException e) {
+			pending.remove(id);
+			throw new UnavailableException("응답 없음: " + e.getMessage(), true);
+		}
+
+		if (res.optInt("status") != 200) {
+			throw BinanceApiException.fromResponse("WS " + method, res.optInt("status"), String.valueOf(res.opt("error")), null);
+		}
+		return res.get("result");
+	}
+
+	/**
+	 * 프레임 전송. 완료 future 는 로컬 전송 완료만 뜻하며 거래소 접수 여부와는 무관합니다.
+	 */
+	CompletableFuture<?> send(String text) {
+		return client.send(text);
+	}
+
+	/**
+	 * WebSocket API 서명: apiKey, timestamp 를 포함한 모든 파라미터를 이름순으로 정렬한 query string 에 HMAC SHA256
+	 *  - 인증된 세션(session.logon)이 없으므로 요청마다 서명합니다.
+	 */
+	private Map<String, String> sign(Map<String, String> params) throws Exception {
+		TreeMap<String, String> signed = new TreeMap<>();
+		params.forEach((k, v) -> {
+			if (v != null && !v.isBlank()) {
+				signed.put(k, v);
+			}
+		});
+		signed.put("apiKey", props.getKey());
+		signed.put("timestamp", String.valueOf(apiHelper.currentTimestamp()));
+		signed.put("recvWindow", String.valueOf(props.getRecvWindow()));
+
+		String payload = signed.entrySet().stream()
+			  .map(e -> e.getKey() + "=" + e.getValue())
+			  .reduce((a, b) -> a + "&" + b)
+			  .orElse("");
+		signed.put("signature", SignatureUtil.generate(payload, props.getSecret()));
+		return signed;
+	}
+
+	/**
+	 * 응답 수신. 요청 id 로 대기 중인 future 를 완료합니다.
+	 */
+	void onMessage(JSONObject message) {
+		CompletableFuture<JSONObject> future = pending.remove(message.optString("id"));
+		if (future != null) {
+			future.complete(message);
+		}
+	}
+
+	private void failPending() {
+		pending.values().forEach(f -> f.completeExceptionally(new IOException("WebSocket API 연결 종료")));
+		pending.clear();
+	}
+
+	/**
+	 * WebSocket 경로를 사용할 수 없음을 나타내는 예외
+	 *  - maybeSent: 요청은 나갔지만 응답을 받지 못해 거래소에 접수되었을 수 있는 경우 true
+	 */
+	private static class UnavailableException extends RuntimeException {
+		private final boolean maybeSent;
+
+		UnavailableException(String message, boolean maybeSent) {
+			super(message);
+			this.maybeSent = maybeSent;
+		}
+	}
+}
@@ -0,0 +1,357 @@
+package com.trade.copy.binance.helper;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiException.Kind;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binance REST 호출의 재시도 / 회로 차단 / 헤지 정책
+ *  - 조회(read): 재시도 가능한 오류는 지터를 준 지수 백오프로 다시 호출하고,
+ *    응답이 엔드포인트 p95 지연보다 늦으면 같은 요청을 하나 더 보내 먼저 성공한 응답을 씁니다.
+ *  - 쓰기(write): 요청이 거래소에 전달되지 않은 것이 확실할 때(연결 실패, -1021)만 다시 보냅니다.
+ *  - 주문(submit): 실행 여부를 알 수 없으면 원래 요청이 접수될 수 있는 동안 newClientOrderId 로 조회하고, 끝내 없을 때만 다시 보냅니다.
+ *  - 엔드포인트별로 연속 실패가 임계치를 넘으면 일정 시간 호출을 막고(open), 이후 한 건만 시험 호출합니다(half-open).
+ *  - 429 / 418 을 받으면 Retry-After 동안 모든 호출을 거절합니다. (IP 차단 연장 방지)
+ */
+@Component
+public class ApiResilience {
+
+	private static final Logger logger = Logger.getLogger(ApiResilience.class.getName());
+
+	// 거래소가 허용하는, 서버 시간보다 앞선 timestamp 의 최대 차이 (ms)
+	private static final long SERVER_TIME_TOLERANCE_MILLIS = 1_000;
+
+	private final BinanceProperties props;
+	private final MeterRegistry meterRegistry;
+	private final LongSupplier clock;
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+	private volatile long bannedUntil;
+
+	@Autowired
+	public ApiResilience(BinanceProperties props, MeterRegistry meterRegistry) {
+		this(props, meterRegistry, System::currentTimeMillis);
+	}
+
+	ApiResilience(BinanceProperties props, MeterRegistry meterRegistry, LongSupplier clock) {
+		this.props = props;
+		this.meterRegistry = meterRegistry;
+		this.clock = clock;
+	}
+
+	/**
+	 * 멱등 조회. 재시도 + 헤지
+	 *
+	 * @param endpoint 회로 / 지연 통계 단위 (예: "GET /fapi/v3/positionRisk")
+	 * @param call     실제 호출. 시도마다 새로 서명하도록 매번 요청을 만들어야 함
+	 */
+	public String read(String endpoint, Callable<String> call) throws Exception {
+		return run(endpoint, true, () -> hedged(endpoint, call), null);
+	}
+
+	/**
+	 * 쓰기 요청. idempotent 가 false 이면 전달되지 않은 것이 확실한 실패만 다시 보냅니다.
+	 */
+	public String write(String endpoint, boolean idempotent, Callable<String> call) throws Exception {
+		return run(endpoint, idempotent, () -> timed(endpoint, call), null);
+	}
+
+	/**
+	 * 신규 주문. 실행 여부를 알 수 없는 실패 뒤에는 lookup(newClientOrderId 조회)으로 접수 여부를 확인하고,
+	 * 이미 접수되었으면 그 주문을 반환합니다.
+	 */
+	public String submit(String endpoint, Callable<String> call, Callable<Optional<String>> lookup) throws Exception {
+		return run(endpoint, false, () -> timed(endpoint, call), lookup);
+	}
+
+	private String run(String endpoint, boolean idempotent, Callable<String> attempt,
+		  Callable<Optional<String>> lookup) throws Exception {
+		BinanceProperties.Resilience cfg = props.getResilience();
+		int maxAttempts = Math.max(1, cfg.getMaxAttempts());
+
+		for (int n = 1; ; n++) {
+			acquire(endpoint);
+			BinanceApiException failure;
+			try {
+				String body = attempt.call();
+				breaker(endpoint).onSuccess();
+				return body;
+			} catch (BinanceApiException e) {
+				failure = e;
+			} catch (Exception e) {
+				breaker(endpoint).onAbort();
+				throw e;
+			}
+
+			record(endpoint, failure);
+			boolean safe = idempotent || lookup != null || failure.getKind() == Kind.TIMESTAMP || !failure.isMayHaveExecuted();
+			if (!failure.isRetryable() || !safe || n >= maxAttempts) {
+				throw failure;
+			}
+
+			meterRegistry.counter("binance.api.retries", "endpoint", endpoint, "kind", failure.getKind().name()).increment();
+			logger.warning("⚠️ 재시도 " + n + "/" + (maxAttempts - 1) + " [" + endpoint + "]: " + failure.getMessage());
+			if (lookup != null && failure.isMayHaveExecuted()) {
+				Optional<String> existing = awaitOrder(lookup);
+				if (existing.isPresent()) {
+					return existing.get();
+				}
+			}
+			else {
+				Thread.sleep(backoffMillis(n));
+			}
+		}
+	}
+
+	/**
+	 * 실행 여부를 알 수 없는 주문의 접수 여부를 조회합니다.
+	 *  - 매칭 엔진에서 대기 중인 주문은 바로 조회되지 않으므로, 원래 요청이 더 이상 접수될 수 없을 때까지 반복 조회합니다.
+	 *  - 요청 timestamp 는 지금보다 앞서고, 거래소는 timestamp + recvWindow 가 지난 요청을 거절합니다.
+	 *    서버 시간보다 최대 1초 앞선 timestamp 도 받으므로 지금 + recvWindow + 1초 뒤에도 없으면 접수되지 않은 것입니다.
+	 *  - newClientOrderId 중복은 미체결 주문 사이에서만 막히므로, 이미 체결된 시장가 주문은 재전송 시 거래소가 걸러주지 않습니다.
+	 *
+	 * @param lookup newClientOrderId 로 주문 조회, 없으면 빈 값
+	 * @return 접수된 주문, 기한까지 조회되지 않으면 빈 값
+	 */
+	public Optional<String> awaitOrder(Callable<Optional<String>> lookup) throws Exception {
+		long deadline = System.nanoTime()
+			  + TimeUnit.MILLISECONDS.toNanos(props.getRecvWindow() + SERVER_TIME_TOLERANCE_MILLIS);
+		while (true) {
+			Optional<String> existing = lookup.call();
+			long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (existing.isPresent() || remaining < 0) {
+				return existing;
+			}
+			// 기한 직후에 마지막으로 한 번 더 조회
+			Thread.sleep(Math.min(props.getResilience().getOrderLookupIntervalMillis(), remaining + 1));
+		}
+	}
+
+	/**
+	 * 첫 응답이 p95 지연 안에 오지 않으면 같은 요청을 하나 더 보내고, 먼저 성공한 쪽을 반환합니다.
+	 * 둘 다 실패하면 나중 실패를 던집니다.
+	 */
+	private String hedged(String endpoint, Callable<String> call) throws Exception {
+		long delay = hedgeDelayMillis(endpoint);
+		if (delay < 0) {
+			return timed(endpoint, call);
+		}
+
+		CompletableFuture<String> primary = async(endpoint, call);
+		try {
+			return primary.get(delay, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// 지연 → 헤지 요청
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+
+		meterRegistry.counter("binance.api.hedges", "endpoint", endpoint).increment();
+		CompletableFuture<String> backup = async(endpoint, call);
+
+		CompletableFuture<String> winner = new CompletableFuture<>();
+		AtomicInteger failures = new AtomicInteger();
+		BiConsumer<String, Throwable> first = (body, error) -> {
+			if (error == null) {
+				winner.complete(body);
+			}
+			else if (failures.incrementAndGet() == 2) {
+				winner.completeExceptionally(error);
+			}
+		};
+		primary.whenComplete(first);
+		backup.whenComplete(first);
+
+		try {
+			return winner.get();
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+
+	private CompletableFuture<String> async(String endpoint, Callable<String> call) {
+		CompletableFuture<String> future = new CompletableFuture<>();
+		executor.execute(() -> {
+			try {
+				future.complete(timed(endpoint, call));
+			} catch (Throwable t) {
+				future.completeExceptionally(t);
+			}
+		});
+		return future;
+	}
+
+	private String timed(String endpoint, Callable<String> call) throws Exception {
+		long start = System.nanoTime();
+		String body = call.call();
+		latencies.computeIfAbsent(endpoint, k -> new LatencyWindow())
+			  .add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return body;
+	}
+
+	/**
+	 * 헤지 지연 = max(최소 지연, 최근 성공 응답의 p95). 표본이 부족하거나 비활성이면 -1
+	 */
+	long hedgeDelayMillis(String endpoint) {
+		BinanceProperties.Resilience cfg = props.getResilience();
+		if (!cfg.isHedgeEnabled()) {
+			return -1;
+		}
+		LatencyWindow window = latencies.get(endpoint);
+		if (window == null || window.size() < Math.max(1, cfg.getHedgeMinSamples())) {
+			return -1;
+		}
+		return Math.max(cfg.getHedgeMinDelayMillis(), window.percentile(0.95));
+	}
+
+	/**
+	 * 지터를 준 지수 백오프 (full jitter): [0, min(max, base * 2^(n-1))]
+	 */
+	private long backoffMillis(int attempt) {
+		BinanceProperties.Resilience cfg = props.getResilience();
+		long cap = Math.min(cfg.getBackoffMaxMillis(), cfg.getBackoffBaseMillis() << Math.min(attempt - 1, 20));
+		return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+	}
+
+	private void acquire(String endpoint) {
+		long now = clock.getAsLong();
+		long banned = bannedUntil;
+		if (now < banned) {
+			meterRegistry.counter("binance.api.rejected", "endpoint", endpoint, "reason", "rate-limited").increment();
+			throw BinanceApiException.rejected(endpoint, Kind.RATE_LIMITED,
+				  "요청 한도 초과로 " + (banned - now) + "ms 동안 호출 중단", banned - now);
+		}
+		if (!breaker(endpoint).tryAcquire(now)) {
+			meterRegistry.counter("binance.api.rejected", "endpoint", endpoint, "reason", "circuit-open").increment();
+			throw BinanceApiException.rejected(endpoint, Kind.FATAL, "회로 차단 중", 0);
+		}
+	}
+
+	private void record(String endpoint, BinanceApiException e) {
+		if (e.getKind() == Kind.RATE_LIMITED) {
+			bannedUntil = Math.max(bannedUntil, clock.getAsLong() + e.getRetryAfterMillis());
+			logger.warning("🚫 요청 한도 초과, " + e.getRetryAfterMillis() + "ms 동안 호출 중단: " + e.getMessage());
+		}
+		if (e.getKind() == Kind.RETRYABLE) {
+			if (breaker(endpoint).onFailure(clock.getAsLong())) {
+				meterRegistry.counter("binance.api.breaker.opened", "endpoint", endpoint).increment();
+				logger.warning("🔌 회로 차단 [" + endpoint + "] " + props.getResilience().getBreakerOpenMillis() + "ms");
+			}
+		}
+		else {
+			// 거래소가 응답했으므로 엔드포인트 자체는 살아 있음
+			breaker(endpoint).onSuccess();
+		}
+	}
+
+	private Breaker breaker(String endpoint) {
+		return breakers.computeIfAbsent(endpoint, k -> new Breaker());
+	}
+
+	private static Exception unwrap(ExecutionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof Exception ex) {
+			return ex;
+		}
+		return new RuntimeException(cause);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * closed → (연속 실패 threshold 회) → open(openMillis) → half-open(시험 호출 1건) → 성공 시 closed / 실패 시 open
+	 */
+	private class Breaker {
+
+		private int failures;
+		private long openUntil;
+		private boolean probing;
+
+		synchronized boolean tryAcquire(long now) {
+			if (openUntil == 0) {
+				return true;
+			}
+			if (now < openUntil || probing) {
+				return false;
+			}
+			probing = true;
+			return true;
+		}
+
+		synchronized void onSuccess() {
+			failures = 0;
+			openUntil = 0;
+			probing = false;
+		}
+
+		/**
+		 * 분류되지 않은 예외(인터럽트 등)로 끝난 시험 호출은 다음 호출에 기회를 넘김
+		 */
+		synchronized void onAbort() {
+			probing = false;
+		}
+
+		/**
+		 * @return 이번 실패로 회로가 열렸으면 true
+		 */
+		synchronized boolean onFailure(long now) {
+			failures++;
+			if (probing || failures >= props.getResilience().getBreakerFailureThreshold()) {
+				openUntil = now + props.getResilience().getBreakerOpenMillis();
+				probing = false;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * 최근 성공 응답 지연 (ms) 링 버퍼
+	 */
+	private static class LatencyWindow {
+
+		private final long[] samples = new long[128];
+		private int count;
+		private int next;
+
+		synchronized void add(long millis) {
+			samples[next] = millis;
+			next = (next + 1) % samples.length;
+			count = Math.min(count + 1, samples.length);
+		}
+
+		synchronized int size() {
+			return count;
+		}
+
+		synchronized long percentile(double p) {
+			long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			return sorted[Math.min(count - 1, (int) Math.ceil(p * count) - 1)];
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.trade.copy.binance.helper;
+
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import lombok.Getter;
+import org.json.JSONObject;
+
+/**
+ * Binance API 호출 실패를 재시도 가능 여부에 따라 분류한 예외
+ *  - RETRYABLE: 네트워크 오류, 응답 시간 초과, 5xx, -1001(DISCONNECTED), -1007(TIMEOUT) 등 잠시 후 다시 시도할 수 있는 오류
+ *  - RATE_LIMITED: 429 / 418, -1003. 재시도하면 IP 차단이 길어지므로 retryAfterMillis 동안 호출을 멈춰야 함
+ *  - TIMESTAMP: -1021 (recvWindow 밖의 timestamp). 서버 시간을 다시 맞춘 뒤 재시도
+ *  - FATAL: 그 외 4xx (파라미터 오류, 잔고 부족, 주문 없음 등). 재시도해도 같은 결과
+ * 주문처럼 부작용이 있는 요청은 mayHaveExecuted 가 true 이면 거래소에서 이미 처리되었을 수 있으므로
+ * 같은 newClientOrderId 로 조회한 뒤에만 다시 보내야 합니다.
+ * 메시지 형식은 기존과 같이 "Binance API Error (...): 상태코드 – 응답 본문" 입니다.
+ */
+@Getter
+public class BinanceApiException extends RuntimeException {
+
+	public enum Kind {
+		RETRYABLE, RATE_LIMITED, TIMESTAMP, FATAL
+	}
+
+	private final Kind kind;
+	private final int httpStatus;
+	private final int code;
+	private final boolean mayHaveExecuted;
+	private final long retryAfterMillis;
+
+	public BinanceApiException(String message, Kind kind, int httpStatus, int code, boolean mayHaveExecuted,
+		  long retryAfterMillis, Throwable cause) {
+		super(message, cause);
+		this.kind = kind;
+		this.httpStatus = httpStatus;
+		this.code = code;
+		this.mayHaveExecuted = mayHaveExecuted;
+		this.retryAfterMillis = retryAfterMillis;
+	}
+
+	public boolean isRetryable() {
+		return kind == Kind.RETRYABLE || kind == Kind.TIMESTAMP;
+	}
+
+	/**
+	 * 거래소 오류 응답 분류
+	 *
+	 * @param request          로그용 요청 표시 (예: "GET /fapi/v3/positionRisk")
+	 * @param status           HTTP 상태 코드
+	 * @param body             응답 본문 ({"code": -xxxx, "msg": "..."})
+	 * @param retryAfterHeader Retry-After 헤더 값 (초, 없으면 null)
+	 */
+	public static BinanceApiException fromResponse(String request, int status, String body, String retryAfterHeader) {
+		int code = 0;
+		try {
+			code = new JSONObject(body).optInt("code");
+		} catch (Exception ignored) {
+			// JSON 이 아닌 응답 (프록시 오류 페이지 등)
+		}
+
+		Kind kind;
+		boolean mayHaveExecuted = false;
+		if (status == 429 || status == 418 || code == -1003) {
+			kind = Kind.RATE_LIMITED;
+		}
+		else if (code == -1021) {
+			kind = Kind.TIMESTAMP;
+		}
+		else if (status >= 500 || code == -1001 || code == -1007) {
+			// 503 / -1007 은 "실행 여부 알 수 없음" 응답
+			kind = Kind.RETRYABLE;
+			mayHaveExecuted = true;
+		}
+		else {
+			kind = Kind.FATAL;
+		}
+
+		long retryAfter = 0;
+		if (kind == Kind.RATE_LIMITED) {
+			retryAfter = 60_000;
+			if (retryAfterHeader != null) {
+				try {
+					retryAfter = Long.parseLong(retryAfterHeader.trim()) * 1000;
+				} catch (NumberFormatException ignored) {
+					// 기본값 사용
+				}
+			}
+		}
+
+		return new BinanceApiException("Binance API Error (" + request + "): " + status + " – " + body,
+			  kind, status, code, mayHaveExecuted, retryAfter, null);
+	}
+
+	/**
+	 * 응답을 받지 못한 경우. 연결 자체가 실패했으면 요청이 전달되지 않은 것이 확실합니다.
+	 */
+	public static BinanceApiException fromIo(String request, Exception e) {
+		boolean notSent = e instanceof ConnectException;
+		String reason = e instanceof HttpTimeoutException ? "응답 시간 초과" : String.valueOf(e.getMessage());
+		return new BinanceApiException("Binance API Error (" + request + "): " + reason,
+			  Kind.RETRYABLE, 0, 0, !notSent, 0, e);
+	}
+
+	/**
+	 * 호출하지 않고 거절한 경우 (회로 차단, 요청 한도 대기 중)
+	 */
+	public static BinanceApiException rejected(String request, Kind kind, String reason, long retryAfterMillis) {
+		return new BinanceApiException("Binance API Error (" + request + "): " + reason,
+			  kind, 0, 0, false, retryAfterMillis, null);
+	}
+}
@@ -1,5 +1,6 @@
 package com.trade.copy.binance.helper;
 
+import com.trade.copy.binance.cache.ApiResponseCache;
 import com.trade.copy.binance.config.BinanceHttpClient;
 import com.trade.copy.binance.config.BinanceProperties;
 import com.trade.copy.binance.util.SignatureUtil;
@@ -7,7 +8,10 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,6 +22,9 @@ import org.json.JSONObject;
 /**
  * Binance API 호출을 추상화한 헬퍼 클래스
  *  - 서버 시간 동기화(getTime) → 시그니처 생성 → HTTP 요청 → 응답 코드 검사 → 응답 Body 반환
+ *  - GET 은 ApiResponseCache 를 거치며, POST / DELETE 가 성공하면 해당 심볼 캐시를 무효화합니다.
+ *  - 모든 호출은 ApiResilience 를 거칩니다. (재시도, 회로 차단, 조회 헤지)
+ *  - 실패는 BinanceApiException 으로 분류되며, -1021 을 받으면 서버 시간 offset 을 다시 계산한 뒤 재시도합니다.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,14 +34,17 @@ public class BinanceApiHelper {
 
 	private final BinanceProperties binanceProperties;
 	private final BinanceHttpClient httpClient;
+	private final ApiResponseCache responseCache;
+	private final ApiResilience resilience;
 
-	// 서버와의 시간 차이(offset), 최초 1회 계산
-	private Long timeOffset = null;
+	// 서버와의 시간 차이(offset), 최초 1회 계산 (-1021 수신 시 다시 계산)
+	private volatile Long timeOffset = null;
 
 	private long getServerTime() {
 		String url = binanceProperties.getBaseUrl() + "/fapi/v1/time";
 		HttpRequest req = HttpRequest.newBuilder()
 			  .uri(URI.create(url))
+			  .timeout(Duration.ofMillis(binanceProperties.getResilience().getRequestTimeoutMillis()))
 			  .GET()
 			  .build();
 
@@ -51,13 +61,58 @@ public class BinanceApiHelper {
 		}
 	}
 
+	/**
+	 * 서버 시간 offset 이 반영된 현재 timestamp (WebSocket API 서명 등 REST 외 요청용)
+	 */
+	public long currentTimestamp() {
+		return getAdjustedTimestamp();
+	}
+
 	private long getAdjustedTimestamp() {
-		if (timeOffset == null) {
+		Long offset = timeOffset;
+		if (offset == null) {
 			long serverTime = getServerTime();
-			timeOffset = serverTime - System.currentTimeMillis();
-			logger.info("📡 Binance 시간 offset: " + timeOffset + "ms");
+			offset = serverTime - System.currentTimeMillis();
+			timeOffset = offset;
+			logger.info("📡 Binance 시간 offset: " + offset + "ms");
+		}
+		return System.currentTimeMillis() + offset;
+	}
+
+	/**
+	 * 서명 요청 실패가 -1021(timestamp 범위 밖)이면 다음 시도에서 서버 시간을 다시 조회하도록 offset 을 비웁니다.
+	 */
+	private Callable<String> signed(Callable<String> call) {
+		return () -> {
+			try {
+				return call.call();
+			} catch (BinanceApiException e) {
+				if (e.getKind() == BinanceApiException.Kind.TIMESTAMP) {
+					timeOffset = null;
+				}
+				throw e;
+			}
+		};
+	}
+
+	/**
+	 * 요청 전송 후 200 이 아니면 분류된 BinanceApiException 을 던집니다.
+	 */
+	private String send(String request, HttpRequest.Builder builder) throws InterruptedException {
+		HttpResponse<String> response;
+		try {
+			response = httpClient.client.send(
+				  builder.timeout(Duration.ofMillis(binanceProperties.getResilience().getRequestTimeoutMillis())).build(),
+				  HttpResponse.BodyHandlers.ofString());
+		} catch (IOException e) {
+			throw BinanceApiException.fromIo(request, e);
 		}
-		return System.currentTimeMillis() + timeOffset;
+
+		if (response.statusCode() != 200) {
+			throw BinanceApiException.fromResponse(request, response.statusCode(), response.body(),
+				  response.headers().firstValue("Retry-After").orElse(null));
+		}
+		return response.body();
 	}
 
 	/**
@@ -67,6 +122,18 @@ public class BinanceApiHelper {
 	 * @return response body (String)
 	 */
 	public String sendGetRequest(String path, Map<String, String> extraParams) throws Exception {
+		return responseCache.get(path, extraParams,
+			  () -> resilience.read("GET " + path, signed(() -> doSendGetRequest(path, extraParams))));
+	}
+
+	/**
+	 * 응답 캐시를 거치지 않는 GET 요청. 직전 체결이 반영된 최신 상태가 필요할 때 사용합니다.
+	 */
+	public String sendUncachedGetRequest(String path, Map<String, String> extraParams) throws Exception {
+		return resilience.read("GET " + path, signed(() -> doSendGetRequest(path, extraParams)));
+	}
+
+	private String doSendGetRequest(String path, Map<String, String> extraParams) throws Exception {
 		MultiValueMap<String, String> allParams = new LinkedMultiValueMap<>();
 
 		// 1) 서버 시간 + recvWindow
@@ -93,25 +160,59 @@ public class BinanceApiHelper {
 		String fullUrl = binanceProperties.getBaseUrl() + path + "?" + queryString + "&signature=" + signature;
 
 		// 5) HTTP GET 요청 생성 및 전송
-		HttpRequest request = HttpRequest.newBuilder()
+		return send("GET " + path, HttpRequest.newBuilder()
 			  .uri(URI.create(fullUrl))
 			  .header("X-MBX-APIKEY", binanceProperties.getKey())
-			  .GET()
-			  .build();
+			  .GET());
+	}
 
-		HttpResponse<String> response = httpClient.client.send(request, HttpResponse.BodyHandlers.ofString());
+	/**
+	 * 서명이 필요 없는 공개 GET 요청 (예: /fapi/v1/depth, /fapi/v1/klines)
+	 * @param path  API 경로
+	 * @param params  쿼리 파라미터
+	 * @return response body (String)
+	 */
+	public String sendPublicGetRequest(String path, Map<String, String> params) throws Exception {
+		String queryString = params == null ? "" : params.entrySet().stream()
+			  .filter(e -> e.getValue() != null && !e.getValue().isBlank())
+			  .map(e -> e.getKey() + "=" + e.getValue())
+			  .reduce((a, b) -> a + "&" + b)
+			  .orElse("");
+		String fullUrl = binanceProperties.getBaseUrl() + path + (queryString.isEmpty() ? "" : "?" + queryString);
 
-		if (response.statusCode() != 200) {
-			throw new RuntimeException("Binance API Error (GET " + path + "): "
-				  + response.statusCode() + " – " + response.body());
-		}
-		return response.body();
+		return resilience.read("GET " + path, () -> send("GET " + path, HttpRequest.newBuilder()
+			  .uri(URI.create(fullUrl))
+			  .GET()));
+	}
+
+	/**
+	 * API Key 헤더만 필요한 USER_STREAM 요청 (예: POST / PUT / DELETE /fapi/v1/listenKey)
+	 *  - listenKey 생성 / 연장 / 삭제는 여러 번 보내도 결과가 같으므로 멱등 요청으로 재시도합니다.
+	 * @param method  HTTP 메서드
+	 * @param path  API 경로
+	 * @return response body (String)
+	 */
+	public String sendApiKeyRequest(String method, String path) throws Exception {
+		return resilience.write(method + " " + path, true, () -> send(method + " " + path, HttpRequest.newBuilder()
+			  .uri(URI.create(binanceProperties.getBaseUrl() + path))
+			  .header("X-MBX-APIKEY", binanceProperties.getKey())
+			  .method(method, HttpRequest.BodyPublishers.noBody())));
 	}
 
 	/**
 	 * 공통 DELETE 요청
+	 *  - 이미 취소된 주문을 다시 취소하면 오류(-2011)가 나므로, 전달되지 않은 것이 확실한 실패만 재시도합니다.
+	 *  - 실패해도 거래소에서는 처리되었을 수 있으므로 캐시는 항상 무효화합니다. (쓰기 요청 모두 동일)
 	 */
 	public String sendDeleteRequest(String path, Map<String, String> extraParams) throws Exception {
+		try {
+			return resilience.write("DELETE " + path, false, signed(() -> doSendDeleteRequest(path, extraParams)));
+		} finally {
+			invalidateCache(extraParams);
+		}
+	}
+
+	private String doSendDeleteRequest(String path, Map<String, String> extraParams) throws Exception {
 		MultiValueMap<String, String> allParams = new LinkedMultiValueMap<>();
 
 		allParams.add("timestamp", String.valueOf(getAdjustedTimestamp()));
@@ -132,25 +233,49 @@ public class BinanceApiHelper {
 		String signature = SignatureUtil.generate(queryString, binanceProperties.getSecret());
 		String fullUrl = binanceProperties.getBaseUrl() + path + "?" + queryString + "&signature=" + signature;
 
-		HttpRequest request = HttpRequest.newBuilder()
+		return send("DELETE " + path, HttpRequest.newBuilder()
 			  .uri(URI.create(fullUrl))
 			  .header("X-MBX-APIKEY", binanceProperties.getKey())
-			  .DELETE()
-			  .build();
-
-		HttpResponse<String> response = httpClient.client.send(request, HttpResponse.BodyHandlers.ofString());
-
-		if (response.statusCode() != 200) {
-			throw new RuntimeException("Binance API Error (DELETE " + path + "): "
-				  + response.statusCode() + " – " + response.body());
-		}
-		return response.body();
+			  .DELETE());
 	}
 
 	/**
 	 * 공통 POST 요청 (바디 없이 query string으로만 파라미터 전달)
+	 *  - 전달되지 않은 것이 확실한 실패(연결 실패, -1021)만 재시도합니다.
 	 */
 	public String sendPostRequest(String path, Map<String, String> extraParams) {
+		try {
+			return resilience.write("POST " + path, false, signed(() -> doSendPostRequest(path, extraParams)));
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		} finally {
+			invalidateCache(extraParams);
+		}
+	}
+
+	/**
+	 * 신규 주문 POST 요청
+	 *  - 실행 여부를 알 수 없는 실패(응답 없음, 5xx, -1007) 뒤에는 lookup 으로 같은 newClientOrderId 주문을 먼저 조회하고,
+	 *    접수되지 않았을 때만 다시 보냅니다. (중복 체결 방지)
+	 *
+	 * @param params newClientOrderId 가 포함된 주문 파라미터
+	 * @param lookup newClientOrderId 로 주문 조회, 없으면 빈 값
+	 */
+	public String sendOrderRequest(String path, Map<String, String> params, Callable<Optional<String>> lookup)
+		  throws Exception {
+		try {
+			return resilience.submit("POST " + path, signed(() -> doSendPostRequest(path, params)), lookup);
+		} finally {
+			invalidateCache(params);
+		}
+	}
+
+	private String doSendPostRequest(String path, Map<String, String> extraParams) throws Exception {
 		MultiValueMap<String, String> allParams = new LinkedMultiValueMap<>();
 
 		allParams.add("timestamp", String.valueOf(getAdjustedTimestamp()));
@@ -168,31 +293,19 @@ public class BinanceApiHelper {
 			  .reduce((a, b) -> a + "&" + b)
 			  .orElse("");
 
-		String signature;
-		try {
-			signature = SignatureUtil.generate(queryString, binanceProperties.getSecret());
-		} catch (Exception e) {
-			throw new RuntimeException(e);
-		}
+		String signature = SignatureUtil.generate(queryString, binanceProperties.getSecret());
 		String fullUrl = binanceProperties.getBaseUrl() + path + "?" + queryString + "&signature=" + signature;
 
-		HttpRequest request = HttpRequest.newBuilder()
+		return send("POST " + path, HttpRequest.newBuilder()
 			  .uri(URI.create(fullUrl))
 			  .header("X-MBX-APIKEY", binanceProperties.getKey())
-			  .POST(HttpRequest.BodyPublishers.noBody())
-			  .build();
-
-		HttpResponse<String> response;
-		try {
-			response = httpClient.client.send(request, HttpResponse.BodyHandlers.ofString());
-		} catch (IOException | InterruptedException e) {
-			throw new RuntimeException(e);
-		}
+			  .POST(HttpRequest.BodyPublishers.noBody()));
+	}
 
-		if (response.statusCode() != 200) {
-			throw new RuntimeException("Binance API Error (POST " + path + "): "
-				  + response.statusCode() + " – " + response.body());
-		}
-		return response.body();
+	/**
+	 * 쓰기 요청 이후 해당 심볼(심볼이 없으면 전체)의 조회 캐시를 무효화합니다.
+	 */
+	private void invalidateCache(Map<String, String> params) {
+		responseCache.invalidate(params == null ? null : params.get("symbol"));
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package com.trade.copy.binance.helper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONObject;
+
+/**
+ * Binance WebSocket(마켓 스트림 / 유저 스트림 / WebSocket API) 공통 클라이언트
+ *  - JDK HttpClient 의 WebSocket 을 사용하며, 분할 수신된 텍스트 프레임을 합쳐 JSON 으로 전달합니다.
+ *  - 연결이 끊기면 지수 백오프(최대 30초)로 자동 재연결하고, 연결될 때마다 onOpen 콜백을 호출합니다.
+ */
+public class BinanceWebSocketClient {
+
+	private static final Logger logger = Logger.getLogger(BinanceWebSocketClient.class.getName());
+
+	private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+	private final String name;
+	private final HttpClient httpClient;
+	private final Supplier<URI> uriSupplier;
+	private final Consumer<JSONObject> onMessage;
+	private final Runnable onOpen;
+	private final Runnable onDisconnect;
+	private final ScheduledExecutorService reconnectScheduler;
+
+	private volatile WebSocket webSocket;
+	private volatile boolean closed;
+	private boolean connecting;
+	private CompletableFuture<?> sendChain = CompletableFuture.completedFuture(null);
+	private long reconnectDelayMillis = 500;
+
+	/**
+	 * @param name         로그용 이름 (예: "depth-stream")
+	 * @param httpClient   공용 HttpClient
+	 * @param uriSupplier  접속할 URI (재연결 시마다 다시 조회)
+	 * @param onMessage    수신한 JSON 메시지 처리기 (수신 스레드에서 순차 호출)
+	 * @param onOpen       연결 / 재연결 직후 호출
+	 * @param onDisconnect 연결이 끊겼을 때 호출
+	 */
+	public BinanceWebSocketClient(String name, HttpClient httpClient, Supplier<URI> uriSupplier,
+		  Consumer<JSONObject> onMessage, Runnable onOpen, Runnable onDisconnect) {
+		this.name = name;
+		this.httpClient = httpClient;
+		this.uriSupplier = uriSupplier;
+		this.onMessage = onMessage;
+		this.onOpen = onOpen;
+		this.onDisconnect = onDisconnect;
+		this.reconnectScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, name + "-reconnect");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * 연결을 시작합니다. 실패하면 백그라운드에서 재시도합니다.
+	 */
+	public synchronized void connect() {
+		if (closed || connecting || webSocket != null) return;
+		connecting = true;
+
+		URI uri;
+		try {
+			uri = uriSupplier.get();
+		} catch (Exception e) {
+			// 접속 URI 준비 실패 (예: listenKey 발급 실패) 도 연결 실패와 같이 재시도
+			connecting = false;
+			logger.warning("🔌 " + name + " 접속 정보 조회 실패: " + e.getMessage());
+			scheduleReconnect();
+			return;
+		}
+		httpClient.newWebSocketBuilder()
+			  .buildAsync(uri, new Listener())
+			  .whenComplete((ws, error) -> {
+				  synchronized (this) {
+					  connecting = false;
+				  }
+				  if (error != null) {
+					  logger.warning("🔌 " + name + " 연결 실패: " + error.getMessage());
+					  scheduleReconnect();
+				  }
+			  });
+	}
+
+	public boolean isOpen() {
+		WebSocket ws = webSocket;
+		return ws != null && !ws.isOutputClosed();
+	}
+
+	/**
+	 * 텍스트 메시지를 전송합니다.
+	 *
+	 * @return 연결되어 있지 않으면 실패한 future
+	 */
+	public synchronized CompletableFuture<WebSocket> send(String text) {
+		WebSocket ws = webSocket;
+		if (ws == null || ws.isOutputClosed()) {
+			return CompletableFuture.failedFuture(new IllegalStateException(name + " 연결 없음"));
+		}
+		// JDK WebSocket 은 이전 전송이 끝나기 전에 다음 sendText 를 허용하지 않으므로 순서대로 이어 붙임
+		CompletableFuture<WebSocket> sent = sendChain
+			  .handle((r, e) -> null)
+			  .thenCompose(ignored -> ws.sendText(text, true));
+		sendChain = sent;
+		return sent;
+	}
+
+	public void close() {
+		closed = true;
+		reconnectScheduler.shutdownNow();
+		WebSocket ws = webSocket;
+		if (ws != null) {
+			ws.sendClose(WebSocket.NORMAL_CLOSURE, "bye");
+		}
+	}
+
+	private void onDisconnected(WebSocket ws) {
+		synchronized (this) {
+			if (webSocket != ws) return;
+			webSocket = null;
+		}
+		try {
+			onDisconnect.run();
+		} catch (Exception e) {
+			logger.log(Level.WARNING, name + " 연결 종료 처리 실패", e);
+		}
+		scheduleReconnect();
+	}
+
+	private synchronized void scheduleReconnect() {
+		if (closed) return;
+		long delay = reconnectDelayMillis;
+		reconnectDelayMillis = Math.min(reconnectDelayMillis * 2, MAX_RECONNECT_DELAY_MILLIS);
+		reconnectScheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private class Listener implements WebSocket.Listener {
+		private final StringBuilder message = new StringBuilder();
+
+		@Override
+		public void onOpen(WebSocket ws) {
+			synchronized (BinanceWebSocketClient.this) {
+				webSocket = ws;
+				connecting = false;
+				reconnectDelayMillis = 500;
+			}
+			logger.info("🔌 " + name + " 연결됨");
+			try {
+				onOpen.run();
+			} catch (Exception e) {
+				logger.log(Level.WARNING, name + " 연결 후처리 실패", e);
+			}
+			ws.request(1);
+		}
+
+		@Override
+		public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+			message.append(data);
+			if (last) {
+				String text = message.toString();
+				message.setLength(0);
+				try {
+					onMessage.accept(new JSONObject(text));
+				} catch (Exception e) {
+					logger.log(Level.WARNING, name + " 메시지 처리 실패: " + text, e);
+				}
+			}
+			ws.request(1);
+			return null;
+		}
+
+		@Override
+		public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+			logger.warning("🔌 " + name + " 연결 종료: " + statusCode + " " + reason);
+			onDisconnected(ws);
+			return null;
+		}
+
+		@Override
+		public void onError(WebSocket ws, Throwable error) {
+			logger.warning("🔌 " + name + " 오류: " + error.getMessage());
+			onDisconnected(ws);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package com.trade.copy.binance.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.Getter;
+
+/**
+ * 심볼 / 간격별 캔들 열(column) 저장 파일
+ *  - 열: 시가 시각, 시가, 고가, 저가, 종가, 거래량. 가격 / 거래량은 열마다 정해진 소수 자릿수(scale)의 정수로 저장합니다.
+ *  - blockRows 행씩 블록으로 나누고, 블록마다 열별로 차분(시각은 차분의 차분) → zigzag varint → Deflate 압축합니다.
+ *  - 헤더 뒤 블록 색인(첫 / 마지막 시각, 행 수, 열별 위치)으로 조회 구간에 걸친 블록만 풀어냅니다.
+ *  - 파일은 읽기 전용으로 메모리 매핑하고, 블록은 병렬로 풀어 기본형 배열로 반환합니다.
+ *
+ * <pre>
+ * header: magic, version, blockRows, rowCount, blockCount, scale[5]
+ * index : blockCount × (firstOpenTime, lastOpenTime, rows, 6 × (offset, compressedLength, rawLength))
+ * data  : 열 블록 (Deflate)
+ * </pre>
+ */
+public class KlineArchive {
+
+	static final int MAGIC = 0x4B4C4E31; // "KLN1"
+	static final int VERSION = 1;
+	static final int COLUMNS = 6;
+	static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 4 + (COLUMNS - 1);
+	static final int INDEX_ENTRY_BYTES = 8 + 8 + 4 + COLUMNS * (8 + 4 + 4);
+	static final String EXTENSION = ".kln";
+
+	/**
+	 * 조회 결과. 모든 배열은 같은 길이이며 openTime 오름차순
+	 */
+	public record Columns(long[] openTime, double[] open, double[] high, double[] low, double[] close, double[] volume) {
+
+		public int size() {
+			return openTime.length;
+		}
+	}
+
+	private final MappedByteBuffer buffer;
+
+	@Getter
+	private final long rowCount;
+	private final int blockCount;
+	private final int[] scales;
+	private final long[] firstTimes;
+	private final long[] lastTimes;
+	private final int[] blockRowCounts;
+
+	private KlineArchive(MappedByteBuffer buffer) {
+		this.buffer = buffer;
+
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new RuntimeException("캔들 보관 파일 형식이 아닙니다.");
+		}
+		this.rowCount = buffer.getLong(12);
+		this.blockCount = buffer.getInt(20);
+		this.scales = new int[COLUMNS];
+		for (int c = 1; c < COLUMNS; c++) {
+			scales[c] = buffer.get(24 + c - 1);
+		}
+
+		this.firstTimes = new long[blockCount];
+		this.lastTimes = new long[blockCount];
+		this.blockRowCounts = new int[blockCount];
+		for (int b = 0; b < blockCount; b++) {
+			int entry = indexEntry(b);
+			firstTimes[b] = buffer.getLong(entry);
+			lastTimes[b] = buffer.getLong(entry + 8);
+			blockRowCounts[b] = buffer.getInt(entry + 16);
+		}
+	}
+
+	/**
+	 * 보관 파일을 읽기 전용으로 매핑합니다. 색인만 읽고 데이터는 조회 시 풀어냅니다.
+	 */
+	public static KlineArchive open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new KlineArchive(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * 보관 파일 경로: root/SYMBOL/SYMBOL-interval.kln
+	 */
+	public static Path path(Path root, String symbol, String interval) {
+		return root.resolve(symbol).resolve(symbol + "-" + interval + EXTENSION);
+	}
+
+	public long getFirstOpenTime() {
+		return blockCount == 0 ? -1 : firstTimes[0];
+	}
+
+	public long getLastOpenTime() {
+		return blockCount == 0 ? -1 : lastTimes[blockCount - 1];
+	}
+
+	/**
+	 * 전체 캔들
+	 */
+	public Columns read() {
+		return read(Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * 시가 시각이 [from, to) 인 캔들
+	 */
+	public Columns read(long from, long to) {
+		long[][] raw = readRaw(from, to);
+		double[][] values = new double[COLUMNS][];
+		for (int c = 1; c < COLUMNS; c++) {
+			values[c] = new double[raw[0].length];
+			double divisor = Math.pow(10, scales[c]);
+			for (int i = 0; i < raw[c].length; i++) {
+				values[c][i] = raw[c][i] / divisor;
+			}
+		}
+		return new Columns(raw[0], values[1], values[2], values[3], values[4], values[5]);
+	}
+
+	/**
+	 * 열별 정수 값 (가격 / 거래량은 10^scale 배). 기존 보관 파일에 새 덤프를 합칠 때 사용합니다.
+	 */
+	long[][] readRaw(long from, long to) {
+		int firstBlock = 0;
+		while (firstBlock < blockCount && lastTimes[firstBlock] < from) {
+			firstBlock++;
+		}
+		int endBlock = firstBlock;
+		while (endBlock < blockCount && firstTimes[endBlock] < to) {
+			endBlock++;
+		}
+
+		int[] offsets = new int[endBlock - firstBlock + 1];
+		for (int b = firstBlock; b < endBlock; b++) {
+			offsets[b - firstBlock + 1] = offsets[b - firstBlock] + blockRowCounts[b];
+		}
+		int total = offsets[offsets.length - 1];
+
+		long[][] columns = new long[COLUMNS][total];
+		int start = firstBlock;
+		IntStream.range(firstBlock, endBlock).parallel()
+			  .forEach(b -> decodeBlock(b, columns, offsets[b - start]));
+
+		// 구간 경계가 걸친 앞 / 뒤 블록의 바깥 행 제거
+		int lo = lowerBound(columns[0], from);
+		int hi = lowerBound(columns[0], to);
+		if (lo > 0 || hi < total) {
+			for (int c = 0; c < COLUMNS; c++) {
+				columns[c] = Arrays.copyOfRange(columns[c], lo, hi);
+			}
+		}
+		return columns;
+	}
+
+	int[] getScales() {
+		return scales.clone();
+	}
+
+	private void decodeBlock(int block, long[][] columns, int offset) {
+		int entry = indexEntry(block);
+		int rows = blockRowCounts[block];
+		for (int c = 0; c < COLUMNS; c++) {
+			int column = entry + 20 + c * 16;
+			long position = buffer.getLong(column);
+			int compressed = buffer.getInt(column + 8);
+			int rawLength = buffer.getInt(column + 12);
+
+			byte[] raw = inflate(buffer.slice((int) position, compressed), rawLength);
+			KlineColumnCodec.decode(raw, rows, c == 0, columns[c], offset);
+		}
+	}
+
+	private static byte[] inflate(ByteBuffer input, int rawLength) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			byte[] raw = new byte[rawLength];
+			int read = 0;
+			while (read < rawLength && !inflater.finished()) {
+				int n = inflater.inflate(raw, read, rawLength - read);
+				if (n == 0 && inflater.needsInput()) {
+					break;
+				}
+				read += n;
+			}
+			if (read != rawLength) {
+				throw new RuntimeException("캔들 보관 파일 블록이 손상되었습니다.");
+			}
+			return raw;
+		} catch (DataFormatException e) {
+			throw new RuntimeException("캔들 보관 파일 블록이 손상되었습니다.", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static int indexEntry(int block) {
+		return HEADER_BYTES + block * INDEX_ENTRY_BYTES;
+	}
+
+	private static int lowerBound(long[] sorted, long key) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < key) {
+				lo = mid + 1;
+			}
+			else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+}
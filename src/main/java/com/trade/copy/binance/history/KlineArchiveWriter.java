@@ -0,0 +1,108 @@
+package com.trade.copy.binance.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * 정렬된 캔들 열을 KlineArchive 형식으로 기록합니다.
+ *  - 임시 파일에 쓴 뒤 원자적으로 교체하므로, 가져오기 도중 중단되어도 기존 보관 파일은 유지됩니다.
+ */
+final class KlineArchiveWriter {
+
+	private KlineArchiveWriter() {
+	}
+
+	/**
+	 * @param columns   열별 정수 값 (openTime, open, high, low, close, volume). openTime 오름차순, 중복 없음
+	 * @param rows      유효 행 수
+	 * @param scales    열별 소수 자릿수 (0 번 openTime 은 무시)
+	 * @param blockRows 블록당 행 수
+	 */
+	static void write(Path file, long[][] columns, int rows, int[] scales, int blockRows) throws IOException {
+		int blockCount = (rows + blockRows - 1) / blockRows;
+		byte[][][] blocks = new byte[blockCount][KlineArchive.COLUMNS][];
+		int[][] rawLengths = new int[blockCount][KlineArchive.COLUMNS];
+
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			for (int b = 0; b < blockCount; b++) {
+				int from = b * blockRows;
+				int count = Math.min(blockRows, rows - from);
+				for (int c = 0; c < KlineArchive.COLUMNS; c++) {
+					byte[] raw = KlineColumnCodec.encode(columns[c], from, count, c == 0);
+					rawLengths[b][c] = raw.length;
+					blocks[b][c] = deflate(deflater, raw);
+				}
+			}
+		} finally {
+			deflater.end();
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(KlineArchive.HEADER_BYTES + blockCount * KlineArchive.INDEX_ENTRY_BYTES);
+		header.putInt(KlineArchive.MAGIC)
+			  .putInt(KlineArchive.VERSION)
+			  .putInt(blockRows)
+			  .putLong(rows)
+			  .putInt(blockCount);
+		for (int c = 1; c < KlineArchive.COLUMNS; c++) {
+			header.put((byte) scales[c]);
+		}
+
+		long offset = header.capacity();
+		for (int b = 0; b < blockCount; b++) {
+			int from = b * blockRows;
+			int count = Math.min(blockRows, rows - from);
+			header.putLong(columns[0][from])
+				  .putLong(columns[0][from + count - 1])
+				  .putInt(count);
+			for (int c = 0; c < KlineArchive.COLUMNS; c++) {
+				header.putLong(offset)
+					  .putInt(blocks[b][c].length)
+					  .putInt(rawLengths[b][c]);
+				offset += blocks[b][c].length;
+			}
+		}
+		header.flip();
+
+		Files.createDirectories(file.getParent());
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmp,
+			  StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			for (byte[][] block : blocks) {
+				for (byte[] column : block) {
+					ByteBuffer data = ByteBuffer.wrap(column);
+					while (data.hasRemaining()) {
+						channel.write(data);
+					}
+				}
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static byte[] deflate(Deflater deflater, byte[] raw) {
+		deflater.reset();
+		deflater.setInput(raw);
+		deflater.finish();
+
+		byte[] out = new byte[Math.max(64, raw.length / 2)];
+		int length = 0;
+		while (!deflater.finished()) {
+			if (length == out.length) {
+				out = Arrays.copyOf(out, out.length * 2);
+			}
+			length += deflater.deflate(out, length, out.length - length);
+		}
+		return Arrays.copyOf(out, length);
+	}
+}
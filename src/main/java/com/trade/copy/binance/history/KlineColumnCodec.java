@@ -0,0 +1,76 @@
+package com.trade.copy.binance.history;
+
+import java.util.Arrays;
+
+/**
+ * 블록 한 열의 정수 값 ↔ varint 바이트 변환
+ *  - 첫 값은 그대로, 이후는 직전 값과의 차분을 저장합니다.
+ *  - 시각 열은 간격이 일정하므로 차분의 차분을 저장해 대부분 0 (1 byte) 이 됩니다.
+ *  - 음수 차분은 zigzag 로 부호 없는 정수로 바꾼 뒤 7bit 씩 varint 로 기록합니다.
+ */
+final class KlineColumnCodec {
+
+	private KlineColumnCodec() {
+	}
+
+	static byte[] encode(long[] values, int from, int rows, boolean time) {
+		byte[] out = new byte[Math.max(16, rows * 3)];
+		int length = 0;
+
+		long previous = 0;
+		long previousDelta = 0;
+		for (int i = 0; i < rows; i++) {
+			long value = values[from + i];
+			long encoded;
+			if (i == 0) {
+				encoded = value;
+			}
+			else {
+				long delta = value - previous;
+				encoded = time ? delta - previousDelta : delta;
+				previousDelta = delta;
+			}
+			previous = value;
+
+			if (length + 10 > out.length) {
+				out = Arrays.copyOf(out, out.length * 2);
+			}
+			long zigzag = (encoded << 1) ^ (encoded >> 63);
+			while ((zigzag & ~0x7FL) != 0) {
+				out[length++] = (byte) ((zigzag & 0x7F) | 0x80);
+				zigzag >>>= 7;
+			}
+			out[length++] = (byte) zigzag;
+		}
+		return Arrays.copyOf(out, length);
+	}
+
+	static void decode(byte[] in, int rows, boolean time, long[] out, int offset) {
+		int position = 0;
+		long previous = 0;
+		long previousDelta = 0;
+		for (int i = 0; i < rows; i++) {
+			long zigzag = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = in[position++];
+				zigzag |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			long encoded = (zigzag >>> 1) ^ -(zigzag & 1);
+
+			long value;
+			if (i == 0) {
+				value = encoded;
+			}
+			else {
+				long delta = time ? previousDelta + encoded : encoded;
+				value = previous + delta;
+				previousDelta = delta;
+			}
+			out[offset + i] = value;
+			previous = value;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.trade.copy.binance.history;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 캔들 덤프 가져오기 단독 실행 진입점
+ *  - ./gradlew importKlines --args="--source=downloads/futures/um --target=data/klines --threads=8"
+ *  - 같은 target 으로 다시 실행하면 보관 파일의 마지막 캔들 이후 기간을 담은 덤프만 읽어 기존 보관 파일에 합칩니다.
+ *    이미 반영된 기간의 덤프는 --source 에 남아 있어도 다시 읽지 않습니다.
+ */
+public class KlineImportApplication {
+
+	private static final Logger logger = Logger.getLogger(KlineImportApplication.class.getName());
+
+	public static void main(String[] args) throws Exception {
+		Path source = null;
+		Path target = Path.of("data/klines");
+		int threads = Runtime.getRuntime().availableProcessors();
+		int blockRows = 8192;
+
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("잘못된 실행 인자: " + arg);
+			}
+			String key = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+
+			switch (key) {
+				case "source" -> source = Path.of(value);
+				case "target" -> target = Path.of(value);
+				case "threads" -> threads = Integer.parseInt(value);
+				case "block-rows" -> blockRows = Integer.parseInt(value);
+				default -> throw new IllegalArgumentException("알 수 없는 설정 키: " + key);
+			}
+		}
+		if (source == null) {
+			throw new IllegalArgumentException("--source 를 지정해야 합니다.");
+		}
+
+		long start = System.currentTimeMillis();
+		List<KlineImporter.Result> results = new KlineImporter(threads, blockRows).importDirectory(source, target);
+
+		long rows = results.stream().mapToLong(KlineImporter.Result::rows).sum();
+		long bytes = results.stream().mapToLong(KlineImporter.Result::bytes).sum();
+		logger.info("✅ " + results.size() + "개 시리즈, 캔들 " + rows + "개, " + bytes / (1024 * 1024) + " MB, "
+			  + (System.currentTimeMillis() - start) + "ms");
+	}
+}
@@ -0,0 +1,339 @@
+package com.trade.copy.binance.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Binance public data (data.binance.vision) 캔들 ZIP 덤프를 KlineArchive 로 변환합니다.
+ *  - 원본 디렉터리 아래의 SYMBOL-interval-yyyy-MM(.zip, 월별) / SYMBOL-interval-yyyy-MM-dd(.zip, 일별) 파일을 찾습니다.
+ *  - (심볼, 간격) 단위로 작업을 나눠 threads 개의 스레드에서 동시에 처리하고,
+ *    각 작업은 ZIP 을 압축 해제하며 CSV 한 줄씩 정수 열 버퍼에 바로 넣습니다. (파일 전체를 메모리에 올리지 않음)
+ *  - 이미 보관 파일이 있으면 기존 캔들에 합치고, 월별 / 일별 덤프가 겹치는 시각은 나중 파일 값을 사용합니다.
+ *    보관 파일의 마지막 캔들보다 먼저 끝나는 덤프는 이미 반영된 것으로 보고 다시 읽지 않습니다.
+ *    (중간에 빠진 기간을 채우려면 보관 파일을 지우고 다시 가져와야 합니다.)
+ */
+public class KlineImporter {
+
+	private static final Logger logger = Logger.getLogger(KlineImporter.class.getName());
+
+	private static final Pattern FILE_NAME = Pattern.compile("([A-Z0-9]+)-(\\d+[smhdwM])-(\\d{4}-\\d{2}(?:-\\d{2})?)\\.zip");
+
+	private static final long[] POW10 = new long[19];
+
+	static {
+		POW10[0] = 1;
+		for (int i = 1; i < POW10.length; i++) {
+			POW10[i] = POW10[i - 1] * 10;
+		}
+	}
+
+	/**
+	 * (심볼, 간격) 한 건의 결과
+	 *
+	 * @param rows  보관 파일의 전체 캔들 수 (기존 캔들 포함)
+	 * @param bytes 보관 파일 크기
+	 */
+	public record Result(String symbol, String interval, int files, long rows, long bytes) {
+	}
+
+	private final int threads;
+	private final int blockRows;
+
+	public KlineImporter(int threads, int blockRows) {
+		this.threads = threads;
+		this.blockRows = blockRows;
+	}
+
+	/**
+	 * @param source 덤프 ZIP 이 있는 디렉터리 (하위 디렉터리 포함)
+	 * @param target 보관 파일 루트 디렉터리
+	 * @return 성공한 (심볼, 간격) 결과. 실패한 건은 로그만 남기고 건너뜀
+	 */
+	public List<Result> importDirectory(Path source, Path target) throws IOException, InterruptedException {
+		Map<String, List<Path>> groups = new TreeMap<>();
+		try (Stream<Path> files = Files.walk(source)) {
+			files.filter(Files::isRegularFile).forEach(file -> {
+				Matcher m = FILE_NAME.matcher(file.getFileName().toString());
+				if (m.matches()) {
+					groups.computeIfAbsent(m.group(1) + "|" + m.group(2), k -> new ArrayList<>()).add(file);
+				}
+			});
+		}
+
+		Map<String, Future<Result>> pending = new TreeMap<>();
+		List<Result> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+			groups.forEach((key, files) -> {
+				String[] parts = key.split("\\|");
+				files.sort(Comparator.comparing(KlineImporter::period));
+				pending.put(key, executor.submit(() -> importSeries(parts[0], parts[1], files, target)));
+			});
+
+			for (Map.Entry<String, Future<Result>> entry : pending.entrySet()) {
+				try {
+					results.add(entry.getValue().get());
+				} catch (ExecutionException e) {
+					logger.warning("⚠️ 캔들 가져오기 실패 [" + entry.getKey() + "]: " + e.getCause());
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * 한 (심볼, 간격) 의 덤프들을 기존 보관 파일과 합쳐 다시 기록합니다.
+	 *  - 기간이 끝난 뒤의 캔들이 이미 보관 파일에 있는 덤프는 반영된 것으로 보고 읽지 않습니다.
+	 *  - 새로 읽을 덤프가 없으면 보관 파일을 열지도, 다시 쓰지도 않습니다.
+	 */
+	Result importSeries(String symbol, String interval, List<Path> files, Path target) throws IOException {
+		Path archive = KlineArchive.path(target, symbol, interval);
+		KlineArchive existing = Files.exists(archive) ? KlineArchive.open(archive) : null;
+
+		List<Path> pending = files;
+		if (existing != null) {
+			long lastOpenTime = existing.getLastOpenTime();
+			pending = files.stream().filter(file -> periodEnd(file) > lastOpenTime).toList();
+			if (pending.isEmpty()) {
+				logger.info("📦 " + symbol + " " + interval + ": 새 덤프 없음");
+				return new Result(symbol, interval, 0, existing.getRowCount(), Files.size(archive));
+			}
+		}
+
+		ColumnBuffer buffer = new ColumnBuffer();
+		if (existing != null) {
+			buffer.load(existing.readRaw(Long.MIN_VALUE, Long.MAX_VALUE), existing.getScales());
+		}
+		for (Path file : pending) {
+			readZip(file, buffer);
+		}
+		buffer.sortAndDeduplicate();
+
+		KlineArchiveWriter.write(archive, buffer.columns, buffer.size, buffer.scales, blockRows);
+		long bytes = Files.size(archive);
+		logger.info("📦 " + symbol + " " + interval + ": 파일 " + pending.size() + "개, 캔들 " + buffer.size + "개, " + bytes + " bytes");
+		return new Result(symbol, interval, pending.size(), buffer.size, bytes);
+	}
+
+	private static void readZip(Path file, ColumnBuffer buffer) throws IOException {
+		try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				if (!entry.getName().endsWith(".csv")) {
+					continue;
+				}
+				// reader 를 닫으면 ZIP 스트림도 닫히므로 다음 엔트리를 위해 닫지 않음
+				BufferedReader reader = new BufferedReader(new InputStreamReader(zip, StandardCharsets.US_ASCII), 1 << 16);
+				String line;
+				while ((line = reader.readLine()) != null) {
+					// 2022 년 이후 덤프에는 open_time,open,... 헤더 행이 있음
+					if (!line.isEmpty() && Character.isDigit(line.charAt(0))) {
+						buffer.add(line);
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			throw new RuntimeException("캔들 덤프 파싱 실패: " + file.getFileName() + " (" + e.getMessage() + ")", e);
+		}
+	}
+
+	private static String period(Path file) {
+		Matcher m = FILE_NAME.matcher(file.getFileName().toString());
+		return m.matches() ? m.group(3) : "";
+	}
+
+	/**
+	 * 덤프 기간이 끝나는 시각 (UTC, 월별이면 다음 달 1일, 일별이면 다음 날 0시)
+	 */
+	static long periodEnd(Path file) {
+		String period = period(file);
+		LocalDate end = period.length() == 7
+			  ? YearMonth.parse(period).plusMonths(1).atDay(1)
+			  : LocalDate.parse(period).plusDays(1);
+		return end.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+	}
+
+	/**
+	 * 열별 정수 버퍼. 가격 / 거래량은 열마다 지금까지 본 가장 큰 소수 자릿수로 맞춥니다.
+	 */
+	private static class ColumnBuffer {
+
+		private long[][] columns = new long[KlineArchive.COLUMNS][1 << 16];
+		private int[] scales = new int[KlineArchive.COLUMNS];
+		private int size;
+
+		/**
+		 * 기존 캔들을 복사 없이 그대로 버퍼로 씁니다. 새 행이 들어오면 그때 늘립니다.
+		 */
+		void load(long[][] raw, int[] rawScales) {
+			if (raw[0].length > 0) {
+				columns = raw;
+			}
+			scales = rawScales;
+			size = raw[0].length;
+		}
+
+		/**
+		 * CSV 한 줄: open_time,open,high,low,close,volume,close_time,...
+		 */
+		void add(String line) {
+			if (size == columns[0].length) {
+				// 큰 기존 보관 파일 뒤에 며칠치를 붙이는 경우가 많으므로 1.5 배씩 늘림
+				int capacity = Math.max(size + (size >> 1), 1 << 16);
+				for (int c = 0; c < KlineArchive.COLUMNS; c++) {
+					columns[c] = Arrays.copyOf(columns[c], capacity);
+				}
+			}
+
+			int start = 0;
+			for (int c = 0; c < KlineArchive.COLUMNS; c++) {
+				int end = line.indexOf(',', start);
+				if (end < 0) {
+					if (c < KlineArchive.COLUMNS - 1) {
+						throw new RuntimeException("열 개수 부족: " + line);
+					}
+					end = line.length();
+				}
+
+				if (c == 0) {
+					long openTime = Long.parseLong(line, start, end, 10);
+					// 일부 덤프는 마이크로초 단위
+					columns[0][size] = openTime >= 100_000_000_000_000L ? openTime / 1000 : openTime;
+				}
+				else {
+					putDecimal(c, line, start, end);
+				}
+				start = end + 1;
+			}
+			size++;
+		}
+
+		private void putDecimal(int column, String s, int start, int end) {
+			int dot = s.indexOf('.', start);
+			if (dot >= end) {
+				dot = -1;
+			}
+			if (dot >= 0) {
+				// 뒤쪽 0 은 자릿수에 넣지 않음 (차분 값을 작게 유지)
+				while (end > dot + 1 && s.charAt(end - 1) == '0') {
+					end--;
+				}
+			}
+			int scale = dot < 0 ? 0 : end - dot - 1;
+			if (scale >= POW10.length) {
+				throw new RuntimeException("소수 자릿수 초과: " + s.substring(start, end));
+			}
+
+			long unscaled = 0;
+			for (int i = start; i < end; i++) {
+				char ch = s.charAt(i);
+				if (ch == '.') {
+					continue;
+				}
+				if (ch < '0' || ch > '9') {
+					throw new RuntimeException("숫자 형식 오류: " + s.substring(start, end));
+				}
+				unscaled = Math.addExact(Math.multiplyExact(unscaled, 10), ch - '0');
+			}
+
+			if (scale > scales[column]) {
+				long factor = POW10[scale - scales[column]];
+				long[] values = columns[column];
+				for (int i = 0; i < size; i++) {
+					values[i] = Math.multiplyExact(values[i], factor);
+				}
+				scales[column] = scale;
+			}
+			else if (scale < scales[column]) {
+				unscaled = Math.multiplyExact(unscaled, POW10[scales[column] - scale]);
+			}
+			columns[column][size] = unscaled;
+		}
+
+		/**
+		 * openTime 순으로 정렬하고 같은 시각은 나중에 들어온 행만 남깁니다.
+		 */
+		void sortAndDeduplicate() {
+			long[] times = columns[0];
+			boolean sorted = true;
+			for (int i = 1; i < size && sorted; i++) {
+				sorted = times[i - 1] < times[i];
+			}
+			if (sorted) {
+				return;
+			}
+
+			int[] order = stableOrder(times, size);
+			long[][] result = new long[KlineArchive.COLUMNS][size];
+			int rows = 0;
+			for (int i = 0; i < size; i++) {
+				int row = order[i];
+				if (rows > 0 && result[0][rows - 1] == times[row]) {
+					rows--;
+				}
+				for (int c = 0; c < KlineArchive.COLUMNS; c++) {
+					result[c][rows] = columns[c][row];
+				}
+				rows++;
+			}
+			columns = result;
+			size = rows;
+		}
+
+		/**
+		 * 시각 기준 안정 병합 정렬 (같은 시각은 입력 순서 유지)
+		 */
+		private static int[] stableOrder(long[] keys, int n) {
+			int[] order = new int[n];
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+			int[] work = new int[n];
+			for (int width = 1; width < n; width *= 2) {
+				for (int lo = 0; lo < n; lo += 2 * width) {
+					int mid = Math.min(lo + width, n);
+					int hi = Math.min(lo + 2 * width, n);
+					int i = lo;
+					int j = mid;
+					int k = lo;
+					while (i < mid && j < hi) {
+						work[k++] = keys[order[j]] < keys[order[i]] ? order[j++] : order[i++];
+					}
+					while (i < mid) {
+						work[k++] = order[i++];
+					}
+					while (j < hi) {
+						work[k++] = order[j++];
+					}
+				}
+				int[] swap = order;
+				order = work;
+				work = swap;
+			}
+			return order;
+		}
+	}
+}
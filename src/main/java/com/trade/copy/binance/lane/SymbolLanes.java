@@ -0,0 +1,130 @@
+package com.trade.copy.binance.lane;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * 심볼별 단일 실행 레인 (mailbox)
+ *  - 같은 심볼의 진입 / 익절 / 청산 작업은 제출 순서대로 한 번에 하나씩만 실행되어 서로 겹치지 않습니다.
+ *  - 레인마다 실행 중 여부를 CAS 로만 관리하므로 락이 없고, 서로 다른 심볼의 레인은 가상 스레드에서 동시에 실행됩니다.
+ *  - 레인별 대기 작업 수는 binance.lane.depth, 대기 / 실행 시간은 binance.lane.wait / binance.lane.run 메트릭으로 노출합니다.
+ */
+@Component
+public class SymbolLanes {
+
+	private final MeterRegistry meterRegistry;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+	public SymbolLanes(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * 심볼 레인에 작업을 넣습니다. 앞선 작업이 모두 끝난 뒤 실행됩니다.
+	 *
+	 * @param symbol 거래 페어 (예: "BTCUSDT")
+	 * @param action 메트릭 태그용 작업 이름 (예: "enter", "take-profit")
+	 * @param task   실행할 작업
+	 * @return 작업 결과. 예외는 그대로 전달
+	 */
+	public <T> CompletableFuture<T> submit(String symbol, String action, Callable<T> task) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		long enqueuedAt = System.nanoTime();
+		Timer waitTimer = timer("binance.lane.wait", action);
+		Timer runTimer = timer("binance.lane.run", action);
+
+		lanes.computeIfAbsent(symbol, this::newLane).enqueue(() -> {
+			long startedAt = System.nanoTime();
+			waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+			try {
+				result.complete(task.call());
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			} finally {
+				runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * 심볼 레인에 남은 작업 수 (실행 중인 작업 제외)
+	 */
+	public int depth(String symbol) {
+		Lane lane = lanes.get(symbol);
+		return lane == null ? 0 : lane.depth.get();
+	}
+
+	private Lane newLane(String symbol) {
+		Lane lane = new Lane();
+		Gauge.builder("binance.lane.depth", lane.depth, AtomicInteger::get)
+			  .tag("symbol", symbol)
+			  .register(meterRegistry);
+		return lane;
+	}
+
+	private Timer timer(String name, String action) {
+		return Timer.builder(name)
+			  .tag("action", action)
+			  .publishPercentiles(0.5, 0.99)
+			  .register(meterRegistry);
+	}
+
+	/**
+	 * 심볼 하나의 mailbox. 작업이 들어왔을 때 실행 중이 아니면 가상 스레드 하나를 띄워 비울 때까지 처리합니다.
+	 */
+	private final class Lane implements Runnable {
+
+		private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger depth = new AtomicInteger();
+		private final AtomicBoolean running = new AtomicBoolean();
+
+		void enqueue(Runnable task) {
+			depth.incrementAndGet();
+			mailbox.add(task);
+			schedule();
+		}
+
+		private void schedule() {
+			if (running.compareAndSet(false, true)) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (Runnable task; (task = mailbox.poll()) != null; ) {
+					depth.decrementAndGet();
+					task.run();
+				}
+			} finally {
+				running.set(false);
+				// 비운 직후 running 을 내리기 전에 들어온 작업 처리
+				if (!mailbox.isEmpty()) {
+					schedule();
+				}
+			}
+		}
+	}
+}
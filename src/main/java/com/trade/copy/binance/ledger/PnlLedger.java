@@ -0,0 +1,428 @@
+package com.trade.copy.binance.ledger;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실현 손익 / 수수료 / 펀딩비 장부
+ *  - /fapi/v1/income 을 마지막으로 반영한 시각(커서)부터, /fapi/v1/userTrades 는 심볼별 다음 체결 id 부터 증분 조회합니다.
+ *    체결에는 항상 COMMISSION 수입이 따르므로, 새 수입이 생긴 심볼만 userTrades 를 조회합니다.
+ *  - 심볼 / 일(UTC)별 집계와 커서를 JSON 파일에 저장해 재시작해도 전체 내역을 다시 받지 않습니다.
+ *  - 조회(get, total, bySymbol)는 메모리 집계만 읽고, 당일 합계는 binance.pnl.today 메트릭으로 노출합니다.
+ *    네트워크 조회 중에는 락을 잡지 않으므로 조회가 갱신을 기다리지 않습니다.
+ */
+@Component
+public class PnlLedger {
+
+	private static final Logger logger = Logger.getLogger(PnlLedger.class.getName());
+
+	private static final long DAY_MILLIS = 86_400_000L;
+	private static final long MAX_TRADE_LOOKBACK_MILLIS = 7 * DAY_MILLIS;
+	private static final int PAGE_LIMIT = 1000;
+
+	/**
+	 * 심볼 하나의 하루 집계
+	 *
+	 * @param realizedPnl 실현 손익 (REALIZED_PNL)
+	 * @param commission  수수료 (COMMISSION, 음수)
+	 * @param funding     펀딩비 (FUNDING_FEE, 받으면 양수)
+	 * @param trades      체결 수
+	 * @param volume      체결 금액 합 (USDT)
+	 */
+	public record DayStats(double realizedPnl, double commission, double funding, int trades, double volume) {
+
+		public static final DayStats EMPTY = new DayStats(0, 0, 0, 0, 0);
+
+		/**
+		 * 수수료 / 펀딩비를 반영한 순손익
+		 */
+		public double net() {
+			return realizedPnl + commission + funding;
+		}
+
+		DayStats plus(DayStats other) {
+			return new DayStats(realizedPnl + other.realizedPnl, commission + other.commission,
+				  funding + other.funding, trades + other.trades, volume + other.volume);
+		}
+	}
+
+	private final BinanceProperties props;
+	private final BinanceApiHelper apiHelper;
+	private final MeterRegistry meterRegistry;
+	private final LongSupplier clock;
+
+	private final NavigableMap<LocalDate, Map<String, DayStats>> days = new TreeMap<>();
+	// 마지막으로 반영한 income 시각과, 그 시각에 이미 반영한 "incomeType:tranId" (다음 조회가 같은 시각부터 시작하므로 중복 제거용)
+	// tranId 는 내역 종류가 다르면 겹칠 수 있어 incomeType 과 함께 씀
+	private long incomeCursor;
+	private final Set<String> cursorTranIds = new HashSet<>();
+	// 심볼 → 다음에 조회할 userTrades fromId
+	private final Map<String, Long> tradeCursors = new HashMap<>();
+
+	// sync 끼리만 직렬화 (조회는 this 모니터만 사용)
+	private final Object syncLock = new Object();
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "pnl-ledger");
+		t.setDaemon(true);
+		return t;
+	});
+
+	@Autowired
+	public PnlLedger(BinanceProperties props, BinanceApiHelper apiHelper, MeterRegistry meterRegistry) {
+		this(props, apiHelper, meterRegistry, System::currentTimeMillis);
+	}
+
+	PnlLedger(BinanceProperties props, BinanceApiHelper apiHelper, MeterRegistry meterRegistry, LongSupplier clock) {
+		this.props = props;
+		this.apiHelper = apiHelper;
+		this.meterRegistry = meterRegistry;
+		this.clock = clock;
+	}
+
+	@PostConstruct
+	public void start() {
+		// 주기 갱신을 끄더라도 RiskEngine 이 sync 할 수 있으므로 저장된 장부는 항상 읽음
+		load();
+		if (!isEnabled()) return;
+
+		registerGauge("realized", DayStats::realizedPnl);
+		registerGauge("commission", DayStats::commission);
+		registerGauge("funding", DayStats::funding);
+		registerGauge("net", DayStats::net);
+
+		long interval = props.getLedger().getSyncIntervalMillis();
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				sync();
+			} catch (Exception e) {
+				logger.warning("⚠️ 손익 장부 갱신 실패: " + e.getMessage());
+			}
+		}, 0, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+
+	public boolean isEnabled() {
+		return props.getLedger().isEnabled();
+	}
+
+	/**
+	 * 커서 이후의 income / userTrades 를 받아 집계에 반영하고, 바뀐 내용이 있으면 파일에 저장합니다.
+	 *  - 네트워크 조회(재시도 / 백오프 포함)는 락 밖에서 하고, 집계 반영과 커서 이동만 짧게 락을 잡습니다.
+	 *    그동안에도 get / total / bySymbol 과 메트릭은 이전 집계로 바로 응답합니다.
+	 */
+	public void sync() throws Exception {
+		synchronized (syncLock) {
+			long now = clock.getAsLong();
+			long initialStart = now - props.getLedger().getInitialLookbackDays() * DAY_MILLIS;
+
+			Batch batch = new Batch();
+			syncIncome(batch, initialStart);
+			for (String symbol : batch.touched) {
+				syncTrades(batch, symbol, Math.max(initialStart, now - MAX_TRADE_LOOKBACK_MILLIS));
+			}
+			if (batch.added == 0) return;
+
+			publish(batch);
+			if (!batch.touched.isEmpty()) {
+				save();
+				logger.info("📒 손익 장부 갱신: 심볼 " + batch.touched.size() + "개, 체결 " + batch.trades + "건");
+			}
+		}
+	}
+
+	/**
+	 * 새 income 을 batch 에 모읍니다. 커서도 batch 사본에서 옮깁니다.
+	 */
+	private void syncIncome(Batch batch, long initialStart) throws Exception {
+		long start = batch.incomeCursor > 0 ? batch.incomeCursor : initialStart;
+
+		while (true) {
+			Map<String, String> params = new HashMap<>();
+			params.put("startTime", String.valueOf(start));
+			params.put("limit", String.valueOf(PAGE_LIMIT));
+			JSONArray page = new JSONArray(apiHelper.sendGetRequest("/fapi/v1/income", params));
+
+			int added = 0;
+			for (int i = 0; i < page.length(); i++) {
+				JSONObject income = page.getJSONObject(i);
+				long time = income.getLong("time");
+				String tranKey = income.getString("incomeType") + ":" + income.getLong("tranId");
+				if (time < batch.incomeCursor || (time == batch.incomeCursor && batch.cursorTranIds.contains(tranKey))) continue;
+
+				if (time > batch.incomeCursor) {
+					batch.incomeCursor = time;
+					batch.cursorTranIds.clear();
+				}
+				batch.cursorTranIds.add(tranKey);
+				added++;
+
+				String symbol = income.optString("symbol");
+				if (symbol.isBlank()) continue; // 입출금 등 심볼 없는 내역
+				if (!"USDT".equals(income.optString("asset", "USDT"))) continue; // BNB 등으로 낸 수수료는 USDT 집계에서 제외
+
+				double amount = Double.parseDouble(income.getString("income"));
+				DayStats delta = switch (income.getString("incomeType")) {
+					case "REALIZED_PNL" -> new DayStats(amount, 0, 0, 0, 0);
+					case "COMMISSION" -> new DayStats(0, amount, 0, 0, 0);
+					case "FUNDING_FEE" -> new DayStats(0, 0, amount, 0, 0);
+					default -> null;
+				};
+				if (delta != null) {
+					add(batch.days, dayOf(time), symbol, delta);
+					batch.touched.add(symbol);
+				}
+			}
+			batch.added += added;
+
+			// 마지막 페이지이거나, 같은 시각 내역만으로 한 페이지가 채워져 더 진행할 수 없으면 종료
+			if (page.length() < PAGE_LIMIT || added == 0) break;
+			start = batch.incomeCursor;
+		}
+	}
+
+	/**
+	 * 심볼의 새 체결을 batch 에 모읍니다.
+	 */
+	private void syncTrades(Batch batch, String symbol, long initialStart) throws Exception {
+		while (true) {
+			Map<String, String> params = new HashMap<>();
+			params.put("symbol", symbol);
+			params.put("limit", String.valueOf(PAGE_LIMIT));
+			Long fromId = batch.tradeCursors.get(symbol);
+			if (fromId != null) {
+				params.put("fromId", String.valueOf(fromId));
+			}
+			else {
+				params.put("startTime", String.valueOf(initialStart));
+			}
+
+			JSONArray page = new JSONArray(apiHelper.sendGetRequest("/fapi/v1/userTrades", params));
+			for (int i = 0; i < page.length(); i++) {
+				JSONObject trade = page.getJSONObject(i);
+				double quote = Double.parseDouble(trade.getString("quoteQty"));
+				add(batch.days, dayOf(trade.getLong("time")), symbol, new DayStats(0, 0, 0, 1, quote));
+				batch.tradeCursors.put(symbol, trade.getLong("id") + 1);
+				batch.trades++;
+			}
+			if (page.length() < PAGE_LIMIT) break;
+		}
+	}
+
+	/**
+	 * 모은 내역을 집계에 더하고 커서를 옮깁니다.
+	 */
+	private synchronized void publish(Batch batch) {
+		batch.days.forEach((day, symbols) -> symbols.forEach((symbol, delta) -> add(days, day, symbol, delta)));
+		incomeCursor = batch.incomeCursor;
+		cursorTranIds.clear();
+		cursorTranIds.addAll(batch.cursorTranIds);
+		tradeCursors.putAll(batch.tradeCursors);
+	}
+
+	// ---------------------------------------------------------------------
+	// 조회
+	// ---------------------------------------------------------------------
+
+	/**
+	 * 심볼 하나의 하루 집계 (없으면 EMPTY)
+	 */
+	public synchronized DayStats get(LocalDate day, String symbol) {
+		return days.getOrDefault(day, Map.of()).getOrDefault(symbol, DayStats.EMPTY);
+	}
+
+	/**
+	 * 하루 실현 손익 + 수수료 합계와, 그 합계에 반영된 마지막 income 시각
+	 *
+	 * @param pnl          실현 손익 + 수수료 (USDT)
+	 * @param incomeCursor 이 시각까지의 income 이 pnl 에 포함됨
+	 */
+	public record Realized(double pnl, long incomeCursor) {
+	}
+
+	/**
+	 * 하루(UTC)의 실현 손익 + 수수료. 커서와 함께 읽어, 이후 체결 이벤트를 중복 없이 더할 수 있게 합니다.
+	 */
+	public synchronized Realized realized(LocalDate day) {
+		DayStats stats = total(day, day);
+		return new Realized(stats.realizedPnl() + stats.commission(), incomeCursor);
+	}
+
+	/**
+	 * 기간(양 끝 포함) 동안 모든 심볼 합계
+	 */
+	public synchronized DayStats total(LocalDate from, LocalDate to) {
+		DayStats sum = DayStats.EMPTY;
+		for (Map<String, DayStats> day : days.subMap(from, true, to, true).values()) {
+			for (DayStats stats : day.values()) {
+				sum = sum.plus(stats);
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * 기간(양 끝 포함) 동안 심볼별 합계
+	 */
+	public synchronized Map<String, DayStats> bySymbol(LocalDate from, LocalDate to) {
+		Map<String, DayStats> result = new TreeMap<>();
+		for (Map<String, DayStats> day : days.subMap(from, true, to, true).values()) {
+			day.forEach((symbol, stats) -> result.merge(symbol, stats, DayStats::plus));
+		}
+		return result;
+	}
+
+	/**
+	 * 텔레그램용 하루 손익 요약
+	 */
+	public String summary(LocalDate day) {
+		DayStats total = total(day, day);
+		StringBuilder sb = new StringBuilder(String.format(
+			  "📒 %s 손익 (UTC)\n순손익: %.4f USDT\n실현 손익: %.4f\n수수료: %.4f\n펀딩비: %.4f\n체결: %d건 / %.2f USDT",
+			  day, total.net(), total.realizedPnl(), total.commission(), total.funding(), total.trades(), total.volume()));
+		bySymbol(day, day).forEach((symbol, stats) ->
+			  sb.append(String.format("\n- %s: %.4f (%d건)", symbol, stats.net(), stats.trades())));
+		return sb.toString();
+	}
+
+	// ---------------------------------------------------------------------
+	// 저장 / 복원
+	// ---------------------------------------------------------------------
+
+	/**
+	 * 파일 형식: {"incomeCursor", "cursorTranIds": ["incomeType:tranId"], "tradeCursors": {심볼: fromId},
+	 * "days": {"yyyy-MM-dd": {심볼: [실현 손익, 수수료, 펀딩비, 체결 수, 체결 금액]}}}
+	 */
+	void save() throws IOException {
+		String json = snapshotJson();
+
+		// 임시 파일에 쓴 뒤 교체해 쓰는 도중 종료되어도 이전 장부가 남도록 함
+		Path path = Path.of(props.getLedger().getPath()).toAbsolutePath();
+		Files.createDirectories(path.getParent());
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.writeString(tmp, json, StandardCharsets.UTF_8);
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private synchronized String snapshotJson() {
+		JSONObject daysJson = new JSONObject();
+		days.forEach((day, symbols) -> {
+			JSONObject dayJson = new JSONObject();
+			symbols.forEach((symbol, s) -> dayJson.put(symbol,
+				  new JSONArray().put(s.realizedPnl()).put(s.commission()).put(s.funding()).put(s.trades()).put(s.volume())));
+			daysJson.put(day.toString(), dayJson);
+		});
+		JSONObject json = new JSONObject()
+			  .put("incomeCursor", incomeCursor)
+			  .put("cursorTranIds", new JSONArray(cursorTranIds))
+			  .put("tradeCursors", new JSONObject(tradeCursors))
+			  .put("days", daysJson);
+		return json.toString();
+	}
+
+	synchronized void load() {
+		Path path = Path.of(props.getLedger().getPath());
+		if (!Files.exists(path)) return;
+
+		try {
+			JSONObject json = new JSONObject(Files.readString(path, StandardCharsets.UTF_8));
+			incomeCursor = json.optLong("incomeCursor");
+			JSONArray tranIds = json.optJSONArray("cursorTranIds");
+			if (tranIds != null) {
+				tranIds.forEach(id -> cursorTranIds.add(id.toString()));
+			}
+			JSONObject cursors = json.optJSONObject("tradeCursors");
+			if (cursors != null) {
+				cursors.keySet().forEach(symbol -> tradeCursors.put(symbol, cursors.getLong(symbol)));
+			}
+			JSONObject daysJson = json.optJSONObject("days");
+			if (daysJson != null) {
+				for (String day : daysJson.keySet()) {
+					JSONObject dayJson = daysJson.getJSONObject(day);
+					Map<String, DayStats> symbols = new HashMap<>();
+					for (String symbol : dayJson.keySet()) {
+						JSONArray s = dayJson.getJSONArray(symbol);
+						symbols.put(symbol, new DayStats(s.getDouble(0), s.getDouble(1), s.getDouble(2), s.getInt(3),
+							  s.getDouble(4)));
+					}
+					days.put(LocalDate.parse(day), symbols);
+				}
+			}
+		} catch (Exception e) {
+			throw new RuntimeException("손익 장부 파일을 읽을 수 없습니다: " + path, e);
+		}
+	}
+
+	private static void add(Map<LocalDate, Map<String, DayStats>> days, LocalDate day, String symbol, DayStats delta) {
+		days.computeIfAbsent(day, d -> new HashMap<>()).merge(symbol, delta, DayStats::plus);
+	}
+
+	private void registerGauge(String type, ToDoubleFunction<DayStats> value) {
+		Gauge.builder("binance.pnl.today", this, ledger -> {
+				  LocalDate today = dayOf(clock.getAsLong());
+				  return value.applyAsDouble(ledger.total(today, today));
+			  })
+			  .tag("type", type)
+			  .baseUnit("USDT")
+			  .register(meterRegistry);
+	}
+
+	private static LocalDate dayOf(long epochMillis) {
+		return Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC).toLocalDate();
+	}
+
+	/**
+	 * 한 번의 sync 에서 새로 받은 내역과, 반영 후 커서. 시작할 때 현재 커서를 복사해 둡니다.
+	 */
+	private class Batch {
+
+		private long incomeCursor;
+		private final Set<String> cursorTranIds;
+		private final Map<String, Long> tradeCursors;
+		private final Map<LocalDate, Map<String, DayStats>> days = new HashMap<>();
+		private final Set<String> touched = new LinkedHashSet<>();
+		private int added;
+		private int trades;
+
+		Batch() {
+			synchronized (PnlLedger.this) {
+				incomeCursor = PnlLedger.this.incomeCursor;
+				cursorTranIds = new HashSet<>(PnlLedger.this.cursorTranIds);
+				tradeCursors = new HashMap<>(PnlLedger.this.tradeCursors);
+			}
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.trade.copy.binance.orderbook;
+
+import java.util.Arrays;
+import lombok.Getter;
+import org.json.JSONArray;
+
+/**
+ * 한 심볼의 로컬 오더북
+ *  - 가격 / 수량을 정렬된 double 배열로 보관하여 호가 갱신 시 객체를 생성하지 않습니다.
+ *    (배열 용량이 부족할 때만 두 배로 늘립니다)
+ *  - 매수 호가는 내림차순, 매도 호가는 오름차순으로 유지합니다.
+ * 동기화는 호출자(OrderBookSync)가 담당합니다.
+ */
+public class LocalOrderBook {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	@Getter
+	private final String symbol;
+	private final Levels bids = new Levels(true);
+	private final Levels asks = new Levels(false);
+
+	@Getter
+	private long lastUpdateId;
+
+	public LocalOrderBook(String symbol) {
+		this.symbol = symbol;
+	}
+
+	/**
+	 * REST 스냅샷(/fapi/v1/depth)으로 오더북 전체를 교체합니다.
+	 */
+	public void reset(JSONArray bidLevels, JSONArray askLevels, long lastUpdateId) {
+		bids.clear();
+		asks.clear();
+		apply(bidLevels, askLevels);
+		this.lastUpdateId = lastUpdateId;
+	}
+
+	/**
+	 * depthUpdate 이벤트의 b / a 배열을 반영합니다. 수량이 0 인 레벨은 삭제됩니다.
+	 */
+	public void apply(JSONArray bidLevels, JSONArray askLevels) {
+		for (int i = 0; i < bidLevels.length(); i++) {
+			JSONArray level = bidLevels.getJSONArray(i);
+			bids.set(Double.parseDouble(level.getString(0)), Double.parseDouble(level.getString(1)));
+		}
+		for (int i = 0; i < askLevels.length(); i++) {
+			JSONArray level = askLevels.getJSONArray(i);
+			asks.set(Double.parseDouble(level.getString(0)), Double.parseDouble(level.getString(1)));
+		}
+	}
+
+	public void setLastUpdateId(long lastUpdateId) {
+		this.lastUpdateId = lastUpdateId;
+	}
+
+	public void update(boolean bid, double price, double quantity) {
+		(bid ? bids : asks).set(price, quantity);
+	}
+
+	public double bestBid() {
+		return bids.size == 0 ? Double.NaN : bids.prices[0];
+	}
+
+	public double bestAsk() {
+		return asks.size == 0 ? Double.NaN : asks.prices[0];
+	}
+
+	public int bidDepth() {
+		return bids.size;
+	}
+
+	public int askDepth() {
+		return asks.size;
+	}
+
+	/**
+	 * 주어진 수량을 시장가로 체결했을 때의 평균 체결가(VWAP)를 계산합니다.
+	 * BUY 는 매도 호가를, SELL 은 매수 호가를 위에서부터 소진합니다.
+	 *
+	 * @param buy      매수 주문이면 true
+	 * @param quantity 체결할 수량
+	 * @return 평균 체결가. 호가 잔량이 부족하면 NaN
+	 */
+	public double estimateFillPrice(boolean buy, double quantity) {
+		Levels levels = buy ? asks : bids;
+		if (quantity <= 0) {
+			return levels.size == 0 ? Double.NaN : levels.prices[0];
+		}
+
+		double remaining = quantity;
+		double notional = 0;
+		for (int i = 0; i < levels.size && remaining > 0; i++) {
+			double filled = Math.min(remaining, levels.quantities[i]);
+			notional += filled * levels.prices[i];
+			remaining -= filled;
+		}
+		return remaining > 1e-12 ? Double.NaN : notional / quantity;
+	}
+
+	/**
+	 * 한쪽 호가의 정렬된 가격 / 수량 배열
+	 */
+	private static final class Levels {
+		private final boolean descending;
+		private double[] prices = new double[INITIAL_CAPACITY];
+		private double[] quantities = new double[INITIAL_CAPACITY];
+		private int size;
+
+		Levels(boolean descending) {
+			this.descending = descending;
+		}
+
+		void clear() {
+			size = 0;
+		}
+
+		void set(double price, double quantity) {
+			int idx = search(price);
+			if (idx >= 0) {
+				if (quantity == 0) {
+					System.arraycopy(prices, idx + 1, prices, idx, size - idx - 1);
+					System.arraycopy(quantities, idx + 1, quantities, idx, size - idx - 1);
+					size--;
+				}
+				else {
+					quantities[idx] = quantity;
+				}
+				return;
+			}
+			if (quantity == 0) return;
+
+			int insertAt = -idx - 1;
+			if (size == prices.length) {
+				prices = Arrays.copyOf(prices, size * 2);
+				quantities = Arrays.copyOf(quantities, size * 2);
+			}
+			System.arraycopy(prices, insertAt, prices, insertAt + 1, size - insertAt);
+			System.arraycopy(quantities, insertAt, quantities, insertAt + 1, size - insertAt);
+			prices[insertAt] = price;
+			quantities[insertAt] = quantity;
+			size++;
+		}
+
+		/**
+		 * Arrays.binarySearch 와 같은 규칙으로 위치를 찾되, 매수 호가는 내림차순 기준으로 비교합니다.
+		 */
+		private int search(double price) {
+			int lo = 0;
+			int hi = size - 1;
+			while (lo <= hi) {
+				int mid = (lo + hi) >>> 1;
+				double p = prices[mid];
+				int cmp = descending ? Double.compare(price, p) : Double.compare(p, price);
+				if (cmp < 0) {
+					lo = mid + 1;
+				}
+				else if (cmp > 0) {
+					hi = mid - 1;
+				}
+				else {
+					return mid;
+				}
+			}
+			return -(lo + 1);
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package com.trade.copy.binance.orderbook;
+
+import com.trade.copy.binance.config.BinanceHttpClient;
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.helper.BinanceWebSocketClient;
+import com.trade.copy.binance.stream.UserDataStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * 심볼별 로컬 오더북을 관리하는 컴포넌트
+ *  - 처음 조회되는 심볼은 &lt;symbol&gt;@depth@100ms 스트림을 구독하고 REST 스냅샷으로 동기화합니다.
+ *  - 하나의 WebSocket 연결에 SUBSCRIBE 메시지로 심볼을 추가하며, 재연결 시 모든 오더북을 다시 동기화합니다.
+ *  - 유저 데이터 스트림에서 심볼의 포지션이 모두 청산되면 구독을 해제하고 오더북을 버립니다.
+ *  - 동기화가 끝나지 않았거나 기능이 꺼져 있으면 예상 체결가는 빈 값이므로, 호출자는 마크 가격으로 대체해야 합니다.
+ */
+@Component
+public class OrderBookManager {
+
+	private static final Logger logger = Logger.getLogger(OrderBookManager.class.getName());
+
+	private final BinanceProperties props;
+	private final BinanceApiHelper apiHelper;
+	private final UserDataStream userDataStream;
+	private final BinanceWebSocketClient streamClient;
+
+	private final ConcurrentMap<String, OrderBookSync> books = new ConcurrentHashMap<>();
+	// 심볼 → 포지션이 열려 있는 positionSide (유저 데이터 스트림 기준)
+	private final Map<String, Set<String>> openSides = new HashMap<>();
+	private final ExecutorService snapshotExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	private final AtomicLong requestIds = new AtomicLong();
+
+	public OrderBookManager(BinanceProperties props, BinanceApiHelper apiHelper, BinanceHttpClient httpClient,
+		  UserDataStream userDataStream) {
+		this.props = props;
+		this.apiHelper = apiHelper;
+		this.userDataStream = userDataStream;
+		this.streamClient = new BinanceWebSocketClient(
+			  "depth-stream",
+			  httpClient.client,
+			  () -> URI.create(props.getStreamUrl() + "/ws"),
+			  this::onMessage,
+			  this::resubscribeAll,
+			  () -> books.values().forEach(OrderBookSync::invalidate));
+	}
+
+	/**
+	 * 주어진 수량을 시장가로 체결했을 때의 예상 평균 체결가를 반환합니다.
+	 *
+	 * @param symbol   거래 페어 (예: "BTCUSDT")
+	 * @param side     주문 방향 ("BUY" 또는 "SELL")
+	 * @param quantity 주문 수량
+	 * @return 오더북이 동기화되어 있고 호가 잔량이 충분할 때만 값이 있음
+	 */
+	public OptionalDouble estimateFillPrice(String symbol, String side, double quantity) {
+		if (!props.getOrderBook().isEnabled()) {
+			return OptionalDouble.empty();
+		}
+		return track(symbol).estimateFillPrice("BUY".equalsIgnoreCase(side), quantity);
+	}
+
+	/**
+	 * 심볼의 오더북 동기화를 시작합니다. 이미 추적 중이면 기존 객체를 반환합니다.
+	 */
+	public OrderBookSync track(String symbol) {
+		OrderBookSync existing = books.get(symbol);
+		if (existing != null) {
+			return existing;
+		}
+
+		OrderBookSync created = new OrderBookSync(symbol, this::requestSnapshot);
+		OrderBookSync previous = books.putIfAbsent(symbol, created);
+		if (previous != null) {
+			return previous;
+		}
+
+		if (streamClient.isOpen()) {
+			subscribe(List.of(symbol));
+		}
+		else {
+			streamClient.connect();
+		}
+		return created;
+	}
+
+	/**
+	 * 추적을 멈춥니다. 스트림 구독을 해제하고 오더북을 버립니다.
+	 */
+	public void untrack(String symbol) {
+		if (books.remove(symbol) != null && streamClient.isOpen()) {
+			send("UNSUBSCRIBE", List.of(symbol));
+		}
+	}
+
+	public boolean isTracked(String symbol) {
+		return books.containsKey(symbol);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (props.getOrderBook().isEnabled()) {
+			userDataStream.addListener(this::onUserEvent, null);
+		}
+	}
+
+	/**
+	 * ACCOUNT_UPDATE 로 포지션이 열린 positionSide 를 기록하고, 심볼의 포지션이 모두 0 이 되면 추적을 멈춥니다.
+	 */
+	synchronized void onUserEvent(JSONObject event) {
+		if (!"ACCOUNT_UPDATE".equals(event.optString("e"))) {
+			return;
+		}
+		JSONArray updates = event.getJSONObject("a").optJSONArray("P");
+		if (updates == null) {
+			return;
+		}
+		for (int i = 0; i < updates.length(); i++) {
+			JSONObject p = updates.getJSONObject(i);
+			String symbol = p.getString("s");
+			Set<String> sides = openSides.computeIfAbsent(symbol, k -> new HashSet<>());
+			if (Double.parseDouble(p.getString("pa")) != 0) {
+				sides.add(p.optString("ps", "BOTH"));
+				continue;
+			}
+			sides.remove(p.optString("ps", "BOTH"));
+			if (sides.isEmpty()) {
+				openSides.remove(symbol);
+				untrack(symbol);
+			}
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		streamClient.close();
+		snapshotExecutor.shutdownNow();
+	}
+
+	private void resubscribeAll() {
+		if (!books.isEmpty()) {
+			subscribe(List.copyOf(books.keySet()));
+		}
+	}
+
+	private void subscribe(List<String> symbols) {
+		send("SUBSCRIBE", symbols);
+	}
+
+	private void send(String method, List<String> symbols) {
+		JSONArray params = new JSONArray();
+		symbols.forEach(s -> params.put(s.toLowerCase(Locale.ROOT) + "@depth@100ms"));
+		streamClient.send(new JSONObject()
+			  .put("method", method)
+			  .put("params", params)
+			  .put("id", requestIds.incrementAndGet())
+			  .toString());
+	}
+
+	private void onMessage(JSONObject message) {
+		if (!"depthUpdate".equals(message.optString("e"))) {
+			return;
+		}
+		OrderBookSync sync = books.get(message.getString("s"));
+		if (sync != null) {
+			sync.onDepthEvent(message);
+		}
+	}
+
+	private void requestSnapshot(OrderBookSync sync) {
+		snapshotExecutor.submit(() -> {
+			try {
+				String body = apiHelper.sendPublicGetRequest("/fapi/v1/depth", Map.of(
+					  "symbol", sync.getSymbol(),
+					  "limit", String.valueOf(props.getOrderBook().getSnapshotLimit())));
+				sync.onSnapshot(new JSONObject(body));
+			} catch (Exception e) {
+				logger.warning("📚 오더북 스냅샷 실패 [" + sync.getSymbol() + "]: " + e.getMessage());
+				sync.onSnapshotFailed();
+			}
+		});
+	}
+}
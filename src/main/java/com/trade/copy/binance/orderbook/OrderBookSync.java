@@ -0,0 +1,167 @@
+package com.trade.copy.binance.orderbook;
+
+import java.util.ArrayDeque;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+import org.json.JSONObject;
+
+/**
+ * depth diff 스트림과 REST 스냅샷으로 LocalOrderBook 을 동기화하는 상태 머신
+ * Binance Futures 권장 절차를 따릅니다.
+ * 1. 스트림 이벤트를 버퍼링하면서 스냅샷(lastUpdateId)을 요청
+ * 2. u &lt; lastUpdateId 인 이벤트는 버림
+ * 3. 첫 이벤트는 U &lt;= lastUpdateId &lt;= u 를 만족해야 함
+ * 4. 이후 이벤트는 pu 가 직전 이벤트의 u 와 같아야 하며, 다르면 누락(gap)으로 보고 스냅샷부터 다시 시작
+ */
+public class OrderBookSync {
+
+	// 스냅샷을 기다리는 동안 보관할 최대 이벤트 수
+	private static final int MAX_BUFFERED_EVENTS = 5_000;
+
+	// 스냅샷 실패 시 재요청 간격 (ms)
+	private static final long SNAPSHOT_RETRY_MILLIS = 2_000;
+
+	private enum State { SNAPSHOT_PENDING, AWAITING_FIRST_EVENT, LIVE }
+
+	private final LocalOrderBook book;
+	private final Consumer<OrderBookSync> snapshotRequester;
+	private final ArrayDeque<JSONObject> buffer = new ArrayDeque<>();
+
+	private State state = State.SNAPSHOT_PENDING;
+	private boolean snapshotRequested;
+	private long snapshotRetryAt;
+	private long previousFinalUpdateId;
+	private long gapCount;
+
+	/**
+	 * @param symbol            심볼 (예: "BTCUSDT")
+	 * @param snapshotRequester 스냅샷이 필요할 때 호출되며, 결과를 onSnapshot / onSnapshotFailed 로 돌려줘야 함
+	 */
+	public OrderBookSync(String symbol, Consumer<OrderBookSync> snapshotRequester) {
+		this.book = new LocalOrderBook(symbol);
+		this.snapshotRequester = snapshotRequester;
+	}
+
+	public String getSymbol() {
+		return book.getSymbol();
+	}
+
+	public synchronized boolean isLive() {
+		return state == State.LIVE;
+	}
+
+	public synchronized long getGapCount() {
+		return gapCount;
+	}
+
+	/**
+	 * depthUpdate 이벤트 하나를 처리합니다.
+	 */
+	public void onDepthEvent(JSONObject event) {
+		boolean requestSnapshot;
+		synchronized (this) {
+			if (state == State.SNAPSHOT_PENDING) {
+				buffer.addLast(event);
+				if (buffer.size() > MAX_BUFFERED_EVENTS) {
+					buffer.removeFirst();
+				}
+			}
+			else {
+				applyEvent(event);
+			}
+			requestSnapshot = shouldRequestSnapshot();
+		}
+		if (requestSnapshot) {
+			snapshotRequester.accept(this);
+		}
+	}
+
+	/**
+	 * REST 스냅샷을 반영하고 버퍼링된 이벤트를 이어서 적용합니다.
+	 */
+	public void onSnapshot(JSONObject snapshot) {
+		boolean requestSnapshot;
+		synchronized (this) {
+			snapshotRequested = false;
+			book.reset(snapshot.getJSONArray("bids"), snapshot.getJSONArray("asks"),
+				  snapshot.getLong("lastUpdateId"));
+			state = State.AWAITING_FIRST_EVENT;
+
+			while (!buffer.isEmpty() && state != State.SNAPSHOT_PENDING) {
+				applyEvent(buffer.removeFirst());
+			}
+			requestSnapshot = shouldRequestSnapshot();
+		}
+		if (requestSnapshot) {
+			snapshotRequester.accept(this);
+		}
+	}
+
+	public synchronized void onSnapshotFailed() {
+		snapshotRequested = false;
+		snapshotRetryAt = System.currentTimeMillis() + SNAPSHOT_RETRY_MILLIS;
+	}
+
+	/**
+	 * 스트림 연결이 끊겼을 때 호출합니다. 다음 이벤트부터 다시 스냅샷 절차를 밟습니다.
+	 */
+	public synchronized void invalidate() {
+		state = State.SNAPSHOT_PENDING;
+		buffer.clear();
+	}
+
+	/**
+	 * 동기화된 오더북 기준 예상 평균 체결가
+	 *
+	 * @param buy      매수 주문이면 true
+	 * @param quantity 주문 수량
+	 * @return 동기화되지 않았거나 호가 잔량이 부족하면 빈 값
+	 */
+	public synchronized OptionalDouble estimateFillPrice(boolean buy, double quantity) {
+		if (state != State.LIVE) {
+			return OptionalDouble.empty();
+		}
+		double price = book.estimateFillPrice(buy, quantity);
+		return Double.isNaN(price) ? OptionalDouble.empty() : OptionalDouble.of(price);
+	}
+
+	private void applyEvent(JSONObject event) {
+		long firstUpdateId = event.getLong("U");
+		long finalUpdateId = event.getLong("u");
+		long lastUpdateId = book.getLastUpdateId();
+
+		if (state == State.AWAITING_FIRST_EVENT) {
+			if (finalUpdateId < lastUpdateId) {
+				return;
+			}
+			if (firstUpdateId > lastUpdateId) {
+				resync();
+				return;
+			}
+			state = State.LIVE;
+		}
+		else if (event.getLong("pu") != previousFinalUpdateId) {
+			resync();
+			return;
+		}
+
+		book.apply(event.getJSONArray("b"), event.getJSONArray("a"));
+		book.setLastUpdateId(finalUpdateId);
+		previousFinalUpdateId = finalUpdateId;
+	}
+
+	private void resync() {
+		gapCount++;
+		state = State.SNAPSHOT_PENDING;
+		buffer.clear();
+	}
+
+	private boolean shouldRequestSnapshot() {
+		if (state != State.SNAPSHOT_PENDING || snapshotRequested
+			  || System.currentTimeMillis() < snapshotRetryAt) {
+			return false;
+		}
+		snapshotRequested = true;
+		return true;
+	}
+}
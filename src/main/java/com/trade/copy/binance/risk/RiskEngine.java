@@ -0,0 +1,444 @@
+package com.trade.copy.binance.risk;
+
+import com.trade.copy.binance.cache.ExchangeInfoCache;
+import com.trade.copy.binance.cache.ExchangeInfoCache.SymbolFilterInfo;
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.ledger.PnlLedger;
+import com.trade.copy.binance.ledger.PnlLedger.Realized;
+import com.trade.copy.binance.stream.UserDataStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 전 리스크 점검 엔진
+ *  - 유저 데이터 스트림(ACCOUNT_UPDATE, ORDER_TRADE_UPDATE)으로 포지션별 명목가 / 증거금, 미체결 주문 수,
+ *    지갑 잔고, 당일(UTC) 실현 손익을 메모리에서 증분 갱신합니다.
+ *  - 스트림 연결 / 재연결 시 positionRisk, openOrders, balance 를 조회하고 당일 손익은 PnlLedger 에서 가져와 상태를 다시 맞춥니다.
+ *  - check 는 네트워크 호출 없이 위 상태와 한도만 비교하므로 주문 경로에 지연을 더하지 않습니다.
+ *    한도를 넘는 주문은 남은 한도만큼 수량을 줄이고, 최소 주문 금액도 못 채우면 거부합니다.
+ *  - 승인된 주문은 체결 / 취소 이벤트가 올 때까지 예약분으로 잡아 동시에 들어온 진입이 한도를 함께 넘지 않게 합니다.
+ */
+@Component
+public class RiskEngine {
+
+	private static final Logger logger = Logger.getLogger(RiskEngine.class.getName());
+
+	private static final long DAY_MILLIS = 86_400_000L;
+
+	/**
+	 * 점검 결과
+	 *
+	 * @param approved 주문 가능 여부
+	 * @param quantity 전송할 수량 (축소되었을 수 있음, 거부 시 null)
+	 * @param reason   축소 / 거부 사유 (그대로 통과하면 null)
+	 */
+	public record Decision(boolean approved, BigDecimal quantity, String reason) {
+
+		static Decision approve(BigDecimal quantity, String reason) {
+			return new Decision(true, quantity, reason);
+		}
+
+		static Decision reject(String reason) {
+			return new Decision(false, null, reason);
+		}
+	}
+
+	private record Exposure(String symbol, double notional, double margin) {
+	}
+
+	/**
+	 * 승인 후 체결 / 취소를 기다리는 진입 주문
+	 *
+	 * @param acknowledged 거래소 접수 이벤트(ORDER_TRADE_UPDATE)를 받았는지 여부
+	 */
+	private record Reservation(Exposure exposure, long reservedAt, boolean acknowledged) {
+
+		Reservation acknowledge() {
+			return new Reservation(exposure, reservedAt, true);
+		}
+	}
+
+	private final BinanceProperties props;
+	private final BinanceApiHelper apiHelper;
+	private final ExchangeInfoCache exchangeInfoCache;
+	private final UserDataStream userDataStream;
+	private final PnlLedger pnlLedger;
+	private final LongSupplier clock;
+
+	// "심볼|positionSide" → 포지션 명목가 / 증거금 (진입가 기준)
+	private final Map<String, Exposure> positions = new HashMap<>();
+	// clientOrderId → 승인 후 체결 대기 중인 진입 주문
+	private final Map<String, Reservation> reservations = new HashMap<>();
+	// 심볼 → 명목가 합 (포지션 + 예약)
+	private final Map<String, Double> symbolNotional = new HashMap<>();
+	// 미체결 주문 orderId
+	private final Set<Long> openOrders = new HashSet<>();
+	private final Map<String, Integer> leverages = new HashMap<>();
+	private double totalNotional;
+	private double totalMargin;
+	private double walletBalance;
+	private double dailyPnl;
+	private long pnlDay;
+	// dailyPnl 에 반영된 손익 장부의 마지막 income 시각
+	private long pnlCursor;
+	// 첫 REST 동기화 전에는 상태를 믿을 수 없으므로 진입을 거부
+	private boolean synced;
+	// REST 대조 중 받은 이벤트. 조회 결과로 상태를 교체한 뒤 다시 적용
+	private boolean reconciling;
+	private final List<JSONObject> buffered = new ArrayList<>();
+
+	// 재연결 시 REST 대조를 수신 스레드 밖에서 처리
+	private final ExecutorService reconcileExecutor = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "risk-reconcile");
+		t.setDaemon(true);
+		return t;
+	});
+
+	public RiskEngine(BinanceProperties props, BinanceApiHelper apiHelper, ExchangeInfoCache exchangeInfoCache,
+		  UserDataStream userDataStream, PnlLedger pnlLedger) {
+		this(props, apiHelper, exchangeInfoCache, userDataStream, pnlLedger, System::currentTimeMillis);
+	}
+
+	RiskEngine(BinanceProperties props, BinanceApiHelper apiHelper, ExchangeInfoCache exchangeInfoCache,
+		  UserDataStream userDataStream, PnlLedger pnlLedger, LongSupplier clock) {
+		this.props = props;
+		this.apiHelper = apiHelper;
+		this.exchangeInfoCache = exchangeInfoCache;
+		this.userDataStream = userDataStream;
+		this.pnlLedger = pnlLedger;
+		this.clock = clock;
+	}
+
+	@PostConstruct
+	public void start() {
+		if (isEnabled()) {
+			userDataStream.addListener(this::onUserEvent, () -> reconcileExecutor.execute(this::reconcile));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		reconcileExecutor.shutdownNow();
+	}
+
+	public boolean isEnabled() {
+		return props.getRisk().isEnabled();
+	}
+
+	/**
+	 * 진입 주문을 한도와 비교하고, 승인되면 체결 / 취소 이벤트가 올 때까지 예약합니다.
+	 * 주문 전송에 실패하면 release 로 예약을 풀어야 합니다.
+	 *
+	 * @param clientOrderId 주문에 실어 보낼 newClientOrderId
+	 * @param symbol        거래 페어 (예: "BTCUSDT")
+	 * @param quantity      요청 수량
+	 * @param price         예상 체결가 (명목가 계산용)
+	 */
+	public synchronized Decision check(String clientOrderId, String symbol, BigDecimal quantity, double price) {
+		if (!isEnabled()) {
+			return Decision.approve(quantity, null);
+		}
+		if (!synced) {
+			return Decision.reject("리스크 상태 동기화 전");
+		}
+		BinanceProperties.Risk limits = props.getRisk();
+
+		double loss = -currentDailyPnl();
+		if (limits.getMaxDailyLoss() > 0 && loss >= limits.getMaxDailyLoss()) {
+			return Decision.reject(String.format("당일 손실 한도 도달 (%.2f / %.2f USDT)", loss, limits.getMaxDailyLoss()));
+		}
+		int orders = openOrders.size() + reservations.size();
+		if (limits.getMaxOpenOrders() > 0 && orders >= limits.getMaxOpenOrders()) {
+			return Decision.reject("미체결 주문 수 한도 도달 (" + orders + ")");
+		}
+
+		int leverage = leverageOf(symbol);
+		double requested = quantity.doubleValue() * price;
+		double allowed = requested;
+		String reason = null;
+
+		if (limits.getMaxSymbolNotional() > 0) {
+			double room = limits.getMaxSymbolNotional() - symbolNotional.getOrDefault(symbol, 0.0);
+			if (room < allowed) {
+				allowed = room;
+				reason = String.format("심볼 명목가 한도 %.2f USDT", limits.getMaxSymbolNotional());
+			}
+		}
+		if (limits.getMaxTotalNotional() > 0) {
+			double room = limits.getMaxTotalNotional() - totalNotional;
+			if (room < allowed) {
+				allowed = room;
+				reason = String.format("전체 명목가 한도 %.2f USDT", limits.getMaxTotalNotional());
+			}
+		}
+		if (limits.getMaxMarginUsage() > 0) {
+			double room = (limits.getMaxMarginUsage() * walletBalance - totalMargin) * leverage;
+			if (room < allowed) {
+				allowed = room;
+				reason = String.format("증거금 사용률 한도 %.0f%% (잔고 %.2f USDT)",
+					  limits.getMaxMarginUsage() * 100, walletBalance);
+			}
+		}
+
+		BigDecimal finalQuantity = quantity;
+		if (allowed < requested) {
+			SymbolFilterInfo info = exchangeInfoCache.getSymbolInfo(symbol);
+			if (info == null || allowed < info.getMinNotional()) {
+				return Decision.reject(reason + " 초과, 남은 한도 " + String.format("%.2f USDT", Math.max(0, allowed)));
+			}
+			finalQuantity = BigDecimal.valueOf(allowed / price).setScale(info.getLotSizePrecision(), RoundingMode.DOWN);
+			if (finalQuantity.doubleValue() * price < info.getMinNotional()) {
+				return Decision.reject(reason + " 초과, 축소 수량이 최소 주문 금액 미만");
+			}
+			reason = reason + " 로 수량 축소 " + quantity.toPlainString() + " → " + finalQuantity.toPlainString();
+		}
+
+		double notional = finalQuantity.doubleValue() * price;
+		Exposure reserved = new Exposure(symbol, notional, notional / leverage);
+		reservations.put(clientOrderId, new Reservation(reserved, clock.getAsLong(), false));
+		apply(null, reserved);
+		return Decision.approve(finalQuantity, reason);
+	}
+
+	/**
+	 * 전송하지 못한 주문의 예약을 해제합니다.
+	 */
+	public synchronized void release(String clientOrderId) {
+		Reservation reserved = reservations.remove(clientOrderId);
+		if (reserved != null) {
+			apply(reserved.exposure(), null);
+		}
+	}
+
+	public synchronized boolean isSynced() {
+		return synced;
+	}
+
+	public synchronized double getTotalNotional() {
+		return totalNotional;
+	}
+
+	public synchronized double getSymbolNotional(String symbol) {
+		return symbolNotional.getOrDefault(symbol, 0.0);
+	}
+
+	public synchronized int getOpenOrderCount() {
+		return openOrders.size() + reservations.size();
+	}
+
+	public synchronized double getDailyPnl() {
+		return currentDailyPnl();
+	}
+
+	/**
+	 * 유저 데이터 스트림 이벤트 처리. REST 대조 중이면 교체 후 다시 적용하도록 보관합니다.
+	 */
+	synchronized void onUserEvent(JSONObject event) {
+		if (reconciling) {
+			buffered.add(event);
+		}
+		handle(event);
+	}
+
+	private void handle(JSONObject event) {
+		switch (event.optString("e")) {
+			case "ORDER_TRADE_UPDATE" -> onOrderUpdate(event.getJSONObject("o"));
+			case "ACCOUNT_UPDATE" -> {
+				JSONObject account = event.getJSONObject("a");
+				JSONArray balances = account.optJSONArray("B");
+				if (balances != null) {
+					for (int i = 0; i < balances.length(); i++) {
+						JSONObject b = balances.getJSONObject(i);
+						if ("USDT".equals(b.optString("a"))) {
+							walletBalance = Double.parseDouble(b.getString("wb"));
+						}
+					}
+				}
+				JSONArray updates = account.optJSONArray("P");
+				if (updates != null) {
+					for (int i = 0; i < updates.length(); i++) {
+						JSONObject p = updates.getJSONObject(i);
+						updatePosition(p.getString("s"), p.getString("ps"),
+							  Double.parseDouble(p.getString("pa")), Double.parseDouble(p.getString("ep")));
+					}
+				}
+			}
+			case "ACCOUNT_CONFIG_UPDATE" -> {
+				JSONObject config = event.optJSONObject("ac");
+				if (config != null) {
+					leverages.put(config.getString("s"), config.getInt("l"));
+				}
+			}
+			default -> {
+			}
+		}
+	}
+
+	private void onOrderUpdate(JSONObject order) {
+		long orderId = order.optLong("i");
+		switch (order.optString("X")) {
+			case "NEW", "PARTIALLY_FILLED" -> {
+				openOrders.add(orderId);
+				reservations.computeIfPresent(order.optString("c"), (id, r) -> r.acknowledge());
+			}
+			default -> {
+				openOrders.remove(orderId);
+				release(order.optString("c"));
+			}
+		}
+
+		if ("TRADE".equals(order.optString("x"))) {
+			// 실현 손익에서 수수료를 뺀 값을 당일 손익에 누적
+			long time = order.optLong("T", clock.getAsLong());
+			long day = time / DAY_MILLIS;
+			if (day != pnlDay) {
+				pnlDay = day;
+				dailyPnl = 0;
+			}
+			// 동기화 때 장부에서 이미 가져온 체결은 건너뜀
+			if (time > pnlCursor) {
+				double pnl = order.optDouble("rp", 0);
+				// BNB 등으로 낸 수수료는 USDT 손익이 아님
+				if ("USDT".equals(order.optString("N"))) {
+					pnl -= order.optDouble("n", 0);
+				}
+				dailyPnl += pnl;
+			}
+		}
+	}
+
+	private void updatePosition(String symbol, String positionSide, double amount, double entryPrice) {
+		String key = symbol + "|" + positionSide;
+		double notional = Math.abs(amount) * entryPrice;
+		Exposure next = notional == 0 ? null : new Exposure(symbol, notional, notional / leverageOf(symbol));
+		Exposure previous = next == null ? positions.remove(key) : positions.put(key, next);
+		apply(previous, next);
+	}
+
+	/**
+	 * 이전 값을 빼고 새 값을 더해 심볼 / 전체 합계를 상수 시간에 갱신
+	 */
+	private void apply(Exposure previous, Exposure next) {
+		if (previous != null) {
+			symbolNotional.merge(previous.symbol(), -previous.notional(), Double::sum);
+			totalNotional -= previous.notional();
+			totalMargin -= previous.margin();
+		}
+		if (next != null) {
+			symbolNotional.merge(next.symbol(), next.notional(), Double::sum);
+			totalNotional += next.notional();
+			totalMargin += next.margin();
+		}
+	}
+
+	private double currentDailyPnl() {
+		return clock.getAsLong() / DAY_MILLIS == pnlDay ? dailyPnl : 0;
+	}
+
+	private int leverageOf(String symbol) {
+		return Math.max(1, leverages.getOrDefault(symbol, props.getDefaultLeverage()));
+	}
+
+	/**
+	 * 스트림이 끊긴 동안 놓친 변경을 반영: 포지션 / 미체결 주문 / 잔고를 REST 로 다시 읽어 상태를 교체합니다.
+	 * 당일 손익은 손익 장부를 갱신해 가져오므로 재시작 직후에도 일일 손실 한도가 유지됩니다.
+	 *  - 조회는 응답 캐시를 거치지 않으며, 조회 중 받은 스트림 이벤트는 교체 후 순서대로 다시 적용합니다.
+	 *  - 진입 예약은 미체결로 조회된 주문과, 아직 접수 이벤트가 없고 조회 시작 시점에 전송 중이었을 수 있는 주문만 남깁니다.
+	 *    그보다 오래된 미접수 예약은 이미 접수되었다면 조회 결과에 반영되어 있으므로 비웁니다.
+	 */
+	void reconcile() {
+		synchronized (this) {
+			reconciling = true;
+			buffered.clear();
+		}
+		try {
+			long readStart = clock.getAsLong();
+			JSONArray risk = new JSONArray(apiHelper.sendUncachedGetRequest("/fapi/v3/positionRisk", Collections.emptyMap()));
+			JSONArray open = new JSONArray(apiHelper.sendUncachedGetRequest("/fapi/v1/openOrders", Collections.emptyMap()));
+			JSONArray balances = new JSONArray(apiHelper.sendUncachedGetRequest("/fapi/v3/balance", Collections.emptyMap()));
+			// 당일 손익은 손익 장부에서 가져오고, 장부 커서 이후 체결만 스트림으로 더함
+			pnlLedger.sync();
+			long day = clock.getAsLong() / DAY_MILLIS;
+			Realized today = pnlLedger.realized(LocalDate.ofEpochDay(day));
+
+			synchronized (this) {
+				Set<String> openClientIds = new HashSet<>();
+				for (int i = 0; i < open.length(); i++) {
+					openClientIds.add(open.getJSONObject(i).optString("clientOrderId"));
+				}
+				// 거래소는 timestamp + recvWindow (+ 서버 시간보다 앞선 timestamp 허용치 1초) 이후 요청을 받지 않음
+				long inFlightSince = readStart - props.getRecvWindow() - 1_000;
+				reservations.entrySet().removeIf(e -> !openClientIds.contains(e.getKey())
+					  && (e.getValue().acknowledged() || e.getValue().reservedAt() < inFlightSince));
+
+				positions.clear();
+				symbolNotional.clear();
+				openOrders.clear();
+				totalNotional = 0;
+				totalMargin = 0;
+				reservations.values().forEach(r -> apply(null, r.exposure()));
+
+				for (int i = 0; i < risk.length(); i++) {
+					JSONObject p = risk.getJSONObject(i);
+					String symbol = p.getString("symbol");
+					if (p.has("leverage")) {
+						leverages.put(symbol, Integer.parseInt(p.getString("leverage")));
+					}
+					updatePosition(symbol, p.optString("positionSide", "BOTH"),
+						  Double.parseDouble(p.getString("positionAmt")), Double.parseDouble(p.getString("entryPrice")));
+				}
+				for (int i = 0; i < open.length(); i++) {
+					openOrders.add(open.getJSONObject(i).getLong("orderId"));
+				}
+				for (int i = 0; i < balances.length(); i++) {
+					JSONObject b = balances.getJSONObject(i);
+					if ("USDT".equals(b.optString("asset"))) {
+						walletBalance = Double.parseDouble(b.getString("crossWalletBalance"));
+					}
+				}
+				pnlDay = day;
+				dailyPnl = today.pnl();
+				pnlCursor = today.incomeCursor();
+
+				buffered.forEach(this::handle);
+				buffered.clear();
+				reconciling = false;
+				synced = true;
+				logger.info(String.format("🧮 리스크 상태 동기화: 명목가 %.2f USDT, 미체결 %d, 잔고 %.2f USDT, 당일 손익 %.2f USDT",
+					  totalNotional, openOrders.size(), walletBalance, dailyPnl));
+			}
+		} catch (Exception e) {
+			synchronized (this) {
+				buffered.clear();
+				reconciling = false;
+			}
+			logger.warning("⚠️ 리스크 상태 동기화 실패: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 리스크 예약과 체결 이벤트를 잇기 위한 진입 주문 clientOrderId
+	 */
+	public static String newClientOrderId() {
+		return "en_" + UUID.randomUUID().toString().replace("-", "").substring(0, 24);
+	}
+}
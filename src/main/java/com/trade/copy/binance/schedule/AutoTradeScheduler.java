@@ -1,14 +1,22 @@
 package com.trade.copy.binance.schedule;
 
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.ledger.PnlLedger;
 import com.trade.copy.binance.service.AutoTradeStrategyService;
 import com.trade.copy.binance.service.BinanceFutureTradeService;
+import com.trade.copy.binance.util.TelegramMessageSender;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 @RequiredArgsConstructor
@@ -16,49 +24,48 @@ public class AutoTradeScheduler {
 
 	private final AutoTradeStrategyService strategyService;
 	private final BinanceFutureTradeService binanceFutureTradeService;
+	private final BinanceProperties props;
+	private final TakeProfitPoller takeProfitPoller;
+	private final PnlLedger pnlLedger;
+	private final TelegramMessageSender telegram;
 
-	// 2025년 6월 1일 기준 섹터별 시가총액 1위 종목
-	private static final List<String> SYMBOLS = List.of(
-		  "BTCUSDT",
-		  "ETHUSDT",
-		  "XRPUSDT",
-		  "SOLUSDT",
-		  "SUIUSDT",
-		  "TRUMPUSDT",
-		  "BNBUSDT",
-		  "DOGEUSDT",
-		  "HYPEUSDT"
-	);
-
-	// 매 15분마다 실행
-	@Scheduled(cron = "* */15 * * * *")
-	public void setPosition() {
-		for (String symbol : SYMBOLS) {
-			try {
-				strategyService.setPosition(symbol);
-			} catch (Exception e) {
-				System.err.println("🔴 자동매매 실패 [" + symbol + "]: " + e.getMessage());
-			}
-		}
-	}
-
-	// 매 1분마다 실행
+	// 매 1분마다 실행 (적응형 폴링이 켜져 있으면 TakeProfitPoller 가 대신 처리)
 	@Scheduled(cron = "0 * * * * *")
 	public void takeProfit() {
+		if (takeProfitPoller.isEnabled()) return;
+
 		try {
-			// SYMBOLS + 현재 보유 중인 포지션 심볼을 합쳐 중복 없이 처리
-			Set<String> allSymbols = new HashSet<>(SYMBOLS);
+			// 설정된 심볼 + 현재 보유 중인 포지션 심볼을 합쳐 중복 없이 처리
+			Set<String> allSymbols = new HashSet<>(props.getSchedule().getSymbols());
 			allSymbols.addAll(binanceFutureTradeService.getOpenPositionSymbols());
 
+			// 심볼 레인에 한꺼번에 넣어 심볼끼리는 동시에 처리
+			Map<String, CompletableFuture<Void>> results = new HashMap<>();
 			for (String symbol : allSymbols) {
+				results.put(symbol, strategyService.takeProfit(symbol));
+			}
+			results.forEach((symbol, future) -> {
 				try {
-					strategyService.takeProfit(symbol);
-				} catch (Exception e) {
-					System.err.println("🔴 익절 실패 [" + symbol + "]: " + e.getMessage());
+					future.join();
+				} catch (CompletionException e) {
+					System.err.println("🔴 익절 실패 [" + symbol + "]: " + e.getCause().getMessage());
 				}
-			}
+			});
 		} catch (Exception e) {
 			System.err.println("🔴 포지션 심볼 조회 실패: " + e.getMessage());
 		}
 	}
+
+	// 매일 00:05 (UTC) 전날 손익 요약 전송
+	@Scheduled(cron = "0 5 0 * * *", zone = "UTC")
+	public void dailyPnlSummary() {
+		if (!pnlLedger.isEnabled()) return;
+
+		try {
+			pnlLedger.sync();
+			telegram.sendMessage(pnlLedger.summary(LocalDate.now(ZoneOffset.UTC).minusDays(1)));
+		} catch (Exception e) {
+			System.err.println("🔴 손익 요약 실패: " + e.getMessage());
+		}
+	}
 }
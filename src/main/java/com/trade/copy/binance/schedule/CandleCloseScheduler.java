@@ -0,0 +1,235 @@
+package com.trade.copy.binance.schedule;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 캔들 마감 시점에 맞춰 작업을 실행하는 스케줄러
+ *  - 거래소 서버 시간(BinanceApiHelper.currentTimestamp) 기준으로 다음 마감 시각을 계산해 한 번만 실행합니다.
+ *  - (심볼, 간격, 캔들 시작 시각) 단위로 중복 실행을 막습니다.
+ *  - 처리가 길어져 여러 마감을 지나친 경우 밀린 실행을 쌓지 않고 가장 최근 마감 한 번으로 합칩니다.
+ */
+@Component
+public class CandleCloseScheduler {
+
+	private static final Logger logger = Logger.getLogger(CandleCloseScheduler.class.getName());
+
+	/**
+	 * 캔들 마감 시 심볼마다 호출되는 작업
+	 */
+	@FunctionalInterface
+	public interface CandleCloseHandler {
+		void onClose(String symbol, String interval, long openTime) throws Exception;
+	}
+
+	/**
+	 * 캔들 마감 시 아직 처리하지 않은 심볼 전체를 한 번에 받는 작업 (심볼 간 조회를 묶어야 할 때 사용)
+	 */
+	@FunctionalInterface
+	public interface CandleCloseBatchHandler {
+		void onClose(List<String> symbols, String interval, long openTime) throws Exception;
+	}
+
+	private static final class Subscription {
+		private final String interval;
+		private final long intervalMillis;
+		private final Supplier<Collection<String>> symbols;
+		private final CandleCloseBatchHandler handler;
+		// 마지막으로 처리한 마감 캔들의 시작 시각
+		private long lastClosedOpenTime;
+
+		private Subscription(String interval, Supplier<Collection<String>> symbols, CandleCloseBatchHandler handler,
+			  long lastClosedOpenTime) {
+			this.interval = interval;
+			this.intervalMillis = intervalMillis(interval);
+			this.symbols = symbols;
+			this.handler = handler;
+			this.lastClosedOpenTime = lastClosedOpenTime;
+		}
+	}
+
+	private final LongSupplier clock;
+	private final long closeDelayMillis;
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+	// "심볼|간격" → 마지막으로 실행한 캔들 시작 시각
+	private final ConcurrentMap<String, Long> lastFired = new ConcurrentHashMap<>();
+	private final AtomicLong overrunCount = new AtomicLong();
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "candle-close-scheduler");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private ScheduledFuture<?> next;
+
+	@Autowired
+	public CandleCloseScheduler(BinanceProperties props, BinanceApiHelper apiHelper) {
+		this(() -> {
+			try {
+				return apiHelper.currentTimestamp();
+			} catch (RuntimeException e) {
+				// 서버 시간 조회 실패 시 로컬 시각으로 계산하고, 다음 호출에서 다시 동기화
+				return System.currentTimeMillis();
+			}
+		}, props.getSchedule().getCloseDelayMillis());
+	}
+
+	CandleCloseScheduler(LongSupplier clock, long closeDelayMillis) {
+		this.clock = clock;
+		this.closeDelayMillis = closeDelayMillis;
+	}
+
+	/**
+	 * 간격별 캔들 마감마다 symbols 의 각 심볼에 대해 handler 를 실행하도록 등록합니다.
+	 * 등록 시점 이후에 마감되는 캔들부터 실행됩니다.
+	 *
+	 * @param interval Binance 캔들 간격 (예: "1m", "15m", "1h", "1d")
+	 * @param symbols  실행할 때마다 조회할 심볼 목록
+	 * @param handler  심볼별 작업
+	 */
+	public void subscribe(String interval, Supplier<Collection<String>> symbols, CandleCloseHandler handler) {
+		subscribeBatch(interval, symbols, (fresh, i, openTime) -> {
+			for (String symbol : fresh) {
+				try {
+					handler.onClose(symbol, i, openTime);
+				} catch (Exception e) {
+					logger.warning("🔴 캔들 마감 작업 실패 [" + symbol + " " + i + "]: " + e.getMessage());
+				}
+			}
+		});
+	}
+
+	/**
+	 * subscribe 와 같지만, 중복을 제외한 심볼 목록 전체로 handler 를 한 번 실행합니다.
+	 */
+	public void subscribeBatch(String interval, Supplier<Collection<String>> symbols, CandleCloseBatchHandler handler) {
+		long ms = intervalMillis(interval);
+		long now = clock.getAsLong();
+		subscriptions.add(new Subscription(interval, symbols, handler, lastClosedOpenTime(now, ms)));
+		reschedule(now);
+	}
+
+	/**
+	 * 처리 지연으로 두 개 이상의 마감을 하나로 합친 횟수
+	 */
+	public long getOverrunCount() {
+		return overrunCount.get();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * 마감된 캔들이 있는 구독을 실행하고 다음 마감 시각으로 다시 예약합니다.
+	 * 단일 스레드에서만 호출되므로 실행이 겹치지 않습니다.
+	 */
+	void tick() {
+		try {
+			for (Subscription sub : subscriptions) {
+				long closedOpenTime = lastClosedOpenTime(clock.getAsLong(), sub.intervalMillis);
+				if (closedOpenTime <= sub.lastClosedOpenTime) {
+					continue;
+				}
+
+				long skipped = (closedOpenTime - sub.lastClosedOpenTime) / sub.intervalMillis - 1;
+				if (skipped > 0) {
+					overrunCount.incrementAndGet();
+					logger.warning("⏱️ 캔들 마감 처리 지연 [" + sub.interval + "]: "
+						  + skipped + "개 마감을 건너뛰고 최근 마감만 처리");
+				}
+				sub.lastClosedOpenTime = closedOpenTime;
+				fire(sub, closedOpenTime);
+			}
+		} finally {
+			reschedule(clock.getAsLong());
+		}
+	}
+
+	private void fire(Subscription sub, long openTime) {
+		List<String> fresh = new ArrayList<>();
+		for (String symbol : sub.symbols.get()) {
+			if (markFired(symbol, sub.interval, openTime)) {
+				fresh.add(symbol);
+			}
+		}
+		if (fresh.isEmpty()) {
+			return;
+		}
+		try {
+			sub.handler.onClose(fresh, sub.interval, openTime);
+		} catch (Exception e) {
+			logger.warning("🔴 캔들 마감 작업 실패 [" + sub.interval + "]: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 같은 (심볼, 간격, 캔들) 조합은 한 번만 통과시킵니다.
+	 */
+	boolean markFired(String symbol, String interval, long openTime) {
+		boolean[] fresh = new boolean[1];
+		lastFired.compute(symbol + "|" + interval, (k, previous) -> {
+			if (previous != null && previous >= openTime) {
+				return previous;
+			}
+			fresh[0] = true;
+			return openTime;
+		});
+		return fresh[0];
+	}
+
+	private synchronized void reschedule(long now) {
+		if (executor.isShutdown() || subscriptions.isEmpty()) {
+			return;
+		}
+		long fireAt = Long.MAX_VALUE;
+		for (Subscription sub : subscriptions) {
+			long nextClose = lastClosedOpenTime(now, sub.intervalMillis) + 2 * sub.intervalMillis;
+			fireAt = Math.min(fireAt, nextClose + closeDelayMillis);
+		}
+
+		if (next != null) {
+			next.cancel(false);
+		}
+		next = executor.schedule(this::tick, Math.max(0, fireAt - now), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * now 시점에 (마감 대기 시간까지 지나) 처리 가능한 가장 최근 마감 캔들의 시작 시각
+	 */
+	private long lastClosedOpenTime(long now, long intervalMillis) {
+		long currentOpenTime = Math.floorDiv(now - closeDelayMillis, intervalMillis) * intervalMillis;
+		return currentOpenTime - intervalMillis;
+	}
+
+	/**
+	 * Binance 캔들 간격 문자열을 ms 로 변환합니다. (주봉 / 월봉은 UTC 정렬 기준이 달라 지원하지 않음)
+	 */
+	public static long intervalMillis(String interval) {
+		long unit = switch (interval.charAt(interval.length() - 1)) {
+			case 'm' -> 60_000L;
+			case 'h' -> 3_600_000L;
+			case 'd' -> 86_400_000L;
+			default -> throw new RuntimeException("지원하지 않는 캔들 간격: " + interval);
+		};
+		return Long.parseLong(interval.substring(0, interval.length() - 1)) * unit;
+	}
+}
@@ -0,0 +1,337 @@
+package com.trade.copy.binance.schedule;
+
+import com.trade.copy.binance.bracket.BracketOrderManager;
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.orderbook.OrderBookManager;
+import com.trade.copy.binance.service.AutoTradeStrategyService;
+import com.trade.copy.binance.util.Calculator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 보유 포지션별로 점검 주기를 달리하는 적응형 익절 폴러
+ *  - 포지션 목록은 positionRisk 로 주기적으로 갱신하고, 포지션마다 ATR(기본 15분봉 14개)을 캔들 간격마다 다시 계산합니다.
+ *  - 목표가까지 남은 거리를 ATR 로 나눈 값의 제곱을 목표가 도달 예상 캔들 수로 보고(랜덤워크 가정),
+ *    그 예상 시간의 check-fraction 만큼을 다음 점검 간격으로 잡습니다. (min ~ max-check-millis 범위)
+ *  - 점검은 로컬 오더북이 있으면 요청 없이, 없으면 premiumIndex(가중치 1)를 캐시 없이 직접 조회해 가격을 확인하며,
+ *    분당 가중치 예산이 모자라면 점검 간격이 가장 짧은(목표가에 가장 가까운) 포지션부터 처리합니다.
+ *  - 목표가를 넘으면 AutoTradeStrategyService.takeProfit 으로 다시 확인 후 청산합니다.
+ *  - 보호 주문이 걸린 포지션은 거래소가 처리하므로 추적하지 않습니다.
+ */
+@Component
+public class TakeProfitPoller {
+
+	private static final Logger logger = Logger.getLogger(TakeProfitPoller.class.getName());
+
+	private static final int POSITION_RISK_WEIGHT = 5;
+	private static final int PREMIUM_INDEX_WEIGHT = 1;
+	private static final int KLINES_WEIGHT = 1;
+	// 익절 실행 시 positionRisk + 주문 취소 + 청산 주문
+	private static final int TAKE_PROFIT_WEIGHT = POSITION_RISK_WEIGHT + 2;
+
+	/**
+	 * 추적 중인 포지션
+	 */
+	static final class Tracked {
+		final String symbol;
+		final String positionSide;
+		volatile double amount;
+		volatile double entryPrice;
+		volatile double targetPrice;
+		volatile double atr;
+		volatile long atrUpdatedAt;
+		volatile long checkInterval;
+		volatile long nextCheckAt;
+		volatile boolean inFlight;
+
+		Tracked(String symbol, String positionSide) {
+			this.symbol = symbol;
+			this.positionSide = positionSide;
+		}
+
+		boolean isLong() {
+			return amount > 0;
+		}
+
+		String closeSide() {
+			return isLong() ? "SELL" : "BUY";
+		}
+	}
+
+	private final BinanceProperties props;
+	private final BinanceApiHelper apiHelper;
+	private final OrderBookManager orderBookManager;
+	private final BracketOrderManager bracketOrderManager;
+	private final AutoTradeStrategyService strategyService;
+	private final LongSupplier clock;
+
+	// "심볼|positionSide" → 추적 상태
+	private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "take-profit-poller");
+		t.setDaemon(true);
+		return t;
+	});
+	private final ExecutorService checkExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+	private double tokens;
+	private long lastRefill;
+	private long lastPositionRefresh;
+
+	@Autowired
+	public TakeProfitPoller(BinanceProperties props, BinanceApiHelper apiHelper, OrderBookManager orderBookManager,
+		  BracketOrderManager bracketOrderManager, AutoTradeStrategyService strategyService) {
+		this(props, apiHelper, orderBookManager, bracketOrderManager, strategyService, System::currentTimeMillis);
+	}
+
+	TakeProfitPoller(BinanceProperties props, BinanceApiHelper apiHelper, OrderBookManager orderBookManager,
+		  BracketOrderManager bracketOrderManager, AutoTradeStrategyService strategyService, LongSupplier clock) {
+		this.props = props;
+		this.apiHelper = apiHelper;
+		this.orderBookManager = orderBookManager;
+		this.bracketOrderManager = bracketOrderManager;
+		this.strategyService = strategyService;
+		this.clock = clock;
+		this.lastRefill = clock.getAsLong();
+		this.tokens = capacity();
+	}
+
+	@PostConstruct
+	public void start() {
+		if (isEnabled()) {
+			long tick = props.getTakeProfit().getTickMillis();
+			scheduler.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+		checkExecutor.shutdownNow();
+	}
+
+	public boolean isEnabled() {
+		return props.getTakeProfit().isAdaptive();
+	}
+
+	/**
+	 * 현재 추적 중인 포지션의 점검 간격 (ms). key: "심볼|positionSide"
+	 */
+	public Map<String, Long> getCheckIntervals() {
+		Map<String, Long> result = new ConcurrentHashMap<>();
+		tracked.forEach((key, t) -> result.put(key, t.checkInterval));
+		return result;
+	}
+
+	/**
+	 * 예산 안에서 포지션 목록 갱신, ATR 갱신, 가격 점검을 차례로 수행합니다.
+	 */
+	void tick() {
+		try {
+			long now = clock.getAsLong();
+			BinanceProperties.TakeProfit cfg = props.getTakeProfit();
+
+			if (now - lastPositionRefresh >= cfg.getPositionRefreshMillis() && tryAcquire(POSITION_RISK_WEIGHT, now)) {
+				lastPositionRefresh = now;
+				refreshPositions(now);
+			}
+
+			List<Tracked> due = new ArrayList<>();
+			for (Tracked t : tracked.values()) {
+				if (!t.inFlight && t.nextCheckAt <= now) {
+					due.add(t);
+				}
+			}
+			// 점검 간격이 짧은(목표가 도달 가능성이 높은) 포지션부터 예산 사용
+			due.sort(Comparator.comparingLong(t -> t.checkInterval));
+
+			long atrIntervalMillis = CandleCloseScheduler.intervalMillis(cfg.getAtrInterval());
+			for (Tracked t : due) {
+				if (now - t.atrUpdatedAt >= atrIntervalMillis && tryAcquire(KLINES_WEIGHT, now)) {
+					t.atrUpdatedAt = now;
+					checkExecutor.execute(() -> refreshAtr(t));
+				}
+
+				OptionalDouble local = orderBookManager.estimateFillPrice(t.symbol, t.closeSide(), Math.abs(t.amount));
+				if (local.isPresent()) {
+					evaluate(t, local.getAsDouble(), now);
+				}
+				else if (tryAcquire(PREMIUM_INDEX_WEIGHT, now)) {
+					t.inFlight = true;
+					checkExecutor.execute(() -> checkMarkPrice(t));
+				}
+				else {
+					// 예산 소진: 남은 포지션은 다음 틱에 우선순위대로 처리
+					break;
+				}
+			}
+		} catch (Exception e) {
+			logger.warning("🔴 익절 폴링 실패: " + e.getMessage());
+		}
+	}
+
+	private void refreshPositions(long now) throws Exception {
+		JSONArray arr = new JSONArray(apiHelper.sendGetRequest("/fapi/v3/positionRisk", Collections.emptyMap()));
+		Set<String> alive = new HashSet<>();
+
+		for (int i = 0; i < arr.length(); i++) {
+			JSONObject pos = arr.getJSONObject(i);
+			double amt = Double.parseDouble(pos.getString("positionAmt"));
+			String symbol = pos.getString("symbol");
+			if (amt == 0 || bracketOrderManager.isProtected(symbol)) continue;
+
+			String positionSide = pos.optString("positionSide", "BOTH");
+			alive.add(symbol + "|" + positionSide);
+
+			Tracked t = track(symbol, positionSide);
+			t.amount = amt;
+			t.entryPrice = Double.parseDouble(pos.getString("entryPrice"));
+			t.targetPrice = Calculator.profitTargetPrice(
+				  t.entryPrice, props.getTargetProfitPercent(), props.getCommissionRate(), amt > 0);
+
+			// 응답에 포함된 마크 가격으로 추가 요청 없이 한 번 점검
+			if (!t.inFlight) {
+				evaluate(t, Double.parseDouble(pos.getString("markPrice")), now);
+			}
+		}
+		tracked.keySet().retainAll(alive);
+	}
+
+	/**
+	 * 추적 상태를 찾고, 없으면 새로 등록합니다.
+	 */
+	Tracked track(String symbol, String positionSide) {
+		return tracked.computeIfAbsent(symbol + "|" + positionSide, k -> new Tracked(symbol, positionSide));
+	}
+
+	private void refreshAtr(Tracked t) {
+		try {
+			BinanceProperties.TakeProfit cfg = props.getTakeProfit();
+			Map<String, String> params = Map.of(
+				  "symbol", t.symbol,
+				  "interval", cfg.getAtrInterval(),
+				  "limit", String.valueOf(cfg.getAtrPeriod() + 2));
+			JSONArray rows = new JSONArray(apiHelper.sendPublicGetRequest("/fapi/v1/klines", params));
+
+			// 마지막(진행 중) 캔들 제외
+			List<Double> highs = new ArrayList<>();
+			List<Double> lows = new ArrayList<>();
+			List<Double> closes = new ArrayList<>();
+			for (int i = 0; i < rows.length() - 1; i++) {
+				JSONArray row = rows.getJSONArray(i);
+				highs.add(Double.parseDouble(row.getString(2)));
+				lows.add(Double.parseDouble(row.getString(3)));
+				closes.add(Double.parseDouble(row.getString(4)));
+			}
+			if (closes.size() > cfg.getAtrPeriod()) {
+				t.atr = Calculator.calculateAtr(highs, lows, closes, cfg.getAtrPeriod());
+			}
+		} catch (Exception e) {
+			// 다음 점검 때 다시 시도
+			t.atrUpdatedAt = 0;
+			logger.warning("🔴 ATR 조회 실패 [" + t.symbol + "]: " + e.getMessage());
+		}
+	}
+
+	private void checkMarkPrice(Tracked t) {
+		try {
+			// 조회 캐시(1초)를 거치면 목표가 근처의 짧은 점검 간격에서 같은 가격을 다시 읽으므로 공개 API 로 직접 조회
+			String res = apiHelper.sendPublicGetRequest("/fapi/v1/premiumIndex", Map.of("symbol", t.symbol));
+			evaluate(t, new JSONObject(res).getDouble("markPrice"), clock.getAsLong());
+		} catch (Exception e) {
+			logger.warning("🔴 익절 점검 실패 [" + t.symbol + "]: " + e.getMessage());
+			t.nextCheckAt = clock.getAsLong() + props.getTakeProfit().getMinCheckMillis();
+		} finally {
+			t.inFlight = false;
+		}
+	}
+
+	/**
+	 * 가격이 목표가를 넘었으면 익절을 실행하고, 아니면 남은 거리와 ATR 로 다음 점검 시각을 정합니다.
+	 */
+	private void evaluate(Tracked t, double price, long now) {
+		BinanceProperties.TakeProfit cfg = props.getTakeProfit();
+		boolean reached = t.isLong() ? price >= t.targetPrice : price <= t.targetPrice;
+
+		if (reached) {
+			t.inFlight = true;
+			t.checkInterval = cfg.getMinCheckMillis();
+			t.nextCheckAt = now + cfg.getMinCheckMillis();
+			charge(TAKE_PROFIT_WEIGHT);
+			strategyService.takeProfit(t.symbol).whenComplete((result, e) -> {
+				if (e != null) {
+					logger.warning("🔴 익절 실패 [" + t.symbol + "]: " + e.getMessage());
+				}
+				t.inFlight = false;
+			});
+			return;
+		}
+
+		long delay = checkDelayMillis(Math.abs(t.targetPrice - price), t.atr,
+			  CandleCloseScheduler.intervalMillis(cfg.getAtrInterval()), cfg);
+		t.checkInterval = delay;
+		t.nextCheckAt = now + delay;
+	}
+
+	/**
+	 * 다음 점검까지의 간격
+	 *  - 랜덤워크 가정으로 거리 d 를 움직이는 데 걸리는 캔들 수 ≈ (d / ATR)²
+	 *  - 그 예상 시간의 checkFraction 배를 min ~ max 로 제한
+	 *  - ATR 을 아직 모르면 최소 간격
+	 *
+	 * @param distance          목표가까지 남은 가격 차이
+	 * @param atr               캔들 하나의 평균 변동폭
+	 * @param atrIntervalMillis ATR 캔들 간격 (ms)
+	 */
+	static long checkDelayMillis(double distance, double atr, long atrIntervalMillis,
+		  BinanceProperties.TakeProfit cfg) {
+		if (atr <= 0) {
+			return cfg.getMinCheckMillis();
+		}
+		double candles = Math.pow(distance / atr, 2);
+		double delay = candles * atrIntervalMillis * cfg.getCheckFraction();
+		return (long) Math.max(cfg.getMinCheckMillis(), Math.min(cfg.getMaxCheckMillis(), delay));
+	}
+
+	// ---------------------------------------------------------------------
+	// 가중치 예산 (토큰 버킷: 분당 weight-per-minute, 최대 15초치 누적)
+	// ---------------------------------------------------------------------
+
+	synchronized boolean tryAcquire(int weight, long now) {
+		tokens = Math.min(capacity(), tokens + (now - lastRefill) * props.getTakeProfit().getWeightPerMinute() / 60_000.0);
+		lastRefill = now;
+		if (tokens < weight) {
+			return false;
+		}
+		tokens -= weight;
+		return true;
+	}
+
+	private synchronized void charge(int weight) {
+		tokens -= weight;
+	}
+
+	private double capacity() {
+		return props.getTakeProfit().getWeightPerMinute() / 4.0;
+	}
+}
@@ -1,7 +1,12 @@
 package com.trade.copy.binance.service;
 
+import com.trade.copy.binance.bracket.BracketOrderManager;
 import com.trade.copy.binance.dto.ProfitEvaluationResult;
+import com.trade.copy.binance.lane.SymbolLanes;
+import com.trade.copy.binance.strategy.Signal;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -9,33 +14,33 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AutoTradeStrategyService {
 
+	private static final Logger logger = Logger.getLogger(AutoTradeStrategyService.class.getName());
+
 	private final BinanceFutureTradeService binanceService;
+	private final BracketOrderManager bracketOrderManager;
+	private final SymbolLanes lanes;
 
 	/**
-	 * 현재 포지션이 없는 경우, RSI 진입 조건을 평가하여
-	 * 조건을 만족하면 시장가로 BUY 포지션을 오픈합니다.
-	 * 진입 조건:
-	 * - 포지션이 없는 상태
-	 * - RSI가 30 미만이면서 최근 저점이 이전 저점보다 높을 경우
+	 * 전략 엔진이 선택한 진입 신호를 시장가 주문으로 실행합니다.
+	 * 진입 조건(포지션 보유 여부 포함)은 각 Strategy 가 스냅샷으로 이미 판단했습니다.
+	 * 같은 심볼의 익절 / 청산과 겹치지 않도록 심볼 레인에서 순서대로 실행됩니다.
 	 *
-	 * @param symbol 거래 페어 (예: "BTCUSDT")
-	 * @throws Exception API 호출 또는 내부 로직 처리 중 오류가 발생한 경우
+	 * @param signal 심볼당 하나로 합쳐진 진입 신호
+	 * @return 주문 완료 시 완료되는 future. API 호출 또는 내부 로직 오류는 예외로 완료
 	 */
-	public void setPosition(String symbol) throws Exception {
-		// 1. 현재 포지션 확인
-		boolean hasPosition = binanceService.hasOpenPosition(symbol);
-		if (hasPosition) return;
-
-		// 2. 포지션 없으면 RSI 진입 조건 체크
-		boolean shouldEnter = binanceService.evaluateRsiEntry(symbol);
-		if (shouldEnter) {
-			binanceService.openMarketPosition(symbol, "BUY", null);
-		}
+	public CompletableFuture<Void> enter(Signal signal) {
+		return lanes.submit(signal.symbol(), "enter", () -> {
+			logger.info("📈 진입 신호 [" + signal.symbol() + "] " + signal.strategy() + ": " + signal.reason());
+			binanceService.openMarketPosition(signal.symbol(), signal.side(), null);
+			return null;
+		});
 	}
 
 	/**
 	 * 보유 중인 포지션에 대해 익절 조건을 평가하고,
 	 * 조건을 만족하는 경우 시장가로 포지션을 청산합니다.
+	 * 거래소 보호 주문(익절 / 손절)이 걸린 심볼은 거래소가 청산을 처리하므로 조회하지 않습니다.
+	 * 같은 심볼의 진입과 겹치지 않도록 심볼 레인에서 순서대로 실행됩니다.
 	 * 실행 절차:
 	 * 1. 포지션 보유 여부 확인
 	 * 2. 익절 조건 평가 (목표 수익률, 수수료, 슬리피지 고려)
@@ -44,9 +49,18 @@ public class AutoTradeStrategyService {
 	 * - 현재 포지션 시장가로 청산
 	 *
 	 * @param symbol 거래 페어 (예: "BTCUSDT")
-	 * @throws Exception API 호출 또는 내부 로직 처리 중 오류가 발생한 경우
+	 * @return 평가 / 청산 완료 시 완료되는 future. API 호출 또는 내부 로직 오류는 예외로 완료
 	 */
-	public void takeProfit(String symbol) throws Exception {
+	public CompletableFuture<Void> takeProfit(String symbol) {
+		return lanes.submit(symbol, "take-profit", () -> {
+			evaluateAndClose(symbol);
+			return null;
+		});
+	}
+
+	private void evaluateAndClose(String symbol) throws Exception {
+		if (bracketOrderManager.isProtected(symbol)) return;
+
 		// 1. 현재 포지션 보유 여부 확인
 		boolean hasPosition = binanceService.hasOpenPosition(symbol);
 
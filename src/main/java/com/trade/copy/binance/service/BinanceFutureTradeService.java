@@ -1,15 +1,18 @@
 package com.trade.copy.binance.service;
 
+import com.trade.copy.binance.bracket.BracketOrderManager;
 import com.trade.copy.binance.cache.ExchangeInfoCache;
 import com.trade.copy.binance.cache.ExchangeInfoCache.SymbolFilterInfo;
 import com.trade.copy.binance.config.BinanceProperties;
 import com.trade.copy.binance.dto.ProfitEvaluationResult;
+import com.trade.copy.binance.gateway.OrderGateway;
 import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.orderbook.OrderBookManager;
+import com.trade.copy.binance.risk.RiskEngine;
 import com.trade.copy.binance.util.Calculator;
 import com.trade.copy.binance.util.TelegramMessageSender;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.URI;
 import java.util.*;
 import java.util.logging.Logger;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +31,10 @@ public class BinanceFutureTradeService {
 	private final BinanceProperties props;
 	private final ExchangeInfoCache exchangeInfoCache;
 	private final TelegramMessageSender telegram;
+	private final OrderBookManager orderBookManager;
+	private final OrderGateway orderGateway;
+	private final BracketOrderManager bracketOrderManager;
+	private final RiskEngine riskEngine;
 
 	/**
 	 * 지정된 심볼에 대한 모든 미체결 주문을 취소합니다.
@@ -79,7 +86,8 @@ public class BinanceFutureTradeService {
 
 	/**
 	 * 지정된 심볼에 대해 현재 보유 중인 포지션의 익절 조건을 평가합니다.
-	 * 진입가, 현재가, 목표 수익률, 수수료, 슬리피지를 기준으로 익절 여부를 계산합니다.
+	 * 진입가, 목표 수익률, 수수료로 목표가를 계산하고, 로컬 오더북 기준 예상 청산 체결가(슬리피지 반영)와 비교합니다.
+	 * 오더북이 동기화되지 않은 경우 마크 가격과 비교합니다.
 	 * 조건을 만족할 경우 Telegram으로 알림을 전송하고, 포지션 방향(LONG/SHORT) 및 관련 정보가 포함된 결과 객체를 반환합니다.
 	 * 포지션이 없거나 조건에 맞지 않는 경우 빈 Optional을 반환합니다.
 	 *
@@ -106,32 +114,36 @@ public class BinanceFutureTradeService {
 			double entryPrice = Double.parseDouble(pos.getString("entryPrice"));
 			double markPrice = Double.parseDouble(pos.getString("markPrice"));
 
-			// 수수료율, 목표 퍼센트, 슬리피지 버퍼는 props에서 가져오도록 변경
+			// 수수료율, 목표 퍼센트는 props에서 가져오도록 변경
 			double commissionRate = props.getCommissionRate();         // 예: 0.001 (0.1%)
 			double targetProfitPercent = props.getTargetProfitPercent(); // 예: 0.004 (0.4%)
-			double slippageBuffer = entryPrice * commissionRate * 2.0;
 
 			boolean isLong = amt > 0;
-			double profitTargetPrice = entryPrice * (1 + targetProfitPercent) + slippageBuffer;
-			double shortTargetPrice = entryPrice * (1 - targetProfitPercent) - slippageBuffer;
+			double profitTargetPrice = Calculator.profitTargetPrice(entryPrice, targetProfitPercent, commissionRate, true);
+			double shortTargetPrice = Calculator.profitTargetPrice(entryPrice, targetProfitPercent, commissionRate, false);
+
+			// 청산 방향으로 보유 수량을 소진했을 때의 예상 체결가 (오더북 미동기화 시 마크 가격)
+			double exitPrice = orderBookManager
+				  .estimateFillPrice(symbol, isLong ? "SELL" : "BUY", Math.abs(amt))
+				  .orElse(markPrice);
 
 			boolean shouldTakeProfit = isLong
-				  ? markPrice >= profitTargetPrice
-				  : markPrice <= shortTargetPrice;
+				  ? exitPrice >= profitTargetPrice
+				  : exitPrice <= shortTargetPrice;
 
 			double targetPrice = isLong ? profitTargetPrice : shortTargetPrice;
 			String side = isLong ? "LONG" : "SHORT";
 
 			if (shouldTakeProfit) {
 				String msg = String.format(
-					  "💰 익절 조건 충족: %s\n진입가: %.4f\n현재가: %.4f\n목표 익절가: %.4f",
-					  symbol, entryPrice, markPrice, targetPrice
+					  "💰 익절 조건 충족: %s\n진입가: %.4f\n현재가: %.4f\n예상 체결가: %.4f\n목표 익절가: %.4f",
+					  symbol, entryPrice, markPrice, exitPrice, targetPrice
 				);
 				telegram.sendMessage(msg);
 			}
 
 			return Optional.of(new ProfitEvaluationResult(
-				  shouldTakeProfit, side, entryPrice, markPrice, targetPrice
+				  shouldTakeProfit, side, entryPrice, markPrice, exitPrice, targetPrice
 			));
 		}
 
@@ -151,8 +163,7 @@ public class BinanceFutureTradeService {
 	 */
 	public void closePositionMarket(String symbol, String side) throws Exception {
 		// 1. 포지션 목록 조회 (헷징 모드이므로 LONG/SHORT 따로 있음)
-		String response =
-			  apiHelper.sendGetRequest("/fapi/v2/positionRisk", Map.of("symbol", symbol));
+		String response = orderGateway.getPositions(symbol);
 		JSONArray positions = new JSONArray(response);
 
 		for (int i = 0; i < positions.length(); i++) {
@@ -176,105 +187,44 @@ public class BinanceFutureTradeService {
 			orderParams.put("quantity", quantity.toPlainString());
 			orderParams.put("positionSide", positionSide);
 
-			apiHelper.sendPostRequest("/fapi/v1/order", orderParams);
+			orderGateway.placeOrder(orderParams);
 			System.out.println(
 				  "✅ 포지션 청산 완료: " + symbol + " / " + positionSide + " / 수량 " + quantity);
 		}
 	}
 
-	/**
-	 * RSI 진입 조건을 평가합니다.
-	 * 지정된 심볼의 15분봉 캔들 데이터를 Binance API에서 조회한 뒤,
-	 * 최근 15개의 완료된 종가 데이터를 기반으로 RSI(14)를 계산합니다.
-	 * 조건은 다음 두 가지를 모두 만족해야 합니다:
-	 * 1. RSI가 30 미만
-	 * 2. 최근 봉의 저가가 이전 봉의 저가보다 높은 경우
-	 * 위 조건을 만족할 경우 진입 조건이 성립한 것으로 판단하여 true를 반환합니다.
-	 *
-	 * @param symbol 평가할 거래 페어 (예: "BTCUSDT")
-	 * @return 진입 조건을 만족하면 true, 그렇지 않으면 false
-	 * @throws Exception API 호출 또는 응답 파싱 중 오류가 발생한 경우
-	 */
-	public boolean evaluateRsiEntry(String symbol) throws Exception {
-		String url = String.format("%s/fapi/v1/klines?symbol=%s&interval=15m&limit=16",
-			  props.getBaseUrl(), symbol);
-
-		java.net.http.HttpRequest request = java.net.http.HttpRequest.newBuilder()
-			  .uri(URI.create(url))
-			  .GET()
-			  .build();
-
-		java.net.http.HttpClient client = java.net.http.HttpClient.newHttpClient();
-		java.net.http.HttpResponse<String> response =
-			  client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
-
-		if (response.statusCode() != 200) {
-			throw new RuntimeException("캔들 조회 실패: " + response.body());
-		}
-
-		String resBody = response.body();
-		if (resBody == null || resBody.isBlank()) {
-			return false;
-		}
-
-		JSONArray arr = new JSONArray(resBody);
-		if (arr.length() < 2) {
-			return false;
-		}
-
-		// 종가 리스트 (완료된 15개 봉)
-		List<Double> closes = new ArrayList<>();
-		for (int i = 0; i < arr.length() - 1; i++) {
-			JSONArray candle = arr.getJSONArray(i);
-			double closePrice = Double.parseDouble(candle.getString(4));
-			closes.add(closePrice);
-		}
-		double rsi = Calculator.calculateRsi(closes, 14);
-
-		// 저가 비교 (arr.length()-3 = 인덱스 13, arr.length()-2 = 인덱스 14)
-		double prevLow = Double.parseDouble(arr.getJSONArray(arr.length() - 3).getString(3));
-		double latestClosedLow =
-			  Double.parseDouble(arr.getJSONArray(arr.length() - 2).getString(3));
-
-		boolean lowCondition = latestClosedLow > prevLow;
-		return (rsi < 30) && lowCondition;
-	}
-
 	/**
 	 * 지정된 심볼에 대해 시장가 포지션을 오픈합니다.
 	 * 지정된 거래 페어(symbol)와 주문 방향(side: BUY 또는 SELL)을 기반으로 시장가 주문을 실행합니다.
 	 * 수량(quantity)이 지정되지 않은 경우, MIN_NOTIONAL 기준으로 수량을 계산하여 주문을 생성합니다.
 	 * 실행 전 다음과 같은 절차를 수행합니다:
-	 * 1. 지정된 심볼에 대해 레버리지 설정
-	 * 2. 수량이 비어 있을 경우:
-	 * - 현재 마크 가격 조회
+	 * 1. 현재 마크 가격 조회 후, 수량이 비어 있을 경우:
 	 * - 캐시에서 심볼의 최소 주문 금액 및 수량 소수점 자릿수 정보 조회
 	 * - 최소 주문 금액(MIN_NOTIONAL)의 1.05배에 해당하는 수량 계산
-	 * 3. 현재 계정이 헷지 모드(dual position mode)인지 확인하고, 포지션 방향(LONG/SHORT)을 설정
-	 * 4. 시장가 주문 전송 후, 주문 내용을 텔레그램으로 전송
+	 *   (로컬 오더북이 동기화되어 있으면 마크 가격 대신 해당 수량의 예상 체결가 기준)
+	 * 2. RiskEngine 으로 명목가 / 증거금 / 미체결 주문 수 / 당일 손실 한도 점검 (초과 시 수량 축소 또는 거부)
+	 * 3. 지정된 심볼에 대해 레버리지 설정
+	 * 4. 현재 계정이 헷지 모드(dual position mode)인지 확인하고, 포지션 방향(LONG/SHORT)을 설정
+	 * 5. 시장가 주문 전송 후, 주문 내용을 텔레그램으로 전송
+	 * 6. 보호 주문(bracket)이 켜져 있으면 체결가 기준 목표가에 TAKE_PROFIT_MARKET(+ STOP_MARKET) 주문 등록
 	 *
 	 * @param symbol   거래 페어 (예: "BTCUSDT")
 	 * @param side     주문 방향 ("BUY" 또는 "SELL")
 	 * @param quantity 주문 수량. null 또는 빈 문자열인 경우 자동 계산됨
-	 * @throws Exception Binance API 호출 또는 내부 계산 중 오류가 발생한 경우
+	 * @throws Exception Binance API 호출 또는 내부 계산 중 오류가 발생하거나 리스크 한도로 거부된 경우
 	 */
 	public void openMarketPosition(String symbol, String side, String quantity) throws Exception {
-		// 레버리지 설정
-		Map<String, String> leverageParams = new HashMap<>();
-		leverageParams.put("symbol", symbol);
-		leverageParams.put("leverage", String.valueOf(props.getDefaultLeverage()));
-		apiHelper.sendPostRequest("/fapi/v1/leverage", leverageParams);
+		// 현재 마크 가격 조회 (수량 계산 / 리스크 점검 기준가)
+		Map<String, String> markParams = new HashMap<>();
+		markParams.put("symbol", symbol);
+		String markRes = apiHelper.sendGetRequest("/fapi/v1/premiumIndex", markParams);
+		double markPrice = new JSONObject(markRes).getDouble("markPrice");
+		double referencePrice = markPrice;
 
 		// quantity 파라미터가 null 또는 빈 문자열인 경우, MIN_NOTIONAL 기준 계산
 		String finalQuantity = quantity;
 		if (finalQuantity == null || finalQuantity.isBlank()) {
-			// 2-1) 현재 마크 가격 조회
-			Map<String, String> markParams = new HashMap<>();
-			markParams.put("symbol", symbol);
-			String markRes = apiHelper.sendGetRequest("/fapi/v1/premiumIndex", markParams);
-			double markPrice = new JSONObject(markRes).getDouble("markPrice");
-
-			// 2-2) In-Memory 캐시에서 해당 심볼 정보 조회
+			// In-Memory 캐시에서 해당 심볼 정보 조회
 			SymbolFilterInfo sInfo = exchangeInfoCache.getSymbolInfo(symbol);
 			if (sInfo == null) {
 				throw new RuntimeException("캐시에 심볼 정보가 없습니다: " + symbol);
@@ -283,34 +233,77 @@ public class BinanceFutureTradeService {
 			int quantityPrecision = sInfo.getLotSizePrecision();
 
 			double targetNotional = minNotional * 1.05;
-			double rawQty = targetNotional / markPrice * 1000;
+			double markQty = targetNotional / markPrice * 1000;
+			double fillPrice = orderBookManager.estimateFillPrice(symbol, side, markQty).orElse(markPrice);
+			double rawQty = targetNotional / fillPrice * 1000;
 			finalQuantity = new BigDecimal(rawQty)
 				  .setScale(quantityPrecision, RoundingMode.UP)
 				  .toPlainString();
+			referencePrice = fillPrice;
 		}
 
-		// 헤지 모드 확인 후 포지션 사이드 설정
-		String dualRes =
-			  apiHelper.sendGetRequest("/fapi/v1/positionSide/dual", Collections.emptyMap());
-		boolean isHedgeMode = new JSONObject(dualRes).getBoolean("dualSidePosition");
-
-		Map<String, String> orderParams = new HashMap<>();
-		orderParams.put("symbol", symbol);
-		orderParams.put("side", side);
-		orderParams.put("type", "MARKET");
-		orderParams.put("quantity", finalQuantity);
-		if (isHedgeMode) {
-			String positionSide = side.equalsIgnoreCase("BUY") ? "LONG" : "SHORT";
-			orderParams.put("positionSide", positionSide);
+		// 리스크 한도 점검 (메모리 상태만 사용, 한도 초과분은 수량 축소)
+		String clientOrderId = RiskEngine.newClientOrderId();
+		RiskEngine.Decision decision =
+			  riskEngine.check(clientOrderId, symbol, new BigDecimal(finalQuantity), referencePrice);
+		if (!decision.approved()) {
+			telegram.sendMessage("⛔ 리스크 한도로 주문 거부: " + symbol + " " + side + "\n" + decision.reason());
+			throw new RuntimeException("리스크 한도로 주문 거부 [" + symbol + "]: " + decision.reason());
 		}
+		if (decision.reason() != null) {
+			logger.info("⚖️ " + symbol + " " + decision.reason());
+		}
+		finalQuantity = decision.quantity().toPlainString();
 
-		// 시장가 주문 전송
-		apiHelper.sendPostRequest("/fapi/v1/order", orderParams);
+		// 레버리지 설정
+		Map<String, String> leverageParams = new HashMap<>();
+		leverageParams.put("symbol", symbol);
+		leverageParams.put("leverage", String.valueOf(props.getDefaultLeverage()));
+		boolean isBuy = side.equalsIgnoreCase("BUY");
+		String positionSide;
+		String orderRes;
+		try {
+			apiHelper.sendPostRequest("/fapi/v1/leverage", leverageParams);
+
+			// 헤지 모드 확인 후 포지션 사이드 설정
+			String dualRes =
+				  apiHelper.sendGetRequest("/fapi/v1/positionSide/dual", Collections.emptyMap());
+			boolean isHedgeMode = new JSONObject(dualRes).getBoolean("dualSidePosition");
+			positionSide = isHedgeMode ? (isBuy ? "LONG" : "SHORT") : "BOTH";
+
+			Map<String, String> orderParams = new HashMap<>();
+			orderParams.put("symbol", symbol);
+			orderParams.put("side", side);
+			orderParams.put("type", "MARKET");
+			orderParams.put("quantity", finalQuantity);
+			// 체결 결과(avgPrice)를 바로 받아 보호 주문 목표가 계산에 사용
+			orderParams.put("newOrderRespType", "RESULT");
+			// 체결 / 거부 이벤트로 리스크 예약을 해제할 때 사용
+			orderParams.put("newClientOrderId", clientOrderId);
+			if (isHedgeMode) {
+				orderParams.put("positionSide", positionSide);
+			}
+
+			// 시장가 주문 전송 (설정된 주문 게이트웨이: REST 또는 WebSocket API)
+			orderRes = orderGateway.placeOrder(orderParams);
+		} catch (Exception e) {
+			riskEngine.release(clientOrderId);
+			throw e;
+		}
 
 		telegram.sendMessage(String.format(
 			  "🚀 시장가 주문 전송됨:\n심볼: %s\n방향: %s\n수량: %s\n레버리지: %dx",
 			  symbol, side, finalQuantity, props.getDefaultLeverage()
 		));
+
+		// 거래소 익절(+ 손절) 주문 등록
+		if (bracketOrderManager.isEnabled()) {
+			double entryPrice = new JSONObject(orderRes).optDouble("avgPrice", 0);
+			if (entryPrice <= 0) {
+				entryPrice = markPrice;
+			}
+			bracketOrderManager.protect(symbol, positionSide, isBuy ? "SELL" : "BUY", entryPrice);
+		}
 	}
 
 	/**
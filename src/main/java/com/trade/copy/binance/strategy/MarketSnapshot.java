@@ -0,0 +1,55 @@
+package com.trade.copy.binance.strategy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캔들 마감 시점 하나의 시세 / 포지션 스냅샷 (불변)
+ *  - 모든 전략이 같은 객체를 공유하며, 생성 이후 바뀌지 않습니다.
+ *
+ * @param time      스냅샷 기준 서버 시각 (ms)
+ * @param candles   "심볼|간격" → 시간순 마감 캔들
+ * @param positions 심볼 → 보유 포지션 (수량 0 인 포지션 제외)
+ */
+public record MarketSnapshot(long time, Map<String, List<Candle>> candles, Map<String, List<Position>> positions) {
+
+	/**
+	 * 마감된 캔들 하나
+	 */
+	public record Candle(long openTime, double open, double high, double low, double close, double volume,
+		  long closeTime) {
+	}
+
+	/**
+	 * 보유 포지션 하나
+	 *
+	 * @param positionSide LONG, SHORT, BOTH
+	 * @param amount       수량 (숏은 음수)
+	 */
+	public record Position(String symbol, String positionSide, double amount, double entryPrice, double markPrice) {
+	}
+
+	public MarketSnapshot {
+		candles = Map.copyOf(candles);
+		positions = Map.copyOf(positions);
+	}
+
+	/**
+	 * 시간순 마감 캔들. 조회하지 않은 조합이면 빈 목록
+	 */
+	public List<Candle> candles(String symbol, String interval) {
+		return candles.getOrDefault(key(symbol, interval), List.of());
+	}
+
+	public List<Position> positions(String symbol) {
+		return positions.getOrDefault(symbol, List.of());
+	}
+
+	public boolean hasPosition(String symbol) {
+		return !positions(symbol).isEmpty();
+	}
+
+	static String key(String symbol, String interval) {
+		return symbol + "|" + interval;
+	}
+}
@@ -0,0 +1,111 @@
+package com.trade.copy.binance.strategy;
+
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.strategy.MarketSnapshot.Candle;
+import com.trade.copy.binance.strategy.MarketSnapshot.Position;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import lombok.RequiredArgsConstructor;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전략 평가에 필요한 시세 / 포지션을 한 번에 조회해 MarketSnapshot 을 만듭니다.
+ *  - 포지션은 positionRisk 한 번으로 전체 심볼을 조회합니다.
+ *  - 캔들은 (심볼, 간격) 조합마다 전략들이 요구한 최대 개수로 한 번씩, 가상 스레드에서 동시에 조회합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MarketSnapshotLoader {
+
+	private static final Logger logger = Logger.getLogger(MarketSnapshotLoader.class.getName());
+
+	private final BinanceApiHelper apiHelper;
+
+	/**
+	 * @param time    스냅샷 기준 시각. 이 시각 이전에 마감된 캔들만 포함
+	 * @param lookups "심볼|간격" → 필요한 마감 캔들 개수
+	 */
+	public MarketSnapshot load(long time, Map<String, Integer> lookups) throws Exception {
+		Map<String, List<Candle>> candles = new ConcurrentHashMap<>();
+		Map<String, Future<?>> pending = new HashMap<>();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			lookups.forEach((key, limit) -> pending.put(key, executor.submit(() -> {
+				String[] parts = key.split("\\|");
+				candles.put(key, fetchClosedCandles(parts[0], parts[1], limit, time));
+				return null;
+			})));
+
+			Map<String, List<Position>> positions = fetchPositions();
+
+			for (Map.Entry<String, Future<?>> e : pending.entrySet()) {
+				try {
+					e.getValue().get();
+				} catch (Exception ex) {
+					// 한 조합이 실패해도 나머지 전략 평가는 계속 (해당 캔들은 빈 목록)
+					logger.warning("🔴 캔들 조회 실패 [" + e.getKey() + "]: " + ex.getMessage());
+				}
+			}
+			return new MarketSnapshot(time, candles, positions);
+		}
+	}
+
+	private List<Candle> fetchClosedCandles(String symbol, String interval, int limit, long time) throws Exception {
+		Map<String, String> params = new HashMap<>();
+		params.put("symbol", symbol);
+		params.put("interval", interval);
+		params.put("limit", String.valueOf(limit + 1));
+		params.put("endTime", String.valueOf(time - 1));
+
+		JSONArray rows = new JSONArray(apiHelper.sendPublicGetRequest("/fapi/v1/klines", params));
+		List<Candle> result = new ArrayList<>(rows.length());
+		for (int i = 0; i < rows.length(); i++) {
+			JSONArray row = rows.getJSONArray(i);
+			long closeTime = row.getLong(6);
+			if (closeTime >= time) {
+				// 아직 마감되지 않은 캔들
+				continue;
+			}
+			result.add(new Candle(
+				  row.getLong(0),
+				  Double.parseDouble(row.getString(1)),
+				  Double.parseDouble(row.getString(2)),
+				  Double.parseDouble(row.getString(3)),
+				  Double.parseDouble(row.getString(4)),
+				  Double.parseDouble(row.getString(5)),
+				  closeTime));
+		}
+		return Collections.unmodifiableList(
+			  result.size() > limit ? result.subList(result.size() - limit, result.size()) : result);
+	}
+
+	private Map<String, List<Position>> fetchPositions() throws Exception {
+		JSONArray arr = new JSONArray(apiHelper.sendGetRequest("/fapi/v3/positionRisk", Collections.emptyMap()));
+		Map<String, List<Position>> positions = new HashMap<>();
+		for (int i = 0; i < arr.length(); i++) {
+			JSONObject pos = arr.getJSONObject(i);
+			double amt = Double.parseDouble(pos.getString("positionAmt"));
+			if (amt == 0) continue;
+
+			String symbol = pos.getString("symbol");
+			positions.computeIfAbsent(symbol, k -> new ArrayList<>()).add(new Position(
+				  symbol,
+				  pos.optString("positionSide", "BOTH"),
+				  amt,
+				  Double.parseDouble(pos.getString("entryPrice")),
+				  Double.parseDouble(pos.getString("markPrice"))));
+		}
+		positions.replaceAll((k, v) -> List.copyOf(v));
+		return positions;
+	}
+}
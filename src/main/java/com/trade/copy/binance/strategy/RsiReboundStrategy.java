@@ -0,0 +1,73 @@
+package com.trade.copy.binance.strategy;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.strategy.MarketSnapshot.Candle;
+import com.trade.copy.binance.util.Calculator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * RSI 반등 롱 진입 전략 (기존 evaluateRsiEntry 조건)
+ *  - 최근 15개 마감 캔들 종가로 계산한 RSI(14)가 30 미만
+ *  - 마지막 마감 캔들의 저가가 직전 캔들의 저가보다 높음
+ *  - 해당 심볼에 포지션이 없을 때만 신호를 냅니다.
+ * 대상 심볼 / 간격은 binance.futures.schedule 의 symbols, entry-intervals 를 사용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RsiReboundStrategy implements Strategy {
+
+	private static final int RSI_PERIOD = 14;
+	private static final double OVERSOLD = 30;
+
+	private final BinanceProperties props;
+
+	@Override
+	public String name() {
+		return "rsi-rebound";
+	}
+
+	@Override
+	public Set<String> symbols() {
+		return new LinkedHashSet<>(props.getSchedule().getSymbols());
+	}
+
+	@Override
+	public Set<String> triggerIntervals() {
+		return new LinkedHashSet<>(props.getSchedule().getEntryIntervals());
+	}
+
+	@Override
+	public int lookback() {
+		return RSI_PERIOD + 1;
+	}
+
+	@Override
+	public Optional<Signal> evaluate(String symbol, String interval, MarketSnapshot snapshot) {
+		if (snapshot.hasPosition(symbol)) {
+			return Optional.empty();
+		}
+
+		List<Candle> candles = snapshot.candles(symbol, interval);
+		if (candles.size() < lookback()) {
+			return Optional.empty();
+		}
+
+		List<Candle> recent = candles.subList(candles.size() - lookback(), candles.size());
+		double rsi = Calculator.calculateRsi(recent.stream().map(Candle::close).toList(), RSI_PERIOD);
+
+		// 저가 비교 (직전 마감 캔들 vs 마지막 마감 캔들)
+		double prevLow = recent.get(recent.size() - 2).low();
+		double latestClosedLow = recent.getLast().low();
+
+		if (rsi < OVERSOLD && latestClosedLow > prevLow) {
+			return Optional.of(new Signal(name(), symbol, "BUY", (OVERSOLD - rsi) / OVERSOLD,
+				  String.format("RSI(%d) %.2f, 저점 상승 (%s)", RSI_PERIOD, rsi, interval)));
+		}
+		return Optional.empty();
+	}
+}
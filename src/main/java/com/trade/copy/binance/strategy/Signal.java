@@ -0,0 +1,13 @@
+package com.trade.copy.binance.strategy;
+
+/**
+ * 전략이 낸 진입 신호
+ *
+ * @param strategy 신호를 낸 전략 이름
+ * @param symbol   거래 페어
+ * @param side     진입 방향 (BUY: 롱, SELL: 숏)
+ * @param strength 신호 강도 (0.0 ~ 1.0). 같은 심볼에 신호가 여러 개면 큰 값이 우선
+ * @param reason   알림 / 로그용 설명
+ */
+public record Signal(String strategy, String symbol, String side, double strength, String reason) {
+}
@@ -0,0 +1,44 @@
+package com.trade.copy.binance.strategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import org.springframework.stereotype.Component;
+
+/**
+ * 여러 전략의 신호를 심볼당 하나로 합치는 중재기
+ *  - 같은 심볼에 BUY 와 SELL 신호가 함께 나오면 서로 상충하므로 진입하지 않습니다.
+ *  - 같은 방향 신호가 여러 개면 강도가 가장 큰 신호 하나를 선택합니다.
+ */
+@Component
+public class SignalArbiter {
+
+	private static final Logger logger = Logger.getLogger(SignalArbiter.class.getName());
+
+	/**
+	 * @param signals 이번 마감에 나온 모든 신호
+	 * @return 심볼당 최대 하나의 신호 (입력 순서 유지)
+	 */
+	public List<Signal> arbitrate(List<Signal> signals) {
+		Map<String, List<Signal>> bySymbol = new LinkedHashMap<>();
+		for (Signal signal : signals) {
+			bySymbol.computeIfAbsent(signal.symbol(), k -> new ArrayList<>()).add(signal);
+		}
+
+		List<Signal> result = new ArrayList<>();
+		for (List<Signal> candidates : bySymbol.values()) {
+			long sides = candidates.stream().map(Signal::side).distinct().count();
+			if (sides > 1) {
+				logger.warning("⚖️ 상충 신호로 진입 보류 [" + candidates.getFirst().symbol() + "]: " + candidates);
+				continue;
+			}
+			candidates.stream()
+				  .max(Comparator.comparingDouble(Signal::strength))
+				  .ifPresent(result::add);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,54 @@
+package com.trade.copy.binance.strategy;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 진입 전략 SPI
+ *  - Spring 빈(@Component)으로 등록하면 StrategyEngine 이 자동으로 수집합니다.
+ *  - 시세 / 포지션은 직접 조회하지 않고, 엔진이 한 번 조회해 모든 전략에 공유하는 MarketSnapshot 만 사용합니다.
+ *    따라서 전략을 추가해도 API weight 는 늘지 않습니다. (필요한 캔들 간격 / 개수가 늘어나는 경우 제외)
+ *  - evaluate 는 여러 스레드에서 동시에 호출될 수 있으므로 상태를 갖지 않아야 합니다.
+ */
+public interface Strategy {
+
+	/**
+	 * 로그 / 신호 식별용 이름
+	 */
+	String name();
+
+	/**
+	 * 평가할 심볼
+	 */
+	Set<String> symbols();
+
+	/**
+	 * 평가를 시작하는 캔들 간격. 이 간격의 캔들이 마감될 때마다 evaluate 가 호출됩니다.
+	 */
+	Set<String> triggerIntervals();
+
+	/**
+	 * trigger 간격이 마감될 때 함께 볼 상위 / 하위 타임프레임 간격 (trigger 간격 자체는 제외)
+	 *
+	 * @param trigger 마감된 캔들 간격
+	 */
+	default Set<String> contextIntervals(String trigger) {
+		return Set.of();
+	}
+
+	/**
+	 * 간격별로 필요한 마감 캔들 개수
+	 */
+	int lookback();
+
+	/**
+	 * 마감된 간격 하나에 대해 심볼 하나를 평가합니다.
+	 * 스냅샷에는 interval 과 contextIntervals(interval) 의 캔들만 들어 있습니다.
+	 *
+	 * @param symbol   거래 페어 (예: "BTCUSDT")
+	 * @param interval 이번에 마감된 캔들 간격 (triggerIntervals 중 하나)
+	 * @param snapshot 이번 마감 시점의 시세 / 포지션
+	 * @return 진입 신호. 조건을 만족하지 않으면 빈 값
+	 */
+	Optional<Signal> evaluate(String symbol, String interval, MarketSnapshot snapshot);
+}
@@ -0,0 +1,128 @@
+package com.trade.copy.binance.strategy;
+
+import com.trade.copy.binance.schedule.CandleCloseScheduler;
+import com.trade.copy.binance.service.AutoTradeStrategyService;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 등록된 모든 Strategy 를 캔들 마감마다 평가하는 엔진
+ *  1. 전략들의 트리거 간격마다 CandleCloseScheduler 에 등록
+ *  2. 마감 시 그 간격과 전략들이 선언한 보조 간격의 캔들 / 포지션만 MarketSnapshotLoader 로 한 번 조회
+ *  3. (전략, 심볼) 조합을 마감된 간격으로 가상 스레드에서 동시에 평가
+ *  4. SignalArbiter 로 심볼당 신호 하나로 합친 뒤 심볼 레인에서 진입 실행
+ */
+@Component
+@RequiredArgsConstructor
+public class StrategyEngine {
+
+	private static final Logger logger = Logger.getLogger(StrategyEngine.class.getName());
+
+	private final List<Strategy> strategies;
+	private final CandleCloseScheduler candleCloseScheduler;
+	private final MarketSnapshotLoader snapshotLoader;
+	private final SignalArbiter arbiter;
+	private final AutoTradeStrategyService strategyService;
+
+	@PostConstruct
+	public void start() {
+		Set<String> intervals = new LinkedHashSet<>();
+		strategies.forEach(s -> intervals.addAll(s.triggerIntervals()));
+		for (String interval : intervals) {
+			candleCloseScheduler.subscribeBatch(interval, () -> symbolsFor(interval), this::onCandleClose);
+		}
+	}
+
+	/**
+	 * 간격 하나의 캔들 마감 처리
+	 *
+	 * @param symbols  이번 마감에 아직 처리하지 않은 심볼
+	 * @param interval 마감된 캔들 간격
+	 * @param openTime 마감된 캔들 시작 시각
+	 */
+	public void onCandleClose(List<String> symbols, String interval, long openTime) throws Exception {
+		long time = openTime + CandleCloseScheduler.intervalMillis(interval);
+		List<Strategy> active = strategies.stream()
+			  .filter(s -> s.triggerIntervals().contains(interval))
+			  .toList();
+
+		// 마감된 간격 + 전략별 보조 간격에 대해 (심볼, 간격) 별 최대 캔들 개수
+		Map<String, Integer> lookups = new HashMap<>();
+		for (Strategy strategy : active) {
+			Set<String> candleIntervals = new LinkedHashSet<>(strategy.contextIntervals(interval));
+			candleIntervals.add(interval);
+			for (String symbol : targets(strategy, symbols)) {
+				for (String candleInterval : candleIntervals) {
+					lookups.merge(MarketSnapshot.key(symbol, candleInterval), strategy.lookback(), Math::max);
+				}
+			}
+		}
+		if (lookups.isEmpty()) {
+			return;
+		}
+
+		MarketSnapshot snapshot = snapshotLoader.load(time, lookups);
+
+		// 심볼 레인에 한꺼번에 넣어 심볼끼리는 동시에 진입하고, 모두 끝날 때까지 대기
+		Map<Signal, CompletableFuture<Void>> entries = new LinkedHashMap<>();
+		for (Signal signal : arbiter.arbitrate(evaluate(active, symbols, interval, snapshot))) {
+			entries.put(signal, strategyService.enter(signal));
+		}
+		entries.forEach((signal, future) -> {
+			try {
+				future.join();
+			} catch (CompletionException e) {
+				logger.warning("🔴 자동매매 실패 [" + signal.symbol() + "]: " + e.getCause().getMessage());
+			}
+		});
+	}
+
+	private List<Signal> evaluate(List<Strategy> active, List<String> symbols, String interval,
+		  MarketSnapshot snapshot) {
+		List<Future<Optional<Signal>>> futures = new ArrayList<>();
+		List<Signal> signals = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Strategy strategy : active) {
+				for (String symbol : targets(strategy, symbols)) {
+					futures.add(executor.submit(() -> strategy.evaluate(symbol, interval, snapshot)));
+				}
+			}
+			for (Future<Optional<Signal>> future : futures) {
+				try {
+					future.get().ifPresent(signals::add);
+				} catch (Exception e) {
+					logger.warning("🔴 전략 평가 실패: " + e.getMessage());
+				}
+			}
+		}
+		return signals;
+	}
+
+	private Set<String> symbolsFor(String interval) {
+		Set<String> symbols = new LinkedHashSet<>();
+		strategies.stream()
+			  .filter(s -> s.triggerIntervals().contains(interval))
+			  .forEach(s -> symbols.addAll(s.symbols()));
+		return symbols;
+	}
+
+	private static List<String> targets(Strategy strategy, List<String> symbols) {
+		Set<String> own = strategy.symbols();
+		return symbols.stream().filter(own::contains).toList();
+	}
+}
@@ -0,0 +1,121 @@
+package com.trade.copy.binance.stream;
+
+import com.trade.copy.binance.config.BinanceHttpClient;
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.helper.BinanceWebSocketClient;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저 데이터 스트림(ORDER_TRADE_UPDATE, ACCOUNT_UPDATE ...) 구독 컴포넌트
+ *  - 접속할 때마다 listenKey 를 발급(POST /fapi/v1/listenKey)받아 &lt;stream-url&gt;/ws/&lt;listenKey&gt; 로 연결합니다.
+ *  - listenKey 는 60분 후 만료되므로 30분마다 연장(PUT)합니다.
+ *  - 첫 리스너가 등록될 때 연결을 시작하므로, 사용하는 기능이 없으면 연결하지 않습니다.
+ */
+@Component
+public class UserDataStream {
+
+	private static final Logger logger = Logger.getLogger(UserDataStream.class.getName());
+
+	private static final long KEEP_ALIVE_MINUTES = 30;
+	private static final String LISTEN_KEY_PATH = "/fapi/v1/listenKey";
+
+	private final BinanceProperties props;
+	private final BinanceApiHelper apiHelper;
+	private final BinanceWebSocketClient client;
+
+	private final List<Consumer<JSONObject>> listeners = new CopyOnWriteArrayList<>();
+	private final List<Runnable> connectListeners = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService keepAliveScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "user-stream-keepalive");
+		t.setDaemon(true);
+		return t;
+	});
+	private boolean started;
+
+	public UserDataStream(BinanceProperties props, BinanceApiHelper apiHelper, BinanceHttpClient httpClient) {
+		this.props = props;
+		this.apiHelper = apiHelper;
+		this.client = new BinanceWebSocketClient(
+			  "user-stream",
+			  httpClient.client,
+			  this::streamUri,
+			  this::onMessage,
+			  () -> connectListeners.forEach(Runnable::run),
+			  () -> { });
+	}
+
+	/**
+	 * 유저 데이터 이벤트 리스너를 등록하고, 아직 연결 전이면 연결을 시작합니다.
+	 *
+	 * @param listener  이벤트 처리기 (수신 스레드에서 순차 호출)
+	 * @param onConnect 연결 / 재연결 직후 호출. 끊긴 동안 놓친 이벤트를 REST 로 맞출 때 사용 (null 가능)
+	 */
+	public synchronized void addListener(Consumer<JSONObject> listener, Runnable onConnect) {
+		listeners.add(listener);
+		if (onConnect != null) {
+			connectListeners.add(onConnect);
+		}
+		if (!started) {
+			started = true;
+			client.connect();
+			keepAliveScheduler.scheduleAtFixedRate(this::keepAlive, KEEP_ALIVE_MINUTES, KEEP_ALIVE_MINUTES,
+				  TimeUnit.MINUTES);
+		}
+	}
+
+	public boolean isConnected() {
+		return client.isOpen();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		keepAliveScheduler.shutdownNow();
+		client.close();
+	}
+
+	private URI streamUri() {
+		try {
+			String listenKey = new JSONObject(apiHelper.sendApiKeyRequest("POST", LISTEN_KEY_PATH))
+				  .getString("listenKey");
+			return URI.create(props.getStreamUrl() + "/ws/" + listenKey);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException("listenKey 발급 실패", e);
+		}
+	}
+
+	private void keepAlive() {
+		try {
+			apiHelper.sendApiKeyRequest("PUT", LISTEN_KEY_PATH);
+		} catch (Exception e) {
+			logger.warning("⚠️ listenKey 연장 실패: " + e.getMessage());
+		}
+	}
+
+	private void onMessage(JSONObject event) {
+		if ("listenKeyExpired".equals(event.optString("e"))) {
+			// 만료되면 서버가 연결을 끊고, 재연결 시 새 listenKey 를 발급받음
+			logger.warning("⚠️ listenKey 만료");
+		}
+		for (Consumer<JSONObject> listener : listeners) {
+			try {
+				listener.accept(event);
+			} catch (Exception e) {
+				logger.log(Level.WARNING, "유저 데이터 이벤트 처리 실패: " + event, e);
+			}
+		}
+	}
+}
@@ -19,4 +19,41 @@ public class Calculator {
 		return 100 - (100 / (1 + rs));
 	}
 
+	/**
+	 * 진입가 기준 익절 목표가 (목표 수익률 + 왕복 수수료)
+	 *
+	 * @param entryPrice          진입가
+	 * @param targetProfitPercent 목표 수익률 (예: 0.004)
+	 * @param commissionRate      수수료율 (예: 0.001)
+	 * @param isLong              LONG 포지션이면 true
+	 */
+	public static double profitTargetPrice(double entryPrice, double targetProfitPercent, double commissionRate,
+		  boolean isLong) {
+		double feeBuffer = entryPrice * commissionRate * 2.0;
+		return isLong
+			  ? entryPrice * (1 + targetProfitPercent) + feeBuffer
+			  : entryPrice * (1 - targetProfitPercent) - feeBuffer;
+	}
+
+	/**
+	 * 평균 실제 범위(ATR). 최근 period 개 캔들의 True Range 단순 평균
+	 *
+	 * @param highs  고가 (오래된 순, period + 1 개 이상)
+	 * @param lows   저가
+	 * @param closes 종가
+	 * @param period 평균 낼 캔들 개수 (예: 14)
+	 */
+	public static double calculateAtr(List<Double> highs, List<Double> lows, List<Double> closes, int period) {
+		int size = closes.size();
+		double sum = 0;
+
+		for (int i = size - period; i < size; i++) {
+			double prevClose = closes.get(i - 1);
+			double trueRange = Math.max(highs.get(i) - lows.get(i),
+				  Math.max(Math.abs(highs.get(i) - prevClose), Math.abs(lows.get(i) - prevClose)));
+			sum += trueRange;
+		}
+
+		return sum / period;
+	}
 }
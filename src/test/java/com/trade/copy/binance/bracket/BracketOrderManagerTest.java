@@ -0,0 +1,129 @@
+package com.trade.copy.binance.bracket;
+
+import static com.trade.copy.binance.support.SimulatorFixture.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.stream.UserDataStream;
+import com.trade.copy.binance.support.SimulatorFixture;
+import com.trade.copy.binance.util.TelegramMessageSender;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BracketOrderManagerTest {
+
+	private SimulatorFixture fixture;
+	private BracketOrderManager manager;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = SimulatorFixture.start();
+		BinanceProperties props = fixture.getProps();
+		props.setCommissionRate(0.001);
+		props.setTargetProfitPercent(0.004);
+		props.getBracket().setEnabled(true);
+		props.getBracket().setStopLossPercent(0.02);
+
+		manager = newManager(fixture.getUserDataStream());
+		manager.start();
+		await(fixture.getUserDataStream()::isConnected);
+	}
+
+	@AfterEach
+	void tearDown() {
+		manager.shutdown();
+		fixture.close();
+	}
+
+	private BracketOrderManager newManager(UserDataStream userDataStream) {
+		TelegramMessageSender telegram = new TelegramMessageSender() {
+			@Override
+			public void sendMessage(String message) {
+			}
+		};
+		return new BracketOrderManager(fixture.getProps(), fixture.getGateway(), fixture.getApiHelper(),
+			  fixture.getExchangeInfoCache(), userDataStream, telegram);
+	}
+
+	@Test
+	void placesProtectiveOrdersAndCleansUpWhenPositionCloses() throws Exception {
+		JSONObject entry = fixture.marketOrder("BTCUSDT", "BUY", "0.010", "LONG");
+		double entryPrice = entry.getDouble("avgPrice");
+
+		manager.protect("BTCUSDT", "LONG", "SELL", entryPrice);
+		assertTrue(manager.isProtected("BTCUSDT"));
+
+		Set<String> types = openOrderTypes();
+		assertEquals(Set.of("TAKE_PROFIT_MARKET", "STOP_MARKET"), types);
+		JSONObject takeProfit = findOpenOrder("TAKE_PROFIT_MARKET");
+		assertTrue(takeProfit.getDouble("stopPrice") > entryPrice * 1.004);
+
+		// 포지션을 직접 청산하면 ACCOUNT_UPDATE(pa=0)를 받아 남은 보호 주문을 취소
+		fixture.marketOrder("BTCUSDT", "SELL", "0.010", "LONG");
+		await(() -> !manager.isProtected("BTCUSDT"));
+		await(() -> openOrderTypes().isEmpty());
+		assertFalse(manager.isProtected("BTCUSDT"));
+	}
+
+	@Test
+	void restoresProtectiveOrdersAfterRestart() throws Exception {
+		double entryPrice = fixture.marketOrder("BTCUSDT", "BUY", "0.010", "LONG").getDouble("avgPrice");
+		manager.protect("BTCUSDT", "LONG", "SELL", entryPrice);
+		BracketOrderManager.Bracket placed = manager.getBrackets().get("BTCUSDT|LONG");
+
+		// 재시작: 빈 맵으로 새 스트림에 연결하면 미체결 보호 주문을 다시 찾아야 함
+		manager.shutdown();
+		UserDataStream restartedStream = new UserDataStream(fixture.getProps(), fixture.getApiHelper(),
+			  fixture.getHttpClient());
+		manager = newManager(restartedStream);
+		try {
+			assertFalse(manager.isProtected("BTCUSDT"));
+			manager.start();
+			await(() -> manager.isProtected("BTCUSDT"));
+
+			BracketOrderManager.Bracket restored = manager.getBrackets().get("BTCUSDT|LONG");
+			assertEquals(placed.takeProfitId(), restored.takeProfitId());
+			assertEquals(placed.stopLossId(), restored.stopLossId());
+			assertEquals("SELL", restored.closeSide());
+			assertEquals(entryPrice, restored.entryPrice(), 1e-6);
+
+			// 복원된 보호 주문도 포지션 청산 시 정리됨
+			fixture.marketOrder("BTCUSDT", "SELL", "0.010", "LONG");
+			await(() -> openOrderTypes().isEmpty());
+			assertFalse(manager.isProtected("BTCUSDT"));
+		} finally {
+			restartedStream.shutdown();
+		}
+	}
+
+	private Set<String> openOrderTypes() {
+		Set<String> types = new HashSet<>();
+		openOrders().forEach(o -> types.add(((JSONObject) o).getString("type")));
+		return types;
+	}
+
+	private JSONObject findOpenOrder(String type) {
+		for (Object o : openOrders()) {
+			if (((JSONObject) o).getString("type").equals(type)) {
+				return (JSONObject) o;
+			}
+		}
+		throw new AssertionError(type + " 주문 없음");
+	}
+
+	private JSONArray openOrders() {
+		try {
+			return new JSONArray(fixture.getApiHelper().sendGetRequest("/fapi/v1/openOrders", Map.of("symbol", "BTCUSDT")));
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
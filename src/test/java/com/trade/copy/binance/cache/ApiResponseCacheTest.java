@@ -0,0 +1,105 @@
+package com.trade.copy.binance.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ApiResponseCacheTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final ApiResponseCache cache = new ApiResponseCache(new BinanceProperties(), registry);
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	void concurrentIdenticalRequestsShareOneCall() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			results.add(executor.submit(() -> cache.get("/fapi/v3/positionRisk", Map.of(), () -> {
+				calls.incrementAndGet();
+				release.await();
+				return "[]";
+			})));
+		}
+		Thread.sleep(200);
+		release.countDown();
+		for (Future<String> f : results) {
+			assertEquals("[]", f.get());
+		}
+		executor.shutdown();
+
+		assertEquals(1, calls.get());
+		assertEquals(7.0, count("coalesced"));
+	}
+
+	@Test
+	void cachesWithinTtlAndInvalidatesOnWrite() throws Exception {
+		Map<String, String> btc = Map.of("symbol", "BTCUSDT");
+		Map<String, String> eth = Map.of("symbol", "ETHUSDT");
+
+		load(btc);
+		load(btc);
+		load(eth);
+		assertEquals(2, calls.get());
+		assertEquals(1.0, count("hit"));
+
+		// BTCUSDT 주문 후에는 BTCUSDT 응답만 다시 조회
+		cache.invalidate("BTCUSDT");
+		load(btc);
+		load(eth);
+		assertEquals(3, calls.get());
+
+		// TTL 설정이 없는 경로는 캐시하지 않음
+		cache.get("/fapi/v1/openOrders", btc, () -> String.valueOf(calls.incrementAndGet()));
+		cache.get("/fapi/v1/openOrders", btc, () -> String.valueOf(calls.incrementAndGet()));
+		assertEquals(5, calls.get());
+	}
+
+	@Test
+	void requestAfterInvalidateDoesNotJoinStaleLoad() throws Exception {
+		Map<String, String> btc = Map.of("symbol", "BTCUSDT");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		Future<String> stale = executor.submit(() -> cache.get("/fapi/v1/premiumIndex", btc, () -> {
+			started.countDown();
+			release.await();
+			return "before";
+		}));
+		started.await();
+
+		// 주문 후 조회는 진행 중인 변경 전 조회에 합류하지 않고 새로 조회
+		cache.invalidate("BTCUSDT");
+		Future<String> fresh = executor.submit(() -> cache.get("/fapi/v1/premiumIndex", btc, () -> "after"));
+		assertEquals("after", fresh.get());
+
+		release.countDown();
+		assertEquals("before", stale.get());
+		executor.shutdown();
+
+		// 변경 전 응답이 나중에 끝나도 새 응답을 덮어쓰지 않음
+		assertEquals("after", cache.get("/fapi/v1/premiumIndex", btc, () -> "reloaded"));
+		assertEquals(0.0, count("coalesced"));
+	}
+
+	private void load(Map<String, String> params) throws Exception {
+		cache.get("/fapi/v1/premiumIndex", params, () -> String.valueOf(calls.incrementAndGet()));
+	}
+
+	private double count(String result) {
+		return registry.find("binance.api.cache").tag("result", result).counters().stream()
+			  .mapToDouble(c -> c.count())
+			  .sum();
+	}
+}
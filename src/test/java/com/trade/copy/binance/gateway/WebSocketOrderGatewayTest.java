@@ -0,0 +1,226 @@
+package com.trade.copy.binance.gateway;
+
+import static com.trade.copy.binance.support.SimulatorFixture.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.simulator.ExchangeSimulator;
+import com.trade.copy.binance.support.SimulatorFixture;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebSocketOrderGatewayTest {
+
+	private SimulatorFixture fixture;
+	private ExchangeSimulator simulator;
+	private WebSocketOrderGateway gateway;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = SimulatorFixture.start();
+		simulator = fixture.getSimulator();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (gateway != null) {
+			gateway.shutdown();
+		}
+		fixture.close();
+	}
+
+	@Test
+	void placesOrderAndReadsPositionsOverWebSocket() throws Exception {
+		gateway = gateway(simulator.getStreamUrl() + "/ws-fapi/v1");
+		awaitConnected();
+
+		JSONObject order = new JSONObject(gateway.placeOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "side", "BUY",
+			  "type", "MARKET",
+			  "quantity", "0.010",
+			  "positionSide", "LONG")));
+		assertEquals("FILLED", order.getString("status"));
+
+		JSONArray positions = new JSONArray(gateway.getPositions("BTCUSDT"));
+		double longAmt = 0;
+		for (int i = 0; i < positions.length(); i++) {
+			JSONObject pos = positions.getJSONObject(i);
+			if (pos.getString("positionSide").equals("LONG")) {
+				longAmt = pos.getDouble("positionAmt");
+			}
+		}
+		assertEquals(0.01, longAmt, 1e-9);
+		assertEquals(0, gateway.getFallbackCount());
+	}
+
+	@Test
+	void cancelsOrderOverWebSocket() throws Exception {
+		gateway = gateway(simulator.getStreamUrl() + "/ws-fapi/v1");
+		awaitConnected();
+
+		double mark = simulator.getMarket().getSymbol("BTCUSDT").getMarkPrice();
+		JSONObject order = new JSONObject(gateway.placeOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "side", "BUY",
+			  "type", "LIMIT",
+			  "timeInForce", "GTC",
+			  "price", String.valueOf(Math.floor(mark * 0.5)),
+			  "quantity", "0.010",
+			  "positionSide", "LONG")));
+		assertEquals("NEW", order.getString("status"));
+
+		JSONObject canceled = new JSONObject(gateway.cancelOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "orderId", String.valueOf(order.getLong("orderId")))));
+		assertEquals("CANCELED", canceled.getString("status"));
+	}
+
+	@Test
+	void returnsCanceledOrderWhenCancelWasSentBeforeTimeout() throws Exception {
+		// 취소 프레임은 실제로 보내지만 전송 완료가 확인되지 않는 상황
+		AtomicBoolean stall = new AtomicBoolean();
+		gateway = new WebSocketOrderGateway(props(simulator.getStreamUrl() + "/ws-fapi/v1"), fixture.getHttpClient(),
+			  fixture.getApiHelper(), fixture.getGateway(), fixture.getResponseCache(),
+			  fixture.getResilience()) {
+			@Override
+			CompletableFuture<?> send(String text) {
+				CompletableFuture<?> sent = super.send(text);
+				return stall.get() ? new CompletableFuture<>() : sent;
+			}
+		};
+		gateway.start();
+		awaitConnected();
+
+		double mark = simulator.getMarket().getSymbol("BTCUSDT").getMarkPrice();
+		JSONObject order = new JSONObject(gateway.placeOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "side", "BUY",
+			  "type", "LIMIT",
+			  "timeInForce", "GTC",
+			  "price", String.valueOf(Math.floor(mark * 0.5)),
+			  "quantity", "0.010",
+			  "positionSide", "LONG")));
+
+		stall.set(true);
+		JSONObject canceled = new JSONObject(gateway.cancelOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "orderId", String.valueOf(order.getLong("orderId")))));
+		assertEquals("CANCELED", canceled.getString("status"));
+		assertEquals(1, gateway.getFallbackCount());
+	}
+
+	@Test
+	void fallsBackToRestWhenWebSocketUnavailable() throws Exception {
+		gateway = gateway("ws://127.0.0.1:1/ws-fapi/v1");
+
+		JSONObject order = new JSONObject(gateway.placeOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "side", "SELL",
+			  "type", "MARKET",
+			  "quantity", "0.010",
+			  "positionSide", "SHORT")));
+		assertEquals("FILLED", order.getString("status"));
+		assertEquals(1, gateway.getFallbackCount());
+	}
+
+	@Test
+	void looksUpOrderBeforeResendingWhenSendTimesOut() throws Exception {
+		// 프레임은 실제로 보내지만 전송 완료가 확인되지 않는 상황
+		gateway = new WebSocketOrderGateway(props(simulator.getStreamUrl() + "/ws-fapi/v1"), fixture.getHttpClient(),
+			  fixture.getApiHelper(), fixture.getGateway(), fixture.getResponseCache(),
+			  fixture.getResilience()) {
+			@Override
+			CompletableFuture<?> send(String text) {
+				super.send(text);
+				return new CompletableFuture<>();
+			}
+		};
+		gateway.start();
+		awaitConnected();
+
+		JSONObject order = new JSONObject(gateway.placeOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "side", "BUY",
+			  "type", "MARKET",
+			  "quantity", "0.010",
+			  "positionSide", "LONG",
+			  "newClientOrderId", "ws_timeout")));
+		assertEquals("ws_timeout", order.getString("clientOrderId"));
+		assertEquals(1, gateway.getFallbackCount());
+
+		// 조회로 기존 주문을 찾았으므로 REST 로 다시 보내지 않음
+		assertEquals(0.01, longPosition(), 1e-9);
+	}
+
+	@Test
+	void looksUpOrderBeforeResendingWhenExecutionStatusUnknown() throws Exception {
+		// 주문은 체결되었지만 거래소가 -1007(실행 여부 알 수 없음)으로 응답한 상황
+		gateway = new WebSocketOrderGateway(props(simulator.getStreamUrl() + "/ws-fapi/v1"), fixture.getHttpClient(),
+			  fixture.getApiHelper(), fixture.getGateway(), fixture.getResponseCache(),
+			  fixture.getResilience()) {
+			@Override
+			void onMessage(JSONObject message) {
+				super.onMessage(new JSONObject()
+					  .put("id", message.optString("id"))
+					  .put("status", 408)
+					  .put("error", new JSONObject()
+						    .put("code", -1007)
+						    .put("msg", "Timeout waiting for response from backend server. Send status unknown; execution status unknown.")));
+			}
+		};
+		gateway.start();
+		awaitConnected();
+
+		JSONObject order = new JSONObject(gateway.placeOrder(Map.of(
+			  "symbol", "BTCUSDT",
+			  "side", "BUY",
+			  "type", "MARKET",
+			  "quantity", "0.010",
+			  "positionSide", "LONG",
+			  "newClientOrderId", "ws_unknown")));
+		assertEquals("ws_unknown", order.getString("clientOrderId"));
+		assertEquals(1, gateway.getFallbackCount());
+
+		// 조회로 기존 주문을 찾았으므로 REST 로 다시 보내지 않음
+		assertEquals(0.01, longPosition(), 1e-9);
+	}
+
+	private double longPosition() throws Exception {
+		JSONArray positions = new JSONArray(fixture.getGateway().getPositions("BTCUSDT"));
+		double longAmt = 0;
+		for (int i = 0; i < positions.length(); i++) {
+			JSONObject pos = positions.getJSONObject(i);
+			if (pos.getString("positionSide").equals("LONG")) {
+				longAmt = pos.getDouble("positionAmt");
+			}
+		}
+		return longAmt;
+	}
+
+	private BinanceProperties props(String wsApiUrl) {
+		BinanceProperties props = fixture.getProps();
+		props.getOrderGateway().setType("websocket");
+		props.getOrderGateway().setWsApiUrl(wsApiUrl);
+		props.getOrderGateway().setRequestTimeoutMillis(2000);
+		return props;
+	}
+
+	private WebSocketOrderGateway gateway(String wsApiUrl) {
+		WebSocketOrderGateway ws = new WebSocketOrderGateway(props(wsApiUrl), fixture.getHttpClient(),
+			  fixture.getApiHelper(), fixture.getGateway(), fixture.getResponseCache(),
+			  fixture.getResilience());
+		ws.start();
+		return ws;
+	}
+
+	private void awaitConnected() throws InterruptedException {
+		await(gateway::isConnected);
+	}
+}
@@ -0,0 +1,170 @@
+package com.trade.copy.binance.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiException.Kind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApiResilienceTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private BinanceProperties props;
+	private ApiResilience resilience;
+
+	@BeforeEach
+	void setUp() {
+		props = new BinanceProperties();
+		props.getResilience().setBackoffBaseMillis(1);
+		props.getResilience().setHedgeMinDelayMillis(50);
+		resilience = new ApiResilience(props, registry, now::get);
+	}
+
+	@AfterEach
+	void tearDown() {
+		resilience.shutdown();
+	}
+
+	@Test
+	void retriesOnlyWhatIsSafeToRepeat() throws Exception {
+		// 조회: 재시도 가능한 오류는 다시 호출
+		AtomicInteger calls = new AtomicInteger();
+		String body = resilience.read("GET /a", () -> {
+			if (calls.incrementAndGet() < 3) {
+				throw error(Kind.RETRYABLE, true);
+			}
+			return "ok";
+		});
+		assertEquals("ok", body);
+		assertEquals(3, calls.get());
+
+		// 파라미터 오류 등은 한 번만
+		calls.set(0);
+		assertThrows(BinanceApiException.class, () -> resilience.read("GET /b", () -> {
+			calls.incrementAndGet();
+			throw error(Kind.FATAL, false);
+		}));
+		assertEquals(1, calls.get());
+
+		// 실행 여부를 알 수 없는 쓰기는 재전송하지 않음
+		calls.set(0);
+		assertThrows(BinanceApiException.class, () -> resilience.write("POST /c", false, () -> {
+			calls.incrementAndGet();
+			throw error(Kind.RETRYABLE, true);
+		}));
+		assertEquals(1, calls.get());
+
+		// 주문은 조회로 접수가 확인되면 재전송 없이 그 주문을 반환
+		calls.set(0);
+		String order = resilience.submit("POST /order", () -> {
+			calls.incrementAndGet();
+			throw error(Kind.RETRYABLE, true);
+		}, () -> Optional.of("existing"));
+		assertEquals("existing", order);
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void keepsLookingUpOrderUntilRequestCanNoLongerBeAccepted() throws Exception {
+		props.setRecvWindow(300);
+		props.getResilience().setOrderLookupIntervalMillis(10);
+
+		// 매칭 엔진에서 대기 중이라 첫 조회에서는 보이지 않는 주문
+		AtomicInteger calls = new AtomicInteger();
+		AtomicInteger lookups = new AtomicInteger();
+		String order = resilience.submit("POST /order", () -> {
+			calls.incrementAndGet();
+			throw error(Kind.RETRYABLE, true);
+		}, () -> lookups.incrementAndGet() < 3 ? Optional.empty() : Optional.of("existing"));
+		assertEquals("existing", order);
+		assertEquals(1, calls.get());
+		assertEquals(3, lookups.get());
+
+		// recvWindow + 1초가 지나도 조회되지 않을 때만 다시 보냄
+		calls.set(0);
+		long start = System.nanoTime();
+		String resent = resilience.submit("POST /order", () -> {
+			if (calls.incrementAndGet() == 1) {
+				throw error(Kind.RETRYABLE, true);
+			}
+			return "resent";
+		}, Optional::empty);
+		assertEquals("resent", resent);
+		assertEquals(2, calls.get());
+		assertTrue((System.nanoTime() - start) / 1_000_000 >= 1_300);
+	}
+
+	@Test
+	void opensBreakerAndProbesAfterOpenPeriod() throws Exception {
+		props.getResilience().setMaxAttempts(1);
+		props.getResilience().setBreakerFailureThreshold(2);
+		props.getResilience().setBreakerOpenMillis(5_000);
+
+		AtomicInteger calls = new AtomicInteger();
+		for (int i = 0; i < 2; i++) {
+			assertThrows(BinanceApiException.class, () -> resilience.read("GET /p", () -> {
+				calls.incrementAndGet();
+				throw error(Kind.RETRYABLE, true);
+			}));
+		}
+
+		// 열린 동안은 호출하지 않고 거절
+		assertThrows(BinanceApiException.class, () -> resilience.read("GET /p", () -> "ok"));
+		assertEquals(2, calls.get());
+		assertEquals(1.0, registry.get("binance.api.breaker.opened").counter().count());
+
+		// 다른 엔드포인트는 영향 없음
+		assertEquals("ok", resilience.read("GET /q", () -> "ok"));
+
+		// 대기 후 시험 호출이 성공하면 닫힘
+		now.addAndGet(5_000);
+		assertEquals("ok", resilience.read("GET /p", () -> "ok"));
+		assertEquals("ok", resilience.read("GET /p", () -> "ok"));
+	}
+
+	@Test
+	void hedgesSlowReadAfterP95Delay() throws Exception {
+		for (int i = 0; i < props.getResilience().getHedgeMinSamples(); i++) {
+			resilience.read("GET /h", () -> "fast");
+		}
+		assertEquals(50, resilience.hedgeDelayMillis("GET /h"));
+
+		AtomicInteger calls = new AtomicInteger();
+		long start = System.nanoTime();
+		String body = resilience.read("GET /h", () -> {
+			if (calls.incrementAndGet() == 1) {
+				Thread.sleep(3_000);
+				return "slow";
+			}
+			return "hedged";
+		});
+
+		assertEquals("hedged", body);
+		assertTrue((System.nanoTime() - start) / 1_000_000 < 2_000);
+		assertEquals(1.0, registry.get("binance.api.hedges").counter().count());
+	}
+
+	@Test
+	void stopsAllCallsWhileRateLimited() {
+		assertThrows(BinanceApiException.class, () -> resilience.read("GET /r", () -> {
+			throw BinanceApiException.fromResponse("GET /r", 429, "{\"code\":-1003,\"msg\":\"Too many requests\"}", "2");
+		}));
+
+		BinanceApiException e = assertThrows(BinanceApiException.class, () -> resilience.read("GET /other", () -> "ok"));
+		assertEquals(Kind.RATE_LIMITED, e.getKind());
+		assertEquals(2_000, e.getRetryAfterMillis());
+	}
+
+	private static BinanceApiException error(Kind kind, boolean mayHaveExecuted) {
+		return new BinanceApiException("test", kind, 503, 0, mayHaveExecuted, 0, null);
+	}
+}
@@ -0,0 +1,119 @@
+package com.trade.copy.binance.history;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.history.KlineArchive.Columns;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class KlineArchiveTest {
+
+	private static final long START = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+	private static final long MINUTE = 60_000L;
+	private static final long DAY = 1_440 * MINUTE;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void importsOverlappingDumpsAndReadsRanges() throws Exception {
+		Path source = dir.resolve("dumps");
+		Path target = dir.resolve("klines");
+
+		// 월별 덤프 (헤더 없음) 10000 개, 일별 덤프 (헤더 있음) 는 마지막 100 개와 겹치고 50 개가 새 캔들
+		StringBuilder monthly = new StringBuilder();
+		for (int i = 0; i < 10_000; i++) {
+			monthly.append(row(START + i * MINUTE, price(i), "12.5"));
+		}
+		zip(source.resolve("BTCUSDT/1m/BTCUSDT-1m-2024-01.zip"), "BTCUSDT-1m-2024-01.csv", monthly.toString());
+
+		StringBuilder daily = new StringBuilder("open_time,open,high,low,close,volume,close_time,quote_volume,count,"
+			  + "taker_buy_volume,taker_buy_quote_volume,ignore\n");
+		for (int i = 9_900; i < 10_050; i++) {
+			// 겹치는 구간은 더 긴 소수 자릿수로 기록 → 열 scale 이 늘어나도 이전 값이 유지되어야 함
+			daily.append(row(START + i * MINUTE, price(i), "12.525"));
+		}
+		zip(source.resolve("BTCUSDT/1m/BTCUSDT-1m-2024-01-07.zip"), "BTCUSDT-1m-2024-01-07.csv", daily.toString());
+
+		List<KlineImporter.Result> results = new KlineImporter(2, 1024).importDirectory(source, target);
+		assertEquals(1, results.size());
+		assertEquals(10_050, results.getFirst().rows());
+
+		KlineArchive archive = KlineArchive.open(KlineArchive.path(target, "BTCUSDT", "1m"));
+		assertEquals(10_050, archive.getRowCount());
+		assertEquals(START, archive.getFirstOpenTime());
+		assertEquals(START + 10_049 * MINUTE, archive.getLastOpenTime());
+
+		Columns all = archive.read();
+		assertEquals(10_050, all.size());
+		for (int i = 0; i < all.size(); i++) {
+			assertEquals(START + i * MINUTE, all.openTime()[i]);
+			assertEquals(Double.parseDouble(price(i)), all.close()[i], 1e-9);
+		}
+		assertEquals(12.5, all.volume()[0], 1e-9);
+		assertEquals(12.525, all.volume()[9_950], 1e-9);
+
+		// 블록 경계에 걸친 구간 조회
+		Columns range = archive.read(START + 1_000 * MINUTE, START + 3_000 * MINUTE);
+		assertEquals(2_000, range.size());
+		assertEquals(START + 1_000 * MINUTE, range.openTime()[0]);
+		assertArrayEquals(Arrays.copyOfRange(all.high(), 1_000, 3_000), range.high());
+
+		// 차분 + 압축으로 원본 CSV 보다 훨씬 작아야 함
+		assertTrue(results.getFirst().bytes() * 5 < monthly.length());
+
+		// 같은 원본 디렉터리에 새 일별 덤프를 추가하고 다시 실행하면 기존 보관 파일에 합쳐짐
+		// (마지막 캔들이 1월 7일 23:29 이므로 아직 끝나지 않은 월별 / 1월 7일 덤프도 다시 읽음)
+		zip(source.resolve("BTCUSDT/1m/BTCUSDT-1m-2024-01-08.zip"), "BTCUSDT-1m-2024-01-08.csv",
+			  row(START + 7 * DAY, price(10_080), "1"));
+		KlineImporter.Result second = new KlineImporter(1, 1024).importDirectory(source, target).getFirst();
+		assertEquals(3, second.files());
+		assertEquals(10_051, second.rows());
+
+		Columns merged = KlineArchive.open(KlineArchive.path(target, "BTCUSDT", "1m")).read();
+		assertEquals(10_051, merged.size());
+		assertEquals(all.close()[9_000], merged.close()[9_000], 1e-9);
+		assertEquals(START + 7 * DAY, merged.openTime()[10_050]);
+		assertEquals(1.0, merged.volume()[10_050], 1e-9);
+
+		// 1월 8일 캔들이 들어왔으므로 1월 7일 덤프는 반영된 것으로 보고 건너뜀
+		KlineImporter.Result third = new KlineImporter(1, 1024).importDirectory(source, target).getFirst();
+		assertEquals(2, third.files());
+		assertEquals(10_051, third.rows());
+	}
+
+	@Test
+	void periodEndIsStartOfNextDayOrMonth() {
+		assertEquals(START + DAY, KlineImporter.periodEnd(Path.of("BTCUSDT-1m-2024-01-01.zip")));
+		assertEquals(START + 31 * DAY, KlineImporter.periodEnd(Path.of("BTCUSDT-1m-2024-01.zip")));
+	}
+
+	private static String price(int i) {
+		return String.format(Locale.ROOT, "%.1f", 42_000 + Math.sin(i / 50.0) * 300 + (i % 7) * 0.1);
+	}
+
+	private static String row(long openTime, String close, String volume) {
+		return openTime + "," + close + "," + close + "," + close + "," + close + "," + volume + ","
+			  + (openTime + MINUTE - 1) + ",0,0,0,0,0\n";
+	}
+
+	private static void zip(Path file, String entry, String content) throws IOException {
+		Files.createDirectories(file.getParent());
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+			zip.putNextEntry(new ZipEntry(entry));
+			zip.write(content.getBytes(StandardCharsets.US_ASCII));
+			zip.closeEntry();
+		}
+	}
+}
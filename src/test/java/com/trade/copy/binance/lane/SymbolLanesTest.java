@@ -0,0 +1,82 @@
+package com.trade.copy.binance.lane;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SymbolLanesTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final SymbolLanes lanes = new SymbolLanes(registry);
+
+	@AfterEach
+	void tearDown() {
+		lanes.shutdown();
+	}
+
+	@Test
+	void runsSameSymbolInOrderWithoutOverlap() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<Integer> order = new ArrayList<>();
+
+		List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			int n = i;
+			futures.add(lanes.submit("BTCUSDT", "test", () -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				order.add(n);
+				running.decrementAndGet();
+				return n;
+			}));
+		}
+		futures.forEach(CompletableFuture::join);
+
+		assertEquals(1, maxRunning.get());
+		for (int i = 0; i < order.size(); i++) {
+			assertEquals(i, order.get(i));
+		}
+	}
+
+	@Test
+	void runsDifferentSymbolsConcurrentlyAndReportsDepth() throws Exception {
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<Void> btc = lanes.submit("BTCUSDT", "enter", () -> block(bothStarted, release));
+		CompletableFuture<Void> eth = lanes.submit("ETHUSDT", "enter", () -> block(bothStarted, release));
+		CompletableFuture<Void> queued = lanes.submit("BTCUSDT", "take-profit", () -> null);
+
+		// 서로 다른 심볼은 동시에 실행되고, 같은 심볼 작업은 대기열에 남음
+		assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+		assertEquals(1, lanes.depth("BTCUSDT"));
+		assertEquals(1.0, registry.get("binance.lane.depth").tag("symbol", "BTCUSDT").gauge().value());
+
+		release.countDown();
+		CompletableFuture.allOf(btc, eth, queued).join();
+		assertEquals(0, lanes.depth("BTCUSDT"));
+		assertEquals(2, registry.get("binance.lane.wait").tag("action", "enter").timer().count());
+
+		CompletableFuture<Void> failed = lanes.submit("BTCUSDT", "enter", () -> {
+			throw new RuntimeException("거부");
+		});
+		assertThrows(CompletionException.class, failed::join);
+	}
+
+	private static Void block(CountDownLatch started, CountDownLatch release) throws InterruptedException {
+		started.countDown();
+		release.await(5, TimeUnit.SECONDS);
+		return null;
+	}
+}
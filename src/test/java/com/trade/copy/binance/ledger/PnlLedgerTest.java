@@ -0,0 +1,135 @@
+package com.trade.copy.binance.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.ledger.PnlLedger.DayStats;
+import com.trade.copy.binance.support.SimulatorFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PnlLedgerTest {
+
+	@TempDir
+	Path dir;
+
+	private SimulatorFixture fixture;
+	private BinanceProperties props;
+	private BinanceApiHelper apiHelper;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = SimulatorFixture.start();
+		props = fixture.getProps();
+		props.getLedger().setPath(dir.resolve("ledger.json").toString());
+		apiHelper = fixture.getApiHelper();
+	}
+
+	@AfterEach
+	void tearDown() {
+		fixture.close();
+	}
+
+	@Test
+	void aggregatesIncrementallyAndResumesFromPersistedCursor() throws Exception {
+		LocalDate today = LocalDate.now(ZoneOffset.UTC);
+		PnlLedger ledger = new PnlLedger(props, apiHelper, new SimpleMeterRegistry());
+
+		trade("BUY");
+		trade("SELL");
+		ledger.sync();
+
+		// 거래소 체결 내역과 장부 합계 비교
+		JSONArray trades = new JSONArray(apiHelper.sendGetRequest("/fapi/v1/userTrades", Map.of("symbol", "BTCUSDT")));
+		double realized = 0;
+		double commission = 0;
+		for (int i = 0; i < trades.length(); i++) {
+			JSONObject t = trades.getJSONObject(i);
+			realized += t.getDouble("realizedPnl");
+			commission -= t.getDouble("commission");
+		}
+		DayStats stats = ledger.get(today, "BTCUSDT");
+		assertEquals(2, stats.trades());
+		assertEquals(realized, stats.realizedPnl(), 1e-6);
+		assertEquals(commission, stats.commission(), 1e-6);
+		assertTrue(stats.commission() < 0);
+
+		// 커서는 내역 종류와 tranId 를 함께 저장
+		JSONObject saved = new JSONObject(Files.readString(dir.resolve("ledger.json")));
+		JSONArray tranIds = saved.getJSONArray("cursorTranIds");
+		assertTrue(tranIds.length() > 0);
+		assertTrue(tranIds.toList().stream().allMatch(id -> id.toString().matches("(REALIZED_PNL|COMMISSION):\\d+")));
+
+		// 다시 조회해도 중복 반영 없음
+		ledger.sync();
+		assertEquals(stats, ledger.get(today, "BTCUSDT"));
+
+		// 새 인스턴스는 파일에서 커서 / 집계를 복원하고 이후 체결만 더함
+		PnlLedger restored = new PnlLedger(props, apiHelper, new SimpleMeterRegistry());
+		restored.load();
+		assertEquals(stats, restored.get(today, "BTCUSDT"));
+
+		trade("BUY");
+		restored.sync();
+		assertEquals(3, restored.get(today, "BTCUSDT").trades());
+		assertEquals(3, restored.total(today, today).trades());
+		assertTrue(restored.summary(today).contains("BTCUSDT"));
+	}
+
+	@Test
+	void answersQueriesWhileSyncWaitsOnNetwork() throws Exception {
+		LocalDate today = LocalDate.now(ZoneOffset.UTC);
+		CountDownLatch fetching = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		BinanceApiHelper slowHelper = new BinanceApiHelper(props, fixture.getHttpClient(), fixture.getResponseCache(),
+			  fixture.getResilience()) {
+			@Override
+			public String sendGetRequest(String path, Map<String, String> extraParams) throws Exception {
+				if (path.equals("/fapi/v1/income")) {
+					fetching.countDown();
+					release.await();
+				}
+				return super.sendGetRequest(path, extraParams);
+			}
+		};
+		PnlLedger ledger = new PnlLedger(props, slowHelper, new SimpleMeterRegistry());
+
+		trade("BUY");
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		Future<?> sync = executor.submit(() -> {
+			ledger.sync();
+			return null;
+		});
+		fetching.await();
+
+		// income 조회가 끝나지 않았어도 조회는 이전 집계로 바로 응답
+		Future<DayStats> query = executor.submit(() -> ledger.total(today, today));
+		assertEquals(DayStats.EMPTY, query.get(1, TimeUnit.SECONDS));
+
+		release.countDown();
+		sync.get();
+		executor.shutdown();
+		assertEquals(1, ledger.total(today, today).trades());
+	}
+
+	private void trade(String side) throws Exception {
+		fixture.marketOrder("BTCUSDT", side, "0.010", "LONG");
+	}
+}
@@ -0,0 +1,92 @@
+package com.trade.copy.binance.orderbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class LocalOrderBookTest {
+
+	@Test
+	void estimateFillPriceWalksLevels() {
+		LocalOrderBook book = new LocalOrderBook("BTCUSDT");
+		book.reset(levels("100.0", "1", "99.5", "2"), levels("100.5", "1", "101.0", "3"), 10);
+
+		assertEquals(100.0, book.bestBid());
+		assertEquals(100.5, book.bestAsk());
+		// 매수 2개: 100.5 x 1 + 101.0 x 1
+		assertEquals(100.75, book.estimateFillPrice(true, 2), 1e-9);
+		// 매도 3개: 100.0 x 1 + 99.5 x 2
+		assertEquals((100.0 + 99.5 * 2) / 3, book.estimateFillPrice(false, 3), 1e-9);
+		assertTrue(Double.isNaN(book.estimateFillPrice(true, 10)));
+	}
+
+	@Test
+	void updatesKeepLevelsSortedAndRemoveZeroQuantity() {
+		LocalOrderBook book = new LocalOrderBook("BTCUSDT");
+		book.reset(levels("100.0", "1"), levels("101.0", "1"), 1);
+
+		book.update(true, 100.2, 1);
+		book.update(true, 99.8, 1);
+		book.update(false, 100.8, 2);
+		book.update(true, 100.2, 0);
+
+		assertEquals(100.0, book.bestBid());
+		assertEquals(2, book.bidDepth());
+		assertEquals(100.8, book.bestAsk());
+		assertEquals(2, book.askDepth());
+	}
+
+	@Test
+	void syncAppliesBufferedEventsAndDetectsGaps() {
+		List<OrderBookSync> snapshotRequests = new ArrayList<>();
+		OrderBookSync sync = new OrderBookSync("BTCUSDT", snapshotRequests::add);
+
+		sync.onDepthEvent(event(5, 8, 4, levels("100.0", "1"), levels()));
+		sync.onDepthEvent(event(9, 12, 8, levels("100.0", "2"), levels("100.5", "1")));
+		assertEquals(1, snapshotRequests.size());
+		assertFalse(sync.isLive());
+
+		// 스냅샷 lastUpdateId=10: 첫 이벤트(u=8)는 버리고 두 번째(U=9 <= 10 <= u=12)부터 적용
+		sync.onSnapshot(new JSONObject()
+			  .put("lastUpdateId", 10)
+			  .put("bids", levels("100.0", "5"))
+			  .put("asks", levels("100.5", "5")));
+		assertTrue(sync.isLive());
+		assertEquals(100.5, sync.estimateFillPrice(true, 1).getAsDouble(), 1e-9);
+
+		sync.onDepthEvent(event(13, 14, 12, levels(), levels("100.5", "0", "101.0", "1")));
+		assertEquals(101.0, sync.estimateFillPrice(true, 1).getAsDouble(), 1e-9);
+
+		// pu 가 직전 u(14)와 다르면 누락으로 보고 다시 스냅샷 요청
+		sync.onDepthEvent(event(20, 22, 19, levels(), levels()));
+		assertFalse(sync.isLive());
+		assertEquals(1, sync.getGapCount());
+		assertEquals(2, snapshotRequests.size());
+		assertTrue(sync.estimateFillPrice(true, 1).isEmpty());
+	}
+
+	private static JSONObject event(long first, long last, long previous, JSONArray bids, JSONArray asks) {
+		return new JSONObject()
+			  .put("e", "depthUpdate")
+			  .put("s", "BTCUSDT")
+			  .put("U", first)
+			  .put("u", last)
+			  .put("pu", previous)
+			  .put("b", bids)
+			  .put("a", asks);
+	}
+
+	private static JSONArray levels(String... priceQuantityPairs) {
+		JSONArray arr = new JSONArray();
+		for (int i = 0; i < priceQuantityPairs.length; i += 2) {
+			arr.put(new JSONArray().put(priceQuantityPairs[i]).put(priceQuantityPairs[i + 1]));
+		}
+		return arr;
+	}
+}
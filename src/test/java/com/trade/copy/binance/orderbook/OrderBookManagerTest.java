@@ -0,0 +1,52 @@
+package com.trade.copy.binance.orderbook;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.support.SimulatorFixture;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderBookManagerTest {
+
+	private SimulatorFixture fixture;
+	private OrderBookManager manager;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = SimulatorFixture.start();
+		fixture.getProps().getOrderBook().setEnabled(true);
+		manager = new OrderBookManager(fixture.getProps(), fixture.getApiHelper(), fixture.getHttpClient(),
+			  fixture.getUserDataStream());
+	}
+
+	@AfterEach
+	void tearDown() {
+		manager.shutdown();
+		fixture.close();
+	}
+
+	@Test
+	void untracksSymbolOnceEveryPositionSideIsFlat() {
+		manager.track("BTCUSDT");
+		manager.onUserEvent(accountUpdate("LONG", "0.010"));
+		manager.onUserEvent(accountUpdate("SHORT", "-0.010"));
+
+		// 한쪽만 청산되면 계속 추적
+		manager.onUserEvent(accountUpdate("SHORT", "0"));
+		assertTrue(manager.isTracked("BTCUSDT"));
+
+		manager.onUserEvent(accountUpdate("LONG", "0"));
+		assertFalse(manager.isTracked("BTCUSDT"));
+	}
+
+	private static JSONObject accountUpdate(String positionSide, String amount) {
+		return new JSONObject()
+			  .put("e", "ACCOUNT_UPDATE")
+			  .put("a", new JSONObject().put("P", new JSONArray().put(new JSONObject()
+				    .put("s", "BTCUSDT").put("ps", positionSide).put("pa", amount).put("ep", "60000"))));
+	}
+}
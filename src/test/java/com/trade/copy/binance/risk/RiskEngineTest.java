@@ -0,0 +1,160 @@
+package com.trade.copy.binance.risk;
+
+import static com.trade.copy.binance.support.SimulatorFixture.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.ledger.PnlLedger;
+import com.trade.copy.binance.risk.RiskEngine.Decision;
+import com.trade.copy.binance.support.SimulatorFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RiskEngineTest {
+
+	@TempDir
+	Path dir;
+
+	private SimulatorFixture fixture;
+	private RiskEngine riskEngine;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = SimulatorFixture.start();
+		BinanceProperties props = fixture.getProps();
+		props.setDefaultLeverage(20);
+		props.getRisk().setEnabled(true);
+		props.getRisk().setMaxSymbolNotional(200);
+		props.getRisk().setMaxDailyLoss(50);
+		props.getLedger().setPath(dir.resolve("ledger.json").toString());
+
+		riskEngine = newEngine(fixture.getApiHelper());
+		riskEngine.start();
+		await(riskEngine::isSynced);
+	}
+
+	@AfterEach
+	void tearDown() {
+		riskEngine.shutdown();
+		fixture.close();
+	}
+
+	@Test
+	void resizesToRemainingRoomAndRejectsWhenExhausted() throws Exception {
+		double price = fixture.markPrice("BTCUSDT");
+
+		Decision first = riskEngine.check("en_1", "BTCUSDT", new BigDecimal("0.003"), price);
+		assertTrue(first.approved());
+		assertTrue(first.quantity().doubleValue() * price <= 200);
+		assertTrue(first.quantity().signum() > 0);
+
+		// 예약분이 한도를 차지하므로 두 번째 진입은 거부
+		Decision second = riskEngine.check("en_2", "BTCUSDT", new BigDecimal("0.003"), price);
+		assertFalse(second.approved());
+
+		// 전송 실패로 예약을 풀면 다시 한도가 생김
+		riskEngine.release("en_1");
+		assertEquals(0, riskEngine.getSymbolNotional("BTCUSDT"), 1e-9);
+		assertTrue(riskEngine.check("en_3", "BTCUSDT", new BigDecimal("0.001"), price).approved());
+	}
+
+	@Test
+	void restoresDailyLossFromIncomeOnReconcile() throws Exception {
+		// 롱 진입 후 가격을 3% 내려 손실 청산
+		fixture.marketOrder("ETHUSDT", "BUY", "0.050", "LONG");
+		fixture.getSimulator().setPrice("ETHUSDT", fixture.markPrice("ETHUSDT") * 0.97);
+		fixture.marketOrder("ETHUSDT", "SELL", "0.050", "LONG");
+
+		JSONArray incomes = new JSONArray(fixture.getApiHelper().sendGetRequest("/fapi/v1/income", Map.of()));
+		double expected = 0;
+		for (int i = 0; i < incomes.length(); i++) {
+			expected += incomes.getJSONObject(i).getDouble("income");
+		}
+		assertTrue(expected < 0);
+
+		// 재시작한 엔진은 스트림 체결 이벤트 없이도 당일 손실을 알아야 함
+		riskEngine.shutdown();
+		riskEngine = newEngine(fixture.getApiHelper());
+		assertFalse(riskEngine.isSynced());
+		riskEngine.reconcile();
+		assertTrue(riskEngine.isSynced());
+		assertEquals(expected, riskEngine.getDailyPnl(), 1e-6);
+
+		fixture.getProps().getRisk().setMaxDailyLoss(-expected / 2);
+		assertFalse(riskEngine.check("en_5", "BTCUSDT", new BigDecimal("0.001"), fixture.markPrice("BTCUSDT"))
+			  .approved());
+	}
+
+	@Test
+	void tracksFilledPositionsAndDailyLossFromUserStream() throws Exception {
+		fixture.getGateway().placeOrder(Map.of("symbol", "ETHUSDT", "side", "BUY", "type", "MARKET", "quantity", "0.050",
+			  "positionSide", "LONG", "newClientOrderId", "en_eth"));
+		// 진입 체결 수수료까지 반영될 때까지 대기
+		await(() -> riskEngine.getSymbolNotional("ETHUSDT") > 0 && riskEngine.getDailyPnl() < 0);
+		double before = riskEngine.getDailyPnl();
+
+		// BNB 로 낸 수수료는 USDT 손익에 더하지 않음
+		long now = System.currentTimeMillis();
+		riskEngine.onUserEvent(trade(999, "0", "0.001", "BNB", now));
+		assertEquals(before, riskEngine.getDailyPnl(), 1e-9);
+
+		// 당일 손실이 한도를 넘으면 이후 진입 거부
+		riskEngine.onUserEvent(trade(1000, "-60", "0.1", "USDT", now));
+		assertEquals(before - 60.1, riskEngine.getDailyPnl(), 1e-9);
+		assertFalse(riskEngine.check("en_4", "BTCUSDT", new BigDecimal("0.001"), fixture.markPrice("BTCUSDT")).approved());
+	}
+
+	@Test
+	void keepsStreamEventsAndPendingEntriesAcrossReconcile() throws Exception {
+		// 잔고 조회 중(교체 전)에 포지션 변경 이벤트가 도착하는 상황
+		BinanceApiHelper apiHelper = new BinanceApiHelper(fixture.getProps(), fixture.getHttpClient(),
+			  fixture.getResponseCache(), fixture.getResilience()) {
+			@Override
+			public String sendUncachedGetRequest(String path, Map<String, String> extraParams) throws Exception {
+				if (path.equals("/fapi/v3/balance")) {
+					riskEngine.onUserEvent(new JSONObject()
+						  .put("e", "ACCOUNT_UPDATE")
+						  .put("a", new JSONObject().put("P", new JSONArray().put(new JSONObject()
+							    .put("s", "ETHUSDT").put("ps", "LONG").put("pa", "0.050").put("ep", "2000")))));
+				}
+				return super.sendUncachedGetRequest(path, extraParams);
+			}
+		};
+		riskEngine.shutdown();
+		riskEngine = newEngine(apiHelper);
+		riskEngine.reconcile();
+
+		// 전송 중인 진입 예약은 대조 후에도 한도를 차지
+		double price = fixture.markPrice("BTCUSDT");
+		assertTrue(riskEngine.check("en_pending", "BTCUSDT", new BigDecimal("0.001"), price).approved());
+		riskEngine.reconcile();
+
+		assertEquals(100, riskEngine.getSymbolNotional("ETHUSDT"), 1e-9);
+		assertEquals(0.001 * price, riskEngine.getSymbolNotional("BTCUSDT"), 1e-6);
+	}
+
+	private RiskEngine newEngine(BinanceApiHelper apiHelper) {
+		BinanceProperties props = fixture.getProps();
+		PnlLedger ledger = new PnlLedger(props, apiHelper, new SimpleMeterRegistry());
+		return new RiskEngine(props, apiHelper, fixture.getExchangeInfoCache(), fixture.getUserDataStream(), ledger);
+	}
+
+	private static JSONObject trade(long orderId, String realized, String commission, String commissionAsset, long time) {
+		return new JSONObject()
+			  .put("e", "ORDER_TRADE_UPDATE")
+			  .put("o", new JSONObject()
+				    .put("s", "ETHUSDT").put("c", "x").put("i", orderId).put("x", "TRADE").put("X", "FILLED")
+				    .put("rp", realized).put("n", commission).put("N", commissionAsset).put("T", time));
+	}
+}
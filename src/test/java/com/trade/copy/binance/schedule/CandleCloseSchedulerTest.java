@@ -0,0 +1,65 @@
+package com.trade.copy.binance.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CandleCloseSchedulerTest {
+
+	private static final long MINUTE = 60_000L;
+	private static final long FIFTEEN = 15 * MINUTE;
+
+	private final AtomicLong clock = new AtomicLong();
+	private final CandleCloseScheduler scheduler = new CandleCloseScheduler(clock::get, 1000);
+
+	@AfterEach
+	void tearDown() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	void firesOncePerClosedCandle() {
+		List<String> fired = new ArrayList<>();
+		clock.set(100 * FIFTEEN + 5 * MINUTE);
+		scheduler.subscribe("15m", () -> List.of("BTCUSDT", "ETHUSDT"),
+			  (symbol, interval, openTime) -> fired.add(symbol + "@" + openTime));
+
+		// 마감 전 / 마감 대기 시간 이내에는 실행하지 않음
+		clock.set(101 * FIFTEEN + 500);
+		scheduler.tick();
+		assertTrue(fired.isEmpty());
+
+		clock.set(101 * FIFTEEN + 1000);
+		scheduler.tick();
+		scheduler.tick();
+		assertEquals(List.of("BTCUSDT@" + 100 * FIFTEEN, "ETHUSDT@" + 100 * FIFTEEN), fired);
+	}
+
+	@Test
+	void coalescesOverrunIntoLatestClose() {
+		List<Long> fired = new ArrayList<>();
+		clock.set(100 * FIFTEEN);
+		scheduler.subscribe("15m", () -> List.of("BTCUSDT"), (symbol, interval, openTime) -> fired.add(openTime));
+
+		// 세 번의 마감을 지나친 뒤 실행되면 가장 최근 마감만 한 번 처리
+		clock.set(103 * FIFTEEN + 2000);
+		scheduler.tick();
+		assertEquals(List.of(102 * FIFTEEN), fired);
+		assertEquals(1, scheduler.getOverrunCount());
+	}
+
+	@Test
+	void deduplicatesPerSymbolAndCandle() {
+		assertTrue(scheduler.markFired("BTCUSDT", "15m", FIFTEEN));
+		assertFalse(scheduler.markFired("BTCUSDT", "15m", FIFTEEN));
+		assertTrue(scheduler.markFired("ETHUSDT", "15m", FIFTEEN));
+		assertTrue(scheduler.markFired("BTCUSDT", "1h", FIFTEEN));
+		assertTrue(scheduler.markFired("BTCUSDT", "15m", 2 * FIFTEEN));
+	}
+}
@@ -0,0 +1,112 @@
+package com.trade.copy.binance.schedule;
+
+import static com.trade.copy.binance.support.SimulatorFixture.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.orderbook.OrderBookManager;
+import com.trade.copy.binance.schedule.TakeProfitPoller.Tracked;
+import com.trade.copy.binance.support.SimulatorFixture;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TakeProfitPollerTest {
+
+	private static final long FIFTEEN_MINUTES = 15 * 60_000L;
+
+	@Test
+	void checksNearTargetPositionsMoreOften() {
+		BinanceProperties.TakeProfit cfg = new BinanceProperties.TakeProfit();
+
+		// ATR 100 기준: 목표가까지 10 남으면 1초 미만, 100 남으면 90초 → 최대 60초로 제한
+		long near = TakeProfitPoller.checkDelayMillis(10, 100, FIFTEEN_MINUTES, cfg);
+		long mid = TakeProfitPoller.checkDelayMillis(50, 100, FIFTEEN_MINUTES, cfg);
+		long far = TakeProfitPoller.checkDelayMillis(100, 100, FIFTEEN_MINUTES, cfg);
+
+		assertTrue(near < 1000);
+		assertTrue(near < mid && mid < far);
+		assertEquals(cfg.getMaxCheckMillis(), far);
+		assertEquals(cfg.getMinCheckMillis(), TakeProfitPoller.checkDelayMillis(0, 100, FIFTEEN_MINUTES, cfg));
+
+		// 변동성이 크면 같은 거리라도 더 자주 점검
+		assertTrue(TakeProfitPoller.checkDelayMillis(50, 200, FIFTEEN_MINUTES, cfg) < mid);
+	}
+
+	@Test
+	void spendsWithinWeightBudget() {
+		BinanceProperties props = new BinanceProperties();
+		props.getTakeProfit().setWeightPerMinute(240);
+		AtomicLong clock = new AtomicLong(0);
+		TakeProfitPoller poller = new TakeProfitPoller(props, null, null, null, null, clock::get);
+
+		// 버킷 용량은 15초치(60)
+		for (int i = 0; i < 60; i++) {
+			assertTrue(poller.tryAcquire(1, clock.get()));
+		}
+		assertFalse(poller.tryAcquire(1, clock.get()));
+
+		// 1초에 4씩 다시 채워짐
+		clock.set(1000);
+		assertTrue(poller.tryAcquire(4, clock.get()));
+		assertFalse(poller.tryAcquire(1, clock.get()));
+	}
+
+	@Test
+	void spendsShortBudgetOnPositionsNearestTarget() throws Exception {
+		try (SimulatorFixture fixture = SimulatorFixture.start()) {
+			BinanceProperties props = fixture.getProps();
+			// 버킷 용량 2 → 가격 점검 두 건만 가능
+			props.getTakeProfit().setWeightPerMinute(8);
+			props.getOrderBook().setEnabled(false);
+
+			List<String> checked = new CopyOnWriteArrayList<>();
+			BinanceApiHelper apiHelper = new BinanceApiHelper(props, fixture.getHttpClient(), fixture.getResponseCache(),
+				  fixture.getResilience()) {
+				@Override
+				public String sendPublicGetRequest(String path, Map<String, String> params) throws Exception {
+					if (path.equals("/fapi/v1/premiumIndex")) {
+						checked.add(params.get("symbol"));
+					}
+					return super.sendPublicGetRequest(path, params);
+				}
+			};
+
+			AtomicLong clock = new AtomicLong(1000);
+			TakeProfitPoller poller = new TakeProfitPoller(props, apiHelper,
+				  new OrderBookManager(props, apiHelper, fixture.getHttpClient(), fixture.getUserDataStream()), null, null, clock::get);
+			try {
+				Tracked far = tracked(poller, "SOLUSDT", 60_000, clock.get());
+				tracked(poller, "ETHUSDT", 5_000, clock.get());
+				tracked(poller, "BTCUSDT", 250, clock.get());
+
+				poller.tick();
+				await(() -> checked.size() == 2);
+				Thread.sleep(200);
+
+				// 점검 간격이 짧은(목표가에 가까운) 두 포지션만 예산을 사용하고, 먼 포지션은 다음 틱으로 밀림
+				assertEquals(Set.of("BTCUSDT", "ETHUSDT"), Set.copyOf(checked));
+				assertEquals(0, far.nextCheckAt);
+			} finally {
+				poller.shutdown();
+			}
+		}
+	}
+
+	private static Tracked tracked(TakeProfitPoller poller, String symbol, long checkInterval, long now) {
+		Tracked t = poller.track(symbol, "LONG");
+		t.amount = 1;
+		t.entryPrice = 1;
+		t.targetPrice = 1e12;
+		t.checkInterval = checkInterval;
+		t.atrUpdatedAt = now;
+		t.nextCheckAt = 0;
+		return t;
+	}
+}
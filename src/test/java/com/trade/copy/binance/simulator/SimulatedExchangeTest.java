@@ -0,0 +1,167 @@
+package com.trade.copy.binance.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.simulator.SimulatedMarket.SymbolState;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SimulatedExchangeTest {
+
+	private SimulatorConfig config;
+	private SimulatedMarket market;
+	private SimulatedExchange exchange;
+	private SymbolState btc;
+	private long now;
+
+	@BeforeEach
+	void setUp() {
+		config = new SimulatorConfig();
+		config.setSymbolCount(3);
+		market = new SimulatedMarket(config);
+		exchange = new SimulatedExchange(config, market);
+		btc = market.getSymbol("BTCUSDT");
+		now = System.currentTimeMillis();
+		moveTo(100_000);
+	}
+
+	@Test
+	void fillsMarketOrderWithSpreadImpactAndFee() {
+		List<JSONObject> events = new ArrayList<>();
+		exchange.addUserEventListener(events::add);
+
+		JSONObject order = exchange.placeOrder(Map.of(
+			  "symbol", "BTCUSDT", "side", "BUY", "type", "MARKET", "quantity", "1", "positionSide", "LONG"), now);
+
+		// 명목가 10만 USDT: 스프레드 1bp + 충격 2bp
+		assertEquals("FILLED", order.getString("status"));
+		assertEquals(100_000 * (1 + 3 / 10_000.0), order.getDouble("avgPrice"), 0.1);
+
+		JSONObject position = exchange.positionRisk("BTCUSDT", true).getJSONObject(0);
+		assertEquals("LONG", position.getString("positionSide"));
+		assertEquals(1.0, position.getDouble("positionAmt"), 1e-9);
+
+		// NEW → TRADE 주문 이벤트와 잔고 이벤트
+		assertEquals(List.of("ORDER_TRADE_UPDATE", "ORDER_TRADE_UPDATE", "ACCOUNT_UPDATE"),
+			  events.stream().map(e -> e.getString("e")).toList());
+		JSONObject trade = events.get(1).getJSONObject("o");
+		assertEquals("TRADE", trade.getString("x"));
+		assertEquals(order.getDouble("avgPrice") * 0.0004, trade.getDouble("n"), 1e-3);
+	}
+
+	@Test
+	void triggersRestingOrdersOnPriceTick() {
+		exchange.placeOrder(Map.of(
+			  "symbol", "BTCUSDT", "side", "BUY", "type", "MARKET", "quantity", "0.5", "positionSide", "LONG"), now);
+
+		JSONObject limit = exchange.placeOrder(Map.of("symbol", "BTCUSDT", "side", "BUY", "type", "LIMIT",
+			  "quantity", "0.1", "price", "99000", "timeInForce", "GTC", "positionSide", "LONG"), now);
+		JSONObject stop = exchange.placeOrder(Map.of("symbol", "BTCUSDT", "side", "SELL", "type", "STOP_MARKET",
+			  "stopPrice", "98000", "closePosition", "true", "positionSide", "LONG"), now);
+		assertEquals("NEW", limit.getString("status"));
+		assertEquals(2, exchange.openOrders("BTCUSDT").length());
+
+		// 이미 넘어선 가격의 조건부 주문은 거절
+		SimulatorException e = assertThrows(SimulatorException.class, () -> exchange.placeOrder(Map.of(
+			  "symbol", "BTCUSDT", "side", "SELL", "type", "TAKE_PROFIT_MARKET", "stopPrice", "99000",
+			  "closePosition", "true", "positionSide", "LONG"), now));
+		assertEquals(-2021, e.getCode());
+
+		// 지정가 도달: 지정가로 메이커 체결, 손절은 아직
+		moveTo(98_900);
+		assertEquals("FILLED", query(limit).getString("status"));
+		assertEquals(99_000, query(limit).getDouble("avgPrice"), 1e-9);
+		assertEquals("NEW", query(stop).getString("status"));
+
+		// 손절 도달: 보유 수량 전체를 시장가로 청산
+		moveTo(97_900);
+		JSONObject stopped = query(stop);
+		assertEquals("FILLED", stopped.getString("status"));
+		assertEquals(0.6, stopped.getDouble("executedQty"), 1e-9);
+		assertEquals(0, exchange.openOrders("BTCUSDT").length());
+		assertEquals(0, exchange.positionRisk("BTCUSDT", true).length());
+	}
+
+	@Test
+	void rejectsDuplicateClientOrderIdAndOversizedReduceOnly() {
+		Map<String, String> params = Map.of("symbol", "BTCUSDT", "side", "BUY", "type", "MARKET", "quantity", "0.1",
+			  "positionSide", "LONG", "newClientOrderId", "dup");
+		exchange.placeOrder(params, now);
+		assertEquals(-4116, assertThrows(SimulatorException.class, () -> exchange.placeOrder(params, now)).getCode());
+
+		assertEquals(-2022, assertThrows(SimulatorException.class, () -> exchange.placeOrder(Map.of(
+			  "symbol", "BTCUSDT", "side", "SELL", "type", "MARKET", "quantity", "0.2", "positionSide", "LONG"), now))
+			  .getCode());
+	}
+
+	@Test
+	void chainsDepthUpdatesFromSnapshot() {
+		SimulatedDepth depth = market.depth("BTCUSDT");
+		JSONObject snapshot = depth.snapshot(1000, now);
+		TreeMap<BigDecimal, BigDecimal> bids = book(snapshot.getJSONArray("bids"));
+		TreeMap<BigDecimal, BigDecimal> asks = book(snapshot.getJSONArray("asks"));
+		long lastUpdateId = snapshot.getLong("lastUpdateId");
+
+		double price = 100_000;
+		for (int i = 0; i < 20; i++) {
+			price *= i % 2 == 0 ? 1.003 : 0.998;
+			moveTo(price);
+			JSONObject event = depth.advance(now);
+			assertNotNull(event);
+
+			// Binance 규칙: pu = 직전 u, U = pu + 1
+			assertEquals(lastUpdateId, event.getLong("pu"));
+			assertEquals(lastUpdateId + 1, event.getLong("U"));
+			assertTrue(event.getLong("u") >= event.getLong("U"));
+			lastUpdateId = event.getLong("u");
+
+			apply(bids, event.getJSONArray("b"));
+			apply(asks, event.getJSONArray("a"));
+		}
+
+		// diff 를 모두 적용한 결과가 현재 스냅샷과 같아야 함
+		JSONObject current = depth.snapshot(1000, now);
+		assertEquals(lastUpdateId, current.getLong("lastUpdateId"));
+		assertEquals(book(current.getJSONArray("bids")), bids);
+		assertEquals(book(current.getJSONArray("asks")), asks);
+	}
+
+	private void moveTo(double price) {
+		now += 100;
+		btc.update(price, 0, now);
+		exchange.onPriceTick(btc, now);
+	}
+
+	private JSONObject query(JSONObject order) {
+		return exchange.queryOrder(Map.of("symbol", "BTCUSDT", "orderId", String.valueOf(order.getLong("orderId"))));
+	}
+
+	private static TreeMap<BigDecimal, BigDecimal> book(JSONArray levels) {
+		TreeMap<BigDecimal, BigDecimal> book = new TreeMap<>();
+		apply(book, levels);
+		return book;
+	}
+
+	private static void apply(TreeMap<BigDecimal, BigDecimal> book, JSONArray levels) {
+		for (int i = 0; i < levels.length(); i++) {
+			BigDecimal price = new BigDecimal(levels.getJSONArray(i).getString(0)).stripTrailingZeros();
+			BigDecimal qty = new BigDecimal(levels.getJSONArray(i).getString(1)).stripTrailingZeros();
+			if (qty.signum() == 0) {
+				book.remove(price);
+			}
+			else {
+				book.put(price, qty);
+			}
+		}
+	}
+}
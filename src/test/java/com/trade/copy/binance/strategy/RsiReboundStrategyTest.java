@@ -0,0 +1,59 @@
+package com.trade.copy.binance.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.strategy.MarketSnapshot.Candle;
+import com.trade.copy.binance.strategy.MarketSnapshot.Position;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class RsiReboundStrategyTest {
+
+	private static final long FIFTEEN = 15 * 60_000L;
+
+	private final RsiReboundStrategy strategy = new RsiReboundStrategy(properties());
+
+	@Test
+	void signalsOnOversoldWithHigherLow() {
+		// 14번 연속 하락 후 마지막 캔들만 소폭 반등하며 저점을 높임
+		List<Candle> candles = new ArrayList<>();
+		double price = 100;
+		for (int i = 0; i < 14; i++) {
+			candles.add(candle(i, price, price - 1.5));
+			price -= 1;
+		}
+		candles.add(candle(14, price + 0.2, price));
+
+		Optional<Signal> signal = strategy.evaluate("BTCUSDT", "15m", snapshot(candles, Map.of()));
+		assertTrue(signal.isPresent());
+		assertEquals("BUY", signal.get().side());
+
+		// 다른 간격 마감에서는 15m 캔들을 보지 않음
+		assertTrue(strategy.evaluate("BTCUSDT", "1h", snapshot(candles, Map.of())).isEmpty());
+
+		// 포지션이 있으면 신호 없음
+		Map<String, List<Position>> positions = Map.of("BTCUSDT",
+			  List.of(new Position("BTCUSDT", "LONG", 0.01, 100, 90)));
+		assertTrue(strategy.evaluate("BTCUSDT", "15m", snapshot(candles, positions)).isEmpty());
+	}
+
+	private static MarketSnapshot snapshot(List<Candle> candles, Map<String, List<Position>> positions) {
+		return new MarketSnapshot(candles.size() * FIFTEEN, Map.of("BTCUSDT|15m", candles), positions);
+	}
+
+	private static Candle candle(int index, double close, double low) {
+		long openTime = index * FIFTEEN;
+		return new Candle(openTime, close + 1, close + 1, low, close, 100, openTime + FIFTEEN - 1);
+	}
+
+	private static BinanceProperties properties() {
+		BinanceProperties props = new BinanceProperties();
+		props.getSchedule().setSymbols(List.of("BTCUSDT"));
+		return props;
+	}
+}
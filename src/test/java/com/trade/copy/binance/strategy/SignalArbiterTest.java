@@ -0,0 +1,24 @@
+package com.trade.copy.binance.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SignalArbiterTest {
+
+	private final SignalArbiter arbiter = new SignalArbiter();
+
+	@Test
+	void dropsConflictsAndKeepsStrongest() {
+		List<Signal> merged = arbiter.arbitrate(List.of(
+			  new Signal("a", "BTCUSDT", "BUY", 0.2, ""),
+			  new Signal("b", "BTCUSDT", "BUY", 0.7, ""),
+			  new Signal("a", "ETHUSDT", "BUY", 0.5, ""),
+			  new Signal("b", "ETHUSDT", "SELL", 0.9, "")));
+
+		assertEquals(1, merged.size());
+		assertEquals("b", merged.getFirst().strategy());
+		assertEquals("BTCUSDT", merged.getFirst().symbol());
+	}
+}
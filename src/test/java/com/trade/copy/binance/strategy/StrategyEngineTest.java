@@ -0,0 +1,143 @@
+package com.trade.copy.binance.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.schedule.CandleCloseScheduler;
+import com.trade.copy.binance.support.SimulatorFixture;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StrategyEngineTest {
+
+	private SimulatorFixture fixture;
+	// "경로 심볼|간격 limit" → 요청 횟수
+	private final ConcurrentMap<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fixture = SimulatorFixture.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		fixture.close();
+	}
+
+	@Test
+	void loadsSharedSnapshotOnceForClosedInterval() throws Exception {
+		// a: 15m 마감 시 1h 를 보조로 봄, b: 15m / 1h 둘 다 트리거지만 더 긴 lookback
+		RecordingStrategy a = new RecordingStrategy("a", Set.of("BTCUSDT", "ETHUSDT"), Set.of("15m"),
+			  Map.of("15m", Set.of("1h")), 20);
+		RecordingStrategy b = new RecordingStrategy("b", Set.of("BTCUSDT"), Set.of("15m", "1h"), Map.of(), 50);
+
+		// 신호가 없으므로 스케줄러 / 진입 서비스는 사용하지 않음
+		StrategyEngine engine = new StrategyEngine(List.of(a, b), null,
+			  new MarketSnapshotLoader(countingApiHelper()), new SignalArbiter(), null);
+
+		long fifteen = CandleCloseScheduler.intervalMillis("15m");
+		long openTime = System.currentTimeMillis() / fifteen * fifteen - fifteen;
+		engine.onCandleClose(List.of("BTCUSDT", "ETHUSDT"), "15m", openTime);
+
+		// (심볼, 간격) 마다 전략들 중 가장 긴 lookback 으로 한 번씩, b 의 1h 는 마감되지 않았으므로 조회하지 않음
+		assertEquals(Map.of(
+			  "/fapi/v1/klines BTCUSDT|15m 51", 1,
+			  "/fapi/v1/klines ETHUSDT|15m 21", 1,
+			  "/fapi/v1/klines BTCUSDT|1h 21", 1,
+			  "/fapi/v1/klines ETHUSDT|1h 21", 1,
+			  "/fapi/v3/positionRisk", 1), counts());
+
+		assertEquals(Set.of("BTCUSDT|15m", "ETHUSDT|15m"), a.evaluated.keySet());
+		assertEquals(Set.of("BTCUSDT|15m"), b.evaluated.keySet());
+		assertTrue(b.evaluated.get("BTCUSDT|15m") > 0);
+	}
+
+	private BinanceApiHelper countingApiHelper() {
+		return new BinanceApiHelper(fixture.getProps(), fixture.getHttpClient(), fixture.getResponseCache(),
+			  fixture.getResilience()) {
+			@Override
+			public String sendPublicGetRequest(String path, Map<String, String> params) throws Exception {
+				record(path + " " + params.get("symbol") + "|" + params.get("interval") + " " + params.get("limit"));
+				return super.sendPublicGetRequest(path, params);
+			}
+
+			@Override
+			public String sendGetRequest(String path, Map<String, String> extraParams) throws Exception {
+				record(path);
+				return super.sendGetRequest(path, extraParams);
+			}
+		};
+	}
+
+	private void record(String request) {
+		requests.computeIfAbsent(request, k -> new AtomicInteger()).incrementAndGet();
+	}
+
+	private Map<String, Integer> counts() {
+		Map<String, Integer> counts = new ConcurrentHashMap<>();
+		requests.forEach((k, v) -> counts.put(k, v.get()));
+		return counts;
+	}
+
+	/**
+	 * 신호를 내지 않고, 평가 때 본 마감 간격의 캔들 개수만 기록하는 전략
+	 */
+	private static class RecordingStrategy implements Strategy {
+
+		private final String name;
+		private final Set<String> symbols;
+		private final Set<String> triggers;
+		private final Map<String, Set<String>> context;
+		private final int lookback;
+		private final ConcurrentMap<String, Integer> evaluated = new ConcurrentHashMap<>();
+
+		RecordingStrategy(String name, Set<String> symbols, Set<String> triggers, Map<String, Set<String>> context,
+			  int lookback) {
+			this.name = name;
+			this.symbols = symbols;
+			this.triggers = triggers;
+			this.context = context;
+			this.lookback = lookback;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public Set<String> symbols() {
+			return symbols;
+		}
+
+		@Override
+		public Set<String> triggerIntervals() {
+			return triggers;
+		}
+
+		@Override
+		public Set<String> contextIntervals(String trigger) {
+			return context.getOrDefault(trigger, Set.of());
+		}
+
+		@Override
+		public int lookback() {
+			return lookback;
+		}
+
+		@Override
+		public Optional<Signal> evaluate(String symbol, String interval, MarketSnapshot snapshot) {
+			evaluated.put(symbol + "|" + interval, snapshot.candles(symbol, interval).size());
+			return Optional.empty();
+		}
+	}
+}
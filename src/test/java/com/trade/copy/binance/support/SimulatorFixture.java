@@ -0,0 +1,159 @@
+package com.trade.copy.binance.support;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.trade.copy.binance.cache.ApiResponseCache;
+import com.trade.copy.binance.cache.ExchangeInfoCache;
+import com.trade.copy.binance.config.BinanceHttpClient;
+import com.trade.copy.binance.config.BinanceProperties;
+import com.trade.copy.binance.gateway.RestOrderGateway;
+import com.trade.copy.binance.helper.ApiResilience;
+import com.trade.copy.binance.helper.BinanceApiHelper;
+import com.trade.copy.binance.simulator.ExchangeSimulator;
+import com.trade.copy.binance.simulator.SimulatorConfig;
+import com.trade.copy.binance.stream.UserDataStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import org.json.JSONObject;
+
+/**
+ * 임의 포트의 거래소 시뮬레이터와, 여기에 접속하는 REST / 유저 스트림 구성요소를 묶은 테스트 픽스처
+ *  - 구성요소는 처음 요청될 때 만들어지므로, 그 전에 getProps() 로 설정을 바꿀 수 있습니다.
+ *  - 테스트 대상 컴포넌트를 먼저 종료한 뒤 close() 를 호출합니다.
+ */
+public class SimulatorFixture implements AutoCloseable {
+
+	private final ExchangeSimulator simulator;
+	private final BinanceProperties props = new BinanceProperties();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private BinanceHttpClient httpClient;
+	private ApiResponseCache responseCache;
+	private ApiResilience resilience;
+	private BinanceApiHelper apiHelper;
+	private RestOrderGateway gateway;
+	private ExchangeInfoCache exchangeInfoCache;
+	private UserDataStream userDataStream;
+
+	private SimulatorFixture(SimulatorConfig config) throws Exception {
+		simulator = new ExchangeSimulator(config);
+		simulator.start();
+
+		props.setBaseUrl(simulator.getBaseUrl());
+		props.setStreamUrl(simulator.getStreamUrl());
+		props.setKey(config.getApiKey());
+		props.setSecret(config.getSecret());
+		props.setRecvWindow(5000);
+	}
+
+	/**
+	 * 심볼 5개 시뮬레이터를 시작합니다.
+	 */
+	public static SimulatorFixture start() throws Exception {
+		SimulatorConfig config = new SimulatorConfig();
+		config.setHttpPort(0);
+		config.setWsPort(0);
+		config.setSymbolCount(5);
+		return new SimulatorFixture(config);
+	}
+
+	public ExchangeSimulator getSimulator() {
+		return simulator;
+	}
+
+	public BinanceProperties getProps() {
+		return props;
+	}
+
+	public SimpleMeterRegistry getMeterRegistry() {
+		return meterRegistry;
+	}
+
+	public synchronized BinanceHttpClient getHttpClient() {
+		if (httpClient == null) {
+			httpClient = new BinanceHttpClient();
+		}
+		return httpClient;
+	}
+
+	public synchronized ApiResponseCache getResponseCache() {
+		if (responseCache == null) {
+			responseCache = new ApiResponseCache(props, meterRegistry);
+		}
+		return responseCache;
+	}
+
+	public synchronized ApiResilience getResilience() {
+		if (resilience == null) {
+			resilience = new ApiResilience(props, meterRegistry);
+		}
+		return resilience;
+	}
+
+	public synchronized BinanceApiHelper getApiHelper() {
+		if (apiHelper == null) {
+			apiHelper = new BinanceApiHelper(props, getHttpClient(), getResponseCache(), getResilience());
+		}
+		return apiHelper;
+	}
+
+	public synchronized RestOrderGateway getGateway() {
+		if (gateway == null) {
+			gateway = new RestOrderGateway(getApiHelper());
+		}
+		return gateway;
+	}
+
+	public synchronized ExchangeInfoCache getExchangeInfoCache() {
+		if (exchangeInfoCache == null) {
+			exchangeInfoCache = new ExchangeInfoCache(getApiHelper());
+			exchangeInfoCache.init();
+		}
+		return exchangeInfoCache;
+	}
+
+	public synchronized UserDataStream getUserDataStream() {
+		if (userDataStream == null) {
+			userDataStream = new UserDataStream(props, getApiHelper(), getHttpClient());
+		}
+		return userDataStream;
+	}
+
+	/**
+	 * 현재 마크 가격 (REST 조회)
+	 */
+	public double markPrice(String symbol) throws Exception {
+		return new JSONObject(getApiHelper().sendGetRequest("/fapi/v1/premiumIndex", Map.of("symbol", symbol)))
+			  .getDouble("markPrice");
+	}
+
+	/**
+	 * 헤지 모드 시장가 주문
+	 */
+	public JSONObject marketOrder(String symbol, String side, String quantity, String positionSide) throws Exception {
+		return new JSONObject(getGateway().placeOrder(Map.of(
+			  "symbol", symbol, "side", side, "type", "MARKET", "quantity", quantity, "positionSide", positionSide)));
+	}
+
+	/**
+	 * 조건이 참이 될 때까지 최대 5초 기다립니다.
+	 */
+	public static void await(BooleanSupplier condition) throws InterruptedException {
+		for (int i = 0; i < 50 && !condition.getAsBoolean(); i++) {
+			Thread.sleep(100);
+		}
+		assertTrue(condition.getAsBoolean());
+	}
+
+	@Override
+	public synchronized void close() {
+		if (userDataStream != null) {
+			userDataStream.shutdown();
+		}
+		if (resilience != null) {
+			resilience.shutdown();
+		}
+		simulator.stop();
+	}
+}
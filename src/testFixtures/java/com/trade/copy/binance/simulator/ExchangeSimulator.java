@@ -0,0 +1,275 @@
+package com.trade.copy.binance.simulator;
+
+import com.trade.copy.binance.simulator.SimulatedMarket.SymbolState;
+import com.trade.copy.binance.util.SignatureUtil;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import lombok.Getter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * 로컬 Binance Futures 거래소 시뮬레이터
+ *  - REST(SimulatorHttpServer), WebSocket(SimulatorWebSocketServer), 시세(SimulatedMarket), 체결(SimulatedExchange)을 묶어 구동합니다.
+ *  - 틱마다 가격을 진행시키고, 조건부 주문을 체결하며, 구독 중인 마켓 스트림을 발행합니다.
+ * 테스트에서는 포트 0 으로 생성해 임의 포트를 사용할 수 있습니다.
+ */
+public class ExchangeSimulator {
+
+	private static final Logger logger = Logger.getLogger(ExchangeSimulator.class.getName());
+
+	@Getter
+	private final SimulatorConfig config;
+	@Getter
+	private final SimulatedMarket market;
+	@Getter
+	private final SimulatedExchange exchange;
+
+	private final SimulatorHttpServer httpServer;
+	private final SimulatorWebSocketServer wsServer;
+	private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "simulator-ticker");
+		t.setDaemon(true);
+		return t;
+	});
+
+	// 스트림별 마지막으로 발행한 캔들 시작 시각 (마감 이벤트 발행용)
+	private final Map<String, Long> lastKlineOpenTimes = new ConcurrentHashMap<>();
+	private long lastMarkPricePublish = 0;
+
+	public ExchangeSimulator(SimulatorConfig config) throws IOException {
+		this.config = config;
+		this.market = new SimulatedMarket(config);
+		this.exchange = new SimulatedExchange(config, market);
+		this.httpServer = new SimulatorHttpServer(config, market, exchange);
+		this.wsServer = new SimulatorWebSocketServer(config.getWsPort(), exchange::isValidListenKey, this::handleApiRequest);
+		this.exchange.addUserEventListener(wsServer::publishUserEvent);
+	}
+
+	public void start() {
+		httpServer.start();
+		wsServer.start();
+		ticker.scheduleAtFixedRate(this::tick, config.getTickMillis(), config.getTickMillis(), TimeUnit.MILLISECONDS);
+		logger.info("🧪 시뮬레이터 시작: REST http://127.0.0.1:" + getHttpPort()
+			  + " / WS ws://127.0.0.1:" + getWsPort() + " / 심볼 " + market.getSymbols().size() + "개");
+	}
+
+	public void stop() {
+		ticker.shutdownNow();
+		wsServer.stop();
+		httpServer.stop();
+	}
+
+	public int getHttpPort() {
+		return httpServer.getPort();
+	}
+
+	public int getWsPort() {
+		return wsServer.getPort();
+	}
+
+	public String getBaseUrl() {
+		return "http://127.0.0.1:" + getHttpPort();
+	}
+
+	public String getStreamUrl() {
+		return "ws://127.0.0.1:" + getWsPort();
+	}
+
+	/**
+	 * 심볼 가격을 지정한 값으로 옮기고 대기 주문을 평가합니다. (테스트에서 손익 / 조건부 주문 체결을 만들 때 사용)
+	 */
+	public void setPrice(String symbol, double price) {
+		SymbolState state = market.getSymbol(symbol);
+		long now = System.currentTimeMillis();
+		synchronized (state) {
+			state.update(price, 0, now);
+		}
+		exchange.onPriceTick(state, now);
+	}
+
+	/**
+	 * 거래용 WebSocket API(/ws-fapi/v1) 요청 처리
+	 *  - params 의 apiKey 와, signature 를 제외한 파라미터를 이름순으로 정렬한 문자열의 서명을 검증합니다.
+	 *  - 응답은 {"id", "status", "result"} 또는 {"id", "status", "error": {"code", "msg"}} 형태입니다.
+	 */
+	private JSONObject handleApiRequest(JSONObject request) {
+		Object id = request.opt("id");
+		try {
+			String method = request.optString("method");
+			JSONObject rawParams = request.optJSONObject("params");
+			Map<String, String> params = new TreeMap<>();
+			if (rawParams != null) {
+				rawParams.keySet().forEach(k -> params.put(k, rawParams.get(k).toString()));
+			}
+
+			long now = System.currentTimeMillis();
+			verifyApiSignature(params, now);
+
+			Object result = switch (method) {
+				case "order.place" -> exchange.placeOrder(params, now);
+				case "order.cancel" -> exchange.cancelOrder(params, now);
+				case "order.status" -> exchange.queryOrder(params);
+				case "account.position" -> exchange.positionRisk(params.get("symbol"), false);
+				default -> throw SimulatorException.badRequest(-1100, "Unknown method: " + method);
+			};
+			return new JSONObject().put("id", id).put("status", 200).put("result", result);
+		} catch (SimulatorException e) {
+			return new JSONObject()
+				  .put("id", id)
+				  .put("status", e.getHttpStatus())
+				  .put("error", new JSONObject().put("code", e.getCode()).put("msg", e.getMessage()));
+		} catch (Exception e) {
+			return new JSONObject()
+				  .put("id", id)
+				  .put("status", 500)
+				  .put("error", new JSONObject().put("code", -1000).put("msg", String.valueOf(e.getMessage())));
+		}
+	}
+
+	private void verifyApiSignature(Map<String, String> params, long now) throws Exception {
+		if (!config.getApiKey().equals(params.get("apiKey"))) {
+			throw new SimulatorException(401, -2015, "Invalid API-key, IP, or permissions for action.");
+		}
+		String signature = params.remove("signature");
+		if (signature == null) {
+			throw SimulatorException.badRequest(-1102,
+				  "Mandatory parameter 'signature' was not sent, was empty/null, or malformed.");
+		}
+
+		String payload = params.entrySet().stream()
+			  .map(e -> e.getKey() + "=" + e.getValue())
+			  .reduce((a, b) -> a + "&" + b)
+			  .orElse("");
+		if (!SignatureUtil.generate(payload, config.getSecret()).equals(signature)) {
+			throw SimulatorException.badRequest(-1022, "Signature for this request is not valid.");
+		}
+
+		long timestamp = Long.parseLong(SimulatedExchange.required(params, "timestamp"));
+		long recvWindow = Long.parseLong(params.getOrDefault("recvWindow", "5000"));
+		if (timestamp < now - recvWindow || timestamp > now + 1000) {
+			throw SimulatorException.badRequest(-1021, "Timestamp for this request is outside of the recvWindow.");
+		}
+	}
+
+	private void tick() {
+		try {
+			long now = System.currentTimeMillis();
+			market.tick(now);
+			for (SymbolState state : market.getSymbols()) {
+				exchange.onPriceTick(state, now);
+			}
+			publishMarketStreams(now);
+		} catch (Exception e) {
+			// 스케줄러가 예외로 중단되지 않도록 로그만 남김
+			logger.log(Level.WARNING, "시뮬레이터 틱 처리 실패", e);
+		}
+	}
+
+	private void publishMarketStreams(long now) {
+		boolean markPriceDue = now - lastMarkPricePublish >= 1000;
+		if (markPriceDue) {
+			lastMarkPricePublish = now;
+		}
+
+		Map<String, List<String>> depthStreams = new HashMap<>();
+		for (String stream : wsServer.subscribedStreams()) {
+			int at = stream.indexOf('@');
+			if (at <= 0) continue;
+			String symbol = stream.substring(0, at).toUpperCase(Locale.ROOT);
+			String type = stream.substring(at + 1);
+
+			SymbolState state;
+			try {
+				state = market.getSymbol(symbol);
+			} catch (SimulatorException e) {
+				continue;
+			}
+
+			if (type.startsWith("markPrice") && markPriceDue) {
+				wsServer.publish(stream, markPriceEvent(state, now));
+			}
+			else if (type.startsWith("kline_")) {
+				publishKline(stream, state, type.substring("kline_".length()), now);
+			}
+			else if (type.startsWith("depth")) {
+				depthStreams.computeIfAbsent(symbol, k -> new ArrayList<>()).add(stream);
+			}
+		}
+
+		// 같은 심볼의 depth 스트림들은 한 번 만든 diff 를 공유해야 U / u / pu 연속성이 유지됨
+		depthStreams.forEach((symbol, streams) -> {
+			JSONObject event = market.depth(symbol).advance(now);
+			if (event != null) {
+				streams.forEach(stream -> wsServer.publish(stream, event));
+			}
+		});
+	}
+
+	private JSONObject markPriceEvent(SymbolState state, long now) {
+		String price = state.price(state.getMarkPrice());
+		return new JSONObject()
+			  .put("e", "markPriceUpdate")
+			  .put("E", now)
+			  .put("s", state.getSymbol())
+			  .put("p", price)
+			  .put("i", price)
+			  .put("P", price)
+			  .put("r", "0.00010000")
+			  .put("T", now - Math.floorMod(now, 8 * 3_600_000L) + 8 * 3_600_000L);
+	}
+
+	private void publishKline(String stream, SymbolState state, String interval, long now) {
+		JSONArray rows;
+		try {
+			rows = market.klines(state.getSymbol(), interval, 2, null, null);
+		} catch (SimulatorException e) {
+			return;
+		}
+		if (rows.isEmpty()) return;
+
+		JSONArray current = rows.getJSONArray(rows.length() - 1);
+		Long previousOpen = lastKlineOpenTimes.put(stream, current.getLong(0));
+		if (previousOpen != null && previousOpen != current.getLong(0) && rows.length() > 1) {
+			// 직전 캔들이 방금 마감되었으므로 x=true 이벤트를 먼저 발행
+			wsServer.publish(stream, klineEvent(state, interval, rows.getJSONArray(0), true, now));
+		}
+		wsServer.publish(stream, klineEvent(state, interval, current, false, now));
+	}
+
+	private JSONObject klineEvent(SymbolState state, String interval, JSONArray row, boolean closed, long now) {
+		return new JSONObject()
+			  .put("e", "kline")
+			  .put("E", now)
+			  .put("s", state.getSymbol())
+			  .put("k", new JSONObject()
+					.put("t", row.getLong(0))
+					.put("T", row.getLong(6))
+					.put("s", state.getSymbol())
+					.put("i", interval)
+					.put("f", 0)
+					.put("L", 0)
+					.put("o", row.getString(1))
+					.put("c", row.getString(4))
+					.put("h", row.getString(2))
+					.put("l", row.getString(3))
+					.put("v", row.getString(5))
+					.put("n", row.getInt(8))
+					.put("x", closed)
+					.put("q", row.getString(7))
+					.put("V", row.getString(9))
+					.put("Q", row.getString(10))
+					.put("B", "0"));
+	}
+}
@@ -0,0 +1,16 @@
+package com.trade.copy.binance.simulator;
+
+/**
+ * 시뮬레이터 단독 실행 진입점
+ *  - ./gradlew runSimulator --args="--symbols=500 --latency-ms=20 --error-rate=0.01"
+ *  - 봇은 spring.profiles.active=simulator 로 실행하면 이 시뮬레이터에 접속합니다.
+ */
+public class ExchangeSimulatorApplication {
+
+	public static void main(String[] args) throws Exception {
+		ExchangeSimulator simulator = new ExchangeSimulator(SimulatorConfig.fromArgs(args));
+		Runtime.getRuntime().addShutdownHook(new Thread(simulator::stop));
+		simulator.start();
+		Thread.currentThread().join();
+	}
+}
@@ -0,0 +1,154 @@
+package com.trade.copy.binance.simulator;
+
+import com.trade.copy.binance.simulator.SimulatedMarket.SymbolState;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * 마크 가격 주변에 호가를 생성하고, 틱마다 이전 호가와의 차이를 depthUpdate 이벤트(U / u / pu)로 만들어내는 모델
+ *  - 스냅샷(/fapi/v1/depth)의 lastUpdateId 와 이벤트 update id 가 Binance 와 같은 규칙으로 이어집니다.
+ *  - 구독되거나 스냅샷이 요청된 심볼만 생성하므로 심볼 수가 많아도 비용이 크지 않습니다.
+ */
+class SimulatedDepth {
+
+	// 한쪽 호가 레벨 수
+	private static final int LEVELS = 100;
+
+	private final SymbolState state;
+	private final SimulatorConfig config;
+	private final Random random;
+
+	private TreeMap<Double, Double> bids = new TreeMap<>(Comparator.reverseOrder());
+	private TreeMap<Double, Double> asks = new TreeMap<>();
+	private long lastUpdateId = 1;
+
+	SimulatedDepth(SymbolState state, SimulatorConfig config, long seed) {
+		this.state = state;
+		this.config = config;
+		this.random = new Random(seed);
+		rebuild(bids, asks, bids, asks);
+	}
+
+	/**
+	 * 현재 호가 스냅샷
+	 */
+	synchronized JSONObject snapshot(int limit, long now) {
+		return new JSONObject()
+			  .put("lastUpdateId", lastUpdateId)
+			  .put("E", now)
+			  .put("T", now)
+			  .put("bids", levels(bids, limit))
+			  .put("asks", levels(asks, limit));
+	}
+
+	/**
+	 * 새 마크 가격 기준으로 호가를 다시 만들고, 변경분을 depthUpdate 이벤트로 반환합니다.
+	 *
+	 * @return 변경이 없으면 null
+	 */
+	synchronized JSONObject advance(long now) {
+		TreeMap<Double, Double> nextBids = new TreeMap<>(Comparator.reverseOrder());
+		TreeMap<Double, Double> nextAsks = new TreeMap<>();
+		rebuild(nextBids, nextAsks, bids, asks);
+
+		JSONArray bidDiff = diff(bids, nextBids);
+		JSONArray askDiff = diff(asks, nextAsks);
+		bids = nextBids;
+		asks = nextAsks;
+		if (bidDiff.isEmpty() && askDiff.isEmpty()) {
+			return null;
+		}
+
+		long previous = lastUpdateId;
+		long first = previous + 1;
+		lastUpdateId = previous + bidDiff.length() + askDiff.length();
+
+		return new JSONObject()
+			  .put("e", "depthUpdate")
+			  .put("E", now)
+			  .put("T", now)
+			  .put("s", state.getSymbol())
+			  .put("U", first)
+			  .put("u", lastUpdateId)
+			  .put("pu", previous)
+			  .put("b", bidDiff)
+			  .put("a", askDiff);
+	}
+
+	/**
+	 * 마크 가격 기준으로 호가 격자를 만들고, 이전에 있던 레벨은 대부분 잔량을 유지하여 diff 크기를 현실적으로 맞춥니다.
+	 */
+	private void rebuild(TreeMap<Double, Double> nextBids, TreeMap<Double, Double> nextAsks,
+		  TreeMap<Double, Double> prevBids, TreeMap<Double, Double> prevAsks) {
+		double mark = state.getMarkPrice();
+		double tick = state.getTickSize();
+		double halfSpread = Math.max(tick, mark * config.getSpreadBps() / 10_000.0);
+		double spacing = Math.max(tick, Math.round(mark * 0.00005 / tick) * tick);
+
+		// 명목가 10만 USDT 가 impactBpsPer100k 만큼 가격을 밀도록 레벨당 잔량을 정함
+		double bandNotional = 100_000.0 * (spacing / mark * 10_000.0) / Math.max(config.getImpactBpsPer100k(), 0.01);
+
+		double bestBid = Math.floor((mark - halfSpread) / tick) * tick;
+		double bestAsk = Math.ceil((mark + halfSpread) / tick) * tick;
+		for (int i = 0; i < LEVELS; i++) {
+			double bidPrice = round(bestBid - i * spacing);
+			double askPrice = round(bestAsk + i * spacing);
+			if (bidPrice > 0) {
+				nextBids.put(bidPrice, quantity(prevBids.get(bidPrice), bandNotional, bidPrice));
+			}
+			nextAsks.put(askPrice, quantity(prevAsks.get(askPrice), bandNotional, askPrice));
+		}
+	}
+
+	private double quantity(Double previous, double bandNotional, double price) {
+		if (previous != null && random.nextDouble() > 0.1) {
+			return previous;
+		}
+		double qty = bandNotional * (0.5 + random.nextDouble()) / price;
+		double step = state.getStepSize();
+		return Math.max(step, Math.round(qty / step) * step);
+	}
+
+	private double round(double price) {
+		return Double.parseDouble(state.price(price));
+	}
+
+	private JSONArray diff(TreeMap<Double, Double> before, TreeMap<Double, Double> after) {
+		JSONArray changes = new JSONArray();
+		for (Map.Entry<Double, Double> e : before.entrySet()) {
+			if (!after.containsKey(e.getKey())) {
+				changes.put(level(e.getKey(), 0));
+			}
+		}
+		for (Map.Entry<Double, Double> e : after.entrySet()) {
+			Double old = before.get(e.getKey());
+			if (old == null || !old.equals(e.getValue())) {
+				changes.put(level(e.getKey(), e.getValue()));
+			}
+		}
+		return changes;
+	}
+
+	private JSONArray levels(TreeMap<Double, Double> side, int limit) {
+		JSONArray arr = new JSONArray();
+		for (Map.Entry<Double, Double> e : side.entrySet()) {
+			if (arr.length() >= limit) break;
+			arr.put(level(e.getKey(), e.getValue()));
+		}
+		return arr;
+	}
+
+	private JSONArray level(double price, double quantity) {
+		return new JSONArray()
+			  .put(state.price(price))
+			  .put(BigDecimal.valueOf(quantity)
+					.setScale(state.getQuantityPrecision(), RoundingMode.HALF_UP)
+					.toPlainString());
+	}
+}
@@ -0,0 +1,826 @@
+package com.trade.copy.binance.simulator;
+
+import com.trade.copy.binance.simulator.SimulatedMarket.SymbolState;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * 시뮬레이터의 계정 / 주문 / 체결 모델
+ *  - MARKET 주문은 마크 가격에 스프레드와 명목가 비례 충격을 더한 가격으로 즉시 체결됩니다.
+ *  - LIMIT 주문은 가격에 도달하면 메이커로, STOP_MARKET / TAKE_PROFIT_MARKET 은 stopPrice 도달 시 시장가로 체결됩니다.
+ *  - 체결 / 잔고 변경은 ORDER_TRADE_UPDATE, ACCOUNT_UPDATE 이벤트로 유저 스트림 리스너에 전달됩니다.
+ * 모든 상태 변경은 이 객체의 모니터 안에서 일어나고, 이벤트는 락을 푼 뒤에 전달합니다.
+ */
+public class SimulatedExchange {
+
+	// 조회용으로 보관하는 종료 주문 수
+	private static final int MAX_ORDER_HISTORY = 100_000;
+	// 조회용으로 보관하는 체결 / 손익 내역 수
+	private static final int MAX_LEDGER_HISTORY = 100_000;
+
+	private final SimulatorConfig config;
+	private final SimulatedMarket market;
+
+	private final List<Consumer<JSONObject>> userEventListeners = new CopyOnWriteArrayList<>();
+	private final ConcurrentLinkedQueue<JSONObject> pendingEvents = new ConcurrentLinkedQueue<>();
+
+	private double walletBalance;
+	private boolean dualSidePosition = true;
+	private long nextOrderId = 1_000_000L;
+	private long nextTradeId = 1L;
+	private String listenKey;
+
+	private final Map<String, Integer> leverages = new HashMap<>();
+	private final Map<String, Position> positions = new HashMap<>();
+	private final Map<String, List<Order>> openOrdersBySymbol = new HashMap<>();
+	private final Map<Long, Order> orders = new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Order> eldest) {
+			boolean evict = size() > MAX_ORDER_HISTORY && !"NEW".equals(eldest.getValue().status);
+			if (evict) {
+				ordersByClientId.remove(eldest.getValue().clientOrderId);
+			}
+			return evict;
+		}
+	};
+	private final Map<String, Order> ordersByClientId = new HashMap<>();
+	// /fapi/v1/userTrades, /fapi/v1/income 응답용 내역 (시간 오름차순)
+	private final List<JSONObject> trades = new ArrayList<>();
+	private final List<JSONObject> incomes = new ArrayList<>();
+	private long nextTranId = 1L;
+
+	public SimulatedExchange(SimulatorConfig config, SimulatedMarket market) {
+		this.config = config;
+		this.market = market;
+		this.walletBalance = config.getInitialBalance();
+	}
+
+	public void addUserEventListener(Consumer<JSONObject> listener) {
+		userEventListeners.add(listener);
+	}
+
+	// ---------------------------------------------------------------------
+	// 계정 설정
+	// ---------------------------------------------------------------------
+
+	public JSONObject changeLeverage(Map<String, String> params) {
+		String symbol = required(params, "symbol");
+		int leverage = Integer.parseInt(required(params, "leverage"));
+		market.getSymbol(symbol);
+		if (leverage < 1 || leverage > 125) {
+			throw SimulatorException.badRequest(-4028, "Leverage " + leverage + " is not valid");
+		}
+		synchronized (this) {
+			leverages.put(symbol, leverage);
+		}
+		return new JSONObject()
+			  .put("symbol", symbol)
+			  .put("leverage", leverage)
+			  .put("maxNotionalValue", String.valueOf(250_000_000L / leverage));
+	}
+
+	public synchronized JSONObject getPositionMode() {
+		return new JSONObject().put("dualSidePosition", dualSidePosition);
+	}
+
+	public synchronized JSONObject changePositionMode(Map<String, String> params) {
+		boolean dual = Boolean.parseBoolean(required(params, "dualSidePosition"));
+		boolean hasExposure = positions.values().stream().anyMatch(p -> p.amount != 0)
+			  || openOrdersBySymbol.values().stream().anyMatch(l -> !l.isEmpty());
+		if (hasExposure) {
+			throw SimulatorException.badRequest(-4068, "Position side cannot be changed if there exists position.");
+		}
+		if (dual == dualSidePosition) {
+			throw SimulatorException.badRequest(-4059, "No need to change position side.");
+		}
+		dualSidePosition = dual;
+		return new JSONObject().put("code", 200).put("msg", "success");
+	}
+
+	public synchronized JSONObject createListenKey() {
+		if (listenKey == null) {
+			listenKey = UUID.randomUUID().toString().replace("-", "")
+				  + UUID.randomUUID().toString().replace("-", "");
+		}
+		return new JSONObject().put("listenKey", listenKey);
+	}
+
+	public synchronized JSONObject closeListenKey() {
+		listenKey = null;
+		return new JSONObject();
+	}
+
+	public synchronized boolean isValidListenKey(String key) {
+		return key != null && key.equals(listenKey);
+	}
+
+	// ---------------------------------------------------------------------
+	// 조회
+	// ---------------------------------------------------------------------
+
+	public JSONObject premiumIndex(String symbol, long now) {
+		SymbolState state = market.getSymbol(symbol);
+		return new JSONObject()
+			  .put("symbol", symbol)
+			  .put("markPrice", state.price(state.getMarkPrice()))
+			  .put("indexPrice", state.price(state.getMarkPrice()))
+			  .put("estimatedSettlePrice", state.price(state.getMarkPrice()))
+			  .put("lastFundingRate", "0.00010000")
+			  .put("interestRate", "0.00010000")
+			  .put("nextFundingTime", now - Math.floorMod(now, 8 * 3_600_000L) + 8 * 3_600_000L)
+			  .put("time", now);
+	}
+
+	/**
+	 * /fapi/v2/positionRisk (모든 심볼, 수량 0 포함) 또는 /fapi/v3/positionRisk (보유 / 주문 있는 심볼만) 응답
+	 */
+	public synchronized JSONArray positionRisk(String symbol, boolean onlyActive) {
+		JSONArray arr = new JSONArray();
+		List<String> sides = dualSidePosition ? List.of("LONG", "SHORT") : List.of("BOTH");
+
+		for (SymbolState state : market.getSymbols()) {
+			if (symbol != null && !symbol.equals(state.getSymbol())) continue;
+
+			for (String side : sides) {
+				Position p = positions.get(positionKey(state.getSymbol(), side));
+				double amount = p == null ? 0 : p.amount;
+				boolean hasOrders = !openOrdersBySymbol.getOrDefault(state.getSymbol(), List.of()).isEmpty();
+				if (onlyActive && amount == 0 && !hasOrders) continue;
+
+				double entry = p == null ? 0 : p.entryPrice;
+				double mark = state.getMarkPrice();
+				int leverage = leverageOf(state.getSymbol());
+				double notional = amount * mark;
+
+				arr.put(new JSONObject()
+					  .put("symbol", state.getSymbol())
+					  .put("positionSide", side)
+					  .put("positionAmt", quantity(state, amount))
+					  .put("entryPrice", state.price(entry))
+					  .put("breakEvenPrice", state.price(entry))
+					  .put("markPrice", state.price(mark))
+					  .put("unRealizedProfit", money((mark - entry) * amount))
+					  .put("liquidationPrice", "0")
+					  .put("leverage", String.valueOf(leverage))
+					  .put("marginType", "cross")
+					  .put("isolatedMargin", "0.00000000")
+					  .put("notional", money(notional))
+					  .put("marginAsset", "USDT")
+					  .put("initialMargin", money(Math.abs(notional) / leverage))
+					  .put("positionInitialMargin", money(Math.abs(notional) / leverage))
+					  .put("maintMargin", money(Math.abs(notional) * 0.004))
+					  .put("adl", 0)
+					  .put("updateTime", p == null ? 0 : p.updateTime));
+			}
+		}
+		return arr;
+	}
+
+	/**
+	 * /fapi/v3/balance 응답 (USDT 단일 자산)
+	 */
+	public synchronized JSONArray balance(long now) {
+		double available = availableBalance();
+		return new JSONArray().put(new JSONObject()
+			  .put("accountAlias", "SimAccount")
+			  .put("asset", "USDT")
+			  .put("balance", money(walletBalance))
+			  .put("crossWalletBalance", money(walletBalance))
+			  .put("availableBalance", money(available))
+			  .put("maxWithdrawAmount", money(Math.max(0, available)))
+			  .put("marginAvailable", true)
+			  .put("updateTime", now));
+	}
+
+	/**
+	 * /fapi/v1/income 응답. startTime 이후 내역을 시간 오름차순으로 limit(기본 100, 최대 1000)개까지 반환
+	 */
+	public synchronized JSONArray income(Map<String, String> params) {
+		String symbol = params.get("symbol");
+		String incomeType = params.get("incomeType");
+		long startTime = Long.parseLong(params.getOrDefault("startTime", "0"));
+		long endTime = Long.parseLong(params.getOrDefault("endTime", String.valueOf(Long.MAX_VALUE)));
+		int limit = Math.min(1000, Integer.parseInt(params.getOrDefault("limit", "100")));
+
+		JSONArray arr = new JSONArray();
+		for (JSONObject income : incomes) {
+			if (arr.length() >= limit) break;
+			long time = income.getLong("time");
+			if (time < startTime || time > endTime) continue;
+			if (symbol != null && !symbol.equals(income.getString("symbol"))) continue;
+			if (incomeType != null && !incomeType.equals(income.getString("incomeType"))) continue;
+			arr.put(income);
+		}
+		return arr;
+	}
+
+	/**
+	 * /fapi/v1/userTrades 응답. fromId 가 있으면 그 id 부터, 없으면 startTime 이후 체결을 limit(기본 500, 최대 1000)개까지 반환
+	 */
+	public synchronized JSONArray userTrades(Map<String, String> params) {
+		String symbol = required(params, "symbol");
+		long fromId = Long.parseLong(params.getOrDefault("fromId", "0"));
+		long startTime = Long.parseLong(params.getOrDefault("startTime", "0"));
+		long endTime = Long.parseLong(params.getOrDefault("endTime", String.valueOf(Long.MAX_VALUE)));
+		int limit = Math.min(1000, Integer.parseInt(params.getOrDefault("limit", "500")));
+
+		JSONArray arr = new JSONArray();
+		for (JSONObject trade : trades) {
+			if (arr.length() >= limit) break;
+			if (!symbol.equals(trade.getString("symbol"))) continue;
+			if (trade.getLong("id") < fromId) continue;
+			long time = trade.getLong("time");
+			if (time < startTime || time > endTime) continue;
+			arr.put(trade);
+		}
+		return arr;
+	}
+
+	public synchronized JSONArray openOrders(String symbol) {
+		JSONArray arr = new JSONArray();
+		openOrdersBySymbol.forEach((s, list) -> {
+			if (symbol != null && !symbol.equals(s)) return;
+			list.forEach(o -> arr.put(o.toJson(market.getSymbol(s))));
+		});
+		return arr;
+	}
+
+	public synchronized JSONObject queryOrder(Map<String, String> params) {
+		Order order = findOrder(params);
+		if (order == null) {
+			throw SimulatorException.badRequest(-2013, "Order does not exist.");
+		}
+		return order.toJson(market.getSymbol(order.symbol));
+	}
+
+	// ---------------------------------------------------------------------
+	// 주문
+	// ---------------------------------------------------------------------
+
+	public JSONObject placeOrder(Map<String, String> params, long now) {
+		JSONObject result;
+		synchronized (this) {
+			result = doPlaceOrder(params, now);
+		}
+		flushEvents();
+		return result;
+	}
+
+	/**
+	 * /fapi/v1/batchOrders: 최대 5개 주문을 받아 각각의 결과 또는 오류 객체를 순서대로 반환합니다.
+	 */
+	public JSONArray placeBatchOrders(Map<String, String> params, long now) {
+		JSONArray requests = new JSONArray(required(params, "batchOrders"));
+		if (requests.length() > 5) {
+			throw SimulatorException.badRequest(-1102, "Param 'batchOrders' exceeds the maximum of 5 orders.");
+		}
+
+		JSONArray results = new JSONArray();
+		synchronized (this) {
+			for (int i = 0; i < requests.length(); i++) {
+				JSONObject req = requests.getJSONObject(i);
+				Map<String, String> orderParams = new HashMap<>();
+				req.keySet().forEach(k -> orderParams.put(k, String.valueOf(req.get(k))));
+				try {
+					results.put(doPlaceOrder(orderParams, now));
+				} catch (SimulatorException e) {
+					results.put(new JSONObject().put("code", e.getCode()).put("msg", e.getMessage()));
+				}
+			}
+		}
+		flushEvents();
+		return results;
+	}
+
+	public JSONObject cancelOrder(Map<String, String> params, long now) {
+		JSONObject result;
+		synchronized (this) {
+			Order order = findOrder(params);
+			if (order == null || !"NEW".equals(order.status)) {
+				throw SimulatorException.badRequest(-2011, "Unknown order sent.");
+			}
+			finish(order, "CANCELED", now);
+			result = order.toJson(market.getSymbol(order.symbol));
+		}
+		flushEvents();
+		return result;
+	}
+
+	public JSONObject cancelAllOpenOrders(Map<String, String> params, long now) {
+		String symbol = required(params, "symbol");
+		market.getSymbol(symbol);
+		synchronized (this) {
+			List<Order> open = new ArrayList<>(openOrdersBySymbol.getOrDefault(symbol, List.of()));
+			open.forEach(o -> finish(o, "CANCELED", now));
+		}
+		flushEvents();
+		return new JSONObject().put("code", 200).put("msg", "The operation of cancel all open order is done.");
+	}
+
+	/**
+	 * 가격 틱 이후 호출되어 해당 심볼의 지정가 / 조건부 주문 체결 여부를 확인합니다.
+	 */
+	public void onPriceTick(SymbolState state, long now) {
+		synchronized (this) {
+			List<Order> open = openOrdersBySymbol.get(state.getSymbol());
+			if (open == null || open.isEmpty()) return;
+
+			double mark = state.getMarkPrice();
+			for (Order order : new ArrayList<>(open)) {
+				boolean buy = "BUY".equals(order.side);
+				switch (order.type) {
+					case "LIMIT" -> {
+						if (buy ? mark <= order.price : mark >= order.price) {
+							execute(order, state, order.price, true, now);
+						}
+					}
+					case "STOP_MARKET", "TAKE_PROFIT_MARKET" -> {
+						boolean stop = "STOP_MARKET".equals(order.type);
+						boolean triggered = buy == stop ? mark >= order.stopPrice : mark <= order.stopPrice;
+						if (triggered) {
+							trigger(order, state, now);
+						}
+					}
+					default -> {
+					}
+				}
+			}
+		}
+		flushEvents();
+	}
+
+	private JSONObject doPlaceOrder(Map<String, String> params, long now) {
+		String symbol = required(params, "symbol");
+		SymbolState state = market.getSymbol(symbol);
+
+		String side = required(params, "side");
+		if (!side.equals("BUY") && !side.equals("SELL")) {
+			throw SimulatorException.badRequest(-1117, "Invalid side.");
+		}
+		String type = required(params, "type");
+		if (!List.of("MARKET", "LIMIT", "STOP_MARKET", "TAKE_PROFIT_MARKET").contains(type)) {
+			throw SimulatorException.badRequest(-1116, "Invalid orderType.");
+		}
+
+		// 헤지 모드는 LONG / SHORT, 단방향 모드는 BOTH 만 허용
+		String positionSide = params.getOrDefault("positionSide", "BOTH");
+		boolean oneWaySide = "BOTH".equals(positionSide);
+		if (dualSidePosition == oneWaySide) {
+			throw SimulatorException.badRequest(-4061, "Order's position side does not match user's setting.");
+		}
+		boolean reduceOnly = Boolean.parseBoolean(params.get("reduceOnly"));
+		if (dualSidePosition && params.containsKey("reduceOnly")) {
+			throw SimulatorException.badRequest(-1106, "Parameter 'reduceonly' sent when not required.");
+		}
+		boolean closePosition = Boolean.parseBoolean(params.get("closePosition"));
+		if (closePosition && !type.endsWith("_MARKET")) {
+			throw SimulatorException.badRequest(-1106, "Parameter 'closePosition' sent when not required.");
+		}
+
+		String clientOrderId = params.get("newClientOrderId");
+		if (clientOrderId == null || clientOrderId.isBlank()) {
+			clientOrderId = "sim_" + UUID.randomUUID().toString().replace("-", "").substring(0, 20);
+		}
+		else if (ordersByClientId.containsKey(clientOrderId)) {
+			throw SimulatorException.badRequest(-4116, "ClientOrderId is duplicated.");
+		}
+
+		double quantity = 0;
+		if (!closePosition) {
+			BigDecimal qty = new BigDecimal(required(params, "quantity"));
+			if (qty.stripTrailingZeros().scale() > state.getQuantityPrecision()) {
+				throw SimulatorException.badRequest(-1111, "Precision is over the maximum defined for this asset.");
+			}
+			if (qty.signum() <= 0) {
+				throw SimulatorException.badRequest(-4003, "Quantity less than or equal to zero.");
+			}
+			quantity = qty.doubleValue();
+		}
+
+		Order order = new Order(nextOrderId++, clientOrderId, symbol, side, positionSide, type, now);
+		order.origQty = quantity;
+		order.reduceOnly = reduceOnly || closePosition;
+		order.closePosition = closePosition;
+		order.workingType = params.getOrDefault("workingType", "CONTRACT_PRICE");
+		order.timeInForce = params.getOrDefault("timeInForce", "GTC");
+
+		double mark = state.getMarkPrice();
+		switch (type) {
+			case "LIMIT" -> order.price = Double.parseDouble(required(params, "price"));
+			case "STOP_MARKET", "TAKE_PROFIT_MARKET" -> {
+				order.stopPrice = Double.parseDouble(required(params, "stopPrice"));
+				boolean buy = side.equals("BUY");
+				boolean stop = type.equals("STOP_MARKET");
+				boolean wouldTrigger = buy == stop ? mark >= order.stopPrice : mark <= order.stopPrice;
+				if (wouldTrigger) {
+					throw SimulatorException.badRequest(-2021, "Order would immediately trigger.");
+				}
+			}
+			default -> {
+			}
+		}
+
+		if (!closePosition) {
+			validateExposure(order, state, mark);
+		}
+
+		orders.put(order.orderId, order);
+		ordersByClientId.put(order.clientOrderId, order);
+		emitOrderUpdate(order, state, "NEW", 0, 0, 0, 0, false, now);
+
+		if (type.equals("MARKET")) {
+			execute(order, state, marketFillPrice(state, order), false, now);
+		}
+		else if (type.equals("LIMIT") && (side.equals("BUY") ? mark <= order.price : mark >= order.price)) {
+			execute(order, state, order.price, false, now);
+		}
+		else {
+			openOrdersBySymbol.computeIfAbsent(symbol, k -> new ArrayList<>()).add(order);
+		}
+
+		return order.toJson(state);
+	}
+
+	private void validateExposure(Order order, SymbolState state, double mark) {
+		double reducible = reducibleQuantity(order);
+		if (order.reduceOnly || isClosing(order)) {
+			if (order.origQty > reducible + 1e-12) {
+				throw SimulatorException.badRequest(-2022, "ReduceOnly Order is rejected.");
+			}
+			return;
+		}
+
+		// 새로 늘어나는 명목가만큼의 초기 증거금이 가용 잔고 안에 있어야 함
+		double opening = Math.max(0, order.origQty - reducible);
+		double required = opening * mark / leverageOf(state.getSymbol());
+		if (required > availableBalance()) {
+			throw SimulatorException.badRequest(-2019, "Margin is insufficient.");
+		}
+	}
+
+	private double availableBalance() {
+		double used = 0;
+		double unrealized = 0;
+		for (Position p : positions.values()) {
+			if (p.amount == 0) continue;
+			double mark = market.getSymbol(p.symbol).getMarkPrice();
+			used += Math.abs(p.amount) * mark / leverageOf(p.symbol);
+			unrealized += (mark - p.entryPrice) * p.amount;
+		}
+		return walletBalance + unrealized - used;
+	}
+
+	private void trigger(Order order, SymbolState state, long now) {
+		if (order.closePosition) {
+			order.origQty = reducibleQuantity(order);
+		}
+		if (order.origQty <= 0) {
+			finish(order, "EXPIRED", now);
+			return;
+		}
+		execute(order, state, marketFillPrice(state, order), false, now);
+	}
+
+	private double marketFillPrice(SymbolState state, Order order) {
+		double mark = state.getMarkPrice();
+		double notional = order.origQty * mark;
+		double bps = config.getSpreadBps() + config.getImpactBpsPer100k() * notional / 100_000.0;
+		double direction = "BUY".equals(order.side) ? 1 : -1;
+		return mark * (1 + direction * bps / 10_000.0);
+	}
+
+	/**
+	 * 주문 전량을 주어진 가격으로 체결하고 포지션 / 잔고를 갱신합니다.
+	 */
+	private void execute(Order order, SymbolState state, double fillPrice, boolean maker, long now) {
+		double qty = order.origQty;
+		if (order.reduceOnly) {
+			qty = Math.min(qty, reducibleQuantity(order));
+			if (qty <= 0) {
+				finish(order, "EXPIRED", now);
+				return;
+			}
+		}
+
+		double signedQty = "BUY".equals(order.side) ? qty : -qty;
+		Position position = positions.computeIfAbsent(
+			  positionKey(order.symbol, order.positionSide), k -> new Position(order.symbol, order.positionSide));
+
+		double realized = 0;
+		double previous = position.amount;
+		if (previous != 0 && Math.signum(previous) != Math.signum(signedQty)) {
+			// 반대 방향 체결분은 먼저 기존 포지션을 줄이는 데 사용
+			double closing = Math.min(Math.abs(previous), qty);
+			realized = (fillPrice - position.entryPrice) * closing * Math.signum(previous);
+			double remaining = previous + Math.signum(signedQty) * closing;
+			double opened = signedQty + Math.signum(previous) * closing;
+			if (Math.abs(remaining) < 1e-12) {
+				position.amount = opened;
+				position.entryPrice = opened == 0 ? 0 : fillPrice;
+			}
+			else {
+				position.amount = remaining;
+			}
+		}
+		else {
+			double total = previous + signedQty;
+			position.entryPrice = (position.entryPrice * Math.abs(previous) + fillPrice * qty) / Math.abs(total);
+			position.amount = total;
+		}
+		position.updateTime = now;
+
+		double commission = fillPrice * qty * (maker ? config.getMakerFeeRate() : config.getTakerFeeRate());
+		walletBalance += realized - commission;
+
+		order.executedQty = qty;
+		order.cumQuote = fillPrice * qty;
+		order.avgPrice = fillPrice;
+		order.realizedProfit = realized;
+		order.status = "FILLED";
+		order.updateTime = now;
+		removeOpen(order);
+
+		recordTrade(order, state, qty, fillPrice, commission, realized, maker, now);
+		nextTradeId++;
+		emitOrderUpdate(order, state, "TRADE", qty, fillPrice, commission, realized, maker, now);
+		emitAccountUpdate(position, state, now);
+	}
+
+	private void recordTrade(Order order, SymbolState state, double qty, double fillPrice, double commission,
+		  double realized, boolean maker, long now) {
+		trades.add(new JSONObject()
+			  .put("symbol", order.symbol)
+			  .put("id", nextTradeId)
+			  .put("orderId", order.orderId)
+			  .put("side", order.side)
+			  .put("positionSide", order.positionSide)
+			  .put("price", state.price(fillPrice))
+			  .put("qty", quantity(state, qty))
+			  .put("quoteQty", money(fillPrice * qty))
+			  .put("realizedPnl", money(realized))
+			  .put("commission", money(commission))
+			  .put("commissionAsset", "USDT")
+			  .put("marginAsset", "USDT")
+			  .put("buyer", "BUY".equals(order.side))
+			  .put("maker", maker)
+			  .put("time", now));
+
+		String tradeId = String.valueOf(nextTradeId);
+		if (realized != 0) {
+			incomes.add(incomeRecord(order.symbol, "REALIZED_PNL", realized, tradeId, now));
+		}
+		incomes.add(incomeRecord(order.symbol, "COMMISSION", -commission, tradeId, now));
+
+		if (trades.size() > MAX_LEDGER_HISTORY) {
+			trades.removeFirst();
+		}
+		while (incomes.size() > MAX_LEDGER_HISTORY) {
+			incomes.removeFirst();
+		}
+	}
+
+	private JSONObject incomeRecord(String symbol, String type, double amount, String tradeId, long now) {
+		return new JSONObject()
+			  .put("symbol", symbol)
+			  .put("incomeType", type)
+			  .put("income", money(amount))
+			  .put("asset", "USDT")
+			  .put("info", type)
+			  .put("time", now)
+			  .put("tranId", nextTranId++)
+			  .put("tradeId", tradeId);
+	}
+
+	private double reducibleQuantity(Order order) {
+		String key = positionKey(order.symbol, order.positionSide);
+		Position p = positions.get(key);
+		if (p == null || p.amount == 0) return 0;
+		boolean buy = "BUY".equals(order.side);
+		// 반대 방향 주문만 포지션을 줄일 수 있음
+		return (buy && p.amount < 0) || (!buy && p.amount > 0) ? Math.abs(p.amount) : 0;
+	}
+
+	private boolean isClosing(Order order) {
+		// 헤지 모드에서 LONG 포지션에 SELL, SHORT 포지션에 BUY 는 청산 주문
+		return ("LONG".equals(order.positionSide) && "SELL".equals(order.side))
+			  || ("SHORT".equals(order.positionSide) && "BUY".equals(order.side));
+	}
+
+	private void finish(Order order, String status, long now) {
+		order.status = status;
+		order.updateTime = now;
+		removeOpen(order);
+		emitOrderUpdate(order, market.getSymbol(order.symbol), status.equals("CANCELED") ? "CANCELED" : "EXPIRED",
+			  0, 0, 0, 0, false, now);
+	}
+
+	private void removeOpen(Order order) {
+		List<Order> open = openOrdersBySymbol.get(order.symbol);
+		if (open != null) {
+			open.remove(order);
+		}
+	}
+
+	private Order findOrder(Map<String, String> params) {
+		if (params.containsKey("orderId")) {
+			return orders.get(Long.parseLong(params.get("orderId")));
+		}
+		if (params.containsKey("origClientOrderId")) {
+			return ordersByClientId.get(params.get("origClientOrderId"));
+		}
+		throw SimulatorException.badRequest(-1102,
+			  "Either orderId or origClientOrderId must be sent.");
+	}
+
+	private int leverageOf(String symbol) {
+		return leverages.getOrDefault(symbol, 20);
+	}
+
+	private String positionKey(String symbol, String positionSide) {
+		return symbol + ":" + positionSide;
+	}
+
+	// ---------------------------------------------------------------------
+	// 유저 스트림 이벤트
+	// ---------------------------------------------------------------------
+
+	private void emitOrderUpdate(Order order, SymbolState state, String execType, double lastQty,
+		  double lastPrice, double commission, double realized, boolean maker, long now) {
+		JSONObject o = new JSONObject()
+			  .put("s", order.symbol)
+			  .put("c", order.clientOrderId)
+			  .put("S", order.side)
+			  .put("o", order.type)
+			  .put("f", order.timeInForce)
+			  .put("q", quantity(state, order.origQty))
+			  .put("p", state.price(order.price))
+			  .put("ap", state.price(order.avgPrice))
+			  .put("sp", state.price(order.stopPrice))
+			  .put("x", execType)
+			  .put("X", order.status)
+			  .put("i", order.orderId)
+			  .put("l", quantity(state, lastQty))
+			  .put("z", quantity(state, order.executedQty))
+			  .put("L", state.price(lastPrice))
+			  .put("N", "USDT")
+			  .put("n", money(commission))
+			  .put("T", now)
+			  .put("t", execType.equals("TRADE") ? nextTradeId - 1 : 0)
+			  .put("b", "0")
+			  .put("a", "0")
+			  .put("m", maker)
+			  .put("R", order.reduceOnly)
+			  .put("wt", order.workingType)
+			  .put("ot", order.type)
+			  .put("ps", order.positionSide)
+			  .put("cp", order.closePosition)
+			  .put("rp", money(realized));
+
+		pendingEvents.add(new JSONObject()
+			  .put("e", "ORDER_TRADE_UPDATE")
+			  .put("E", now)
+			  .put("T", now)
+			  .put("o", o));
+	}
+
+	private void emitAccountUpdate(Position position, SymbolState state, long now) {
+		JSONObject balance = new JSONObject()
+			  .put("a", "USDT")
+			  .put("wb", money(walletBalance))
+			  .put("cw", money(walletBalance))
+			  .put("bc", "0");
+		JSONObject pos = new JSONObject()
+			  .put("s", position.symbol)
+			  .put("pa", quantity(state, position.amount))
+			  .put("ep", state.price(position.entryPrice))
+			  .put("bep", state.price(position.entryPrice))
+			  .put("cr", "0")
+			  .put("up", money((state.getMarkPrice() - position.entryPrice) * position.amount))
+			  .put("mt", "cross")
+			  .put("iw", "0")
+			  .put("ps", position.positionSide);
+
+		pendingEvents.add(new JSONObject()
+			  .put("e", "ACCOUNT_UPDATE")
+			  .put("E", now)
+			  .put("T", now)
+			  .put("a", new JSONObject()
+					.put("m", "ORDER")
+					.put("B", new JSONArray().put(balance))
+					.put("P", new JSONArray().put(pos))));
+	}
+
+	private void flushEvents() {
+		for (JSONObject event; (event = pendingEvents.poll()) != null; ) {
+			for (Consumer<JSONObject> listener : userEventListeners) {
+				listener.accept(event);
+			}
+		}
+	}
+
+	// ---------------------------------------------------------------------
+	// 포맷 / 파라미터 유틸
+	// ---------------------------------------------------------------------
+
+	static String required(Map<String, String> params, String name) {
+		String value = params.get(name);
+		if (value == null || value.isBlank()) {
+			throw SimulatorException.badRequest(-1102,
+				  "Mandatory parameter '" + name + "' was not sent, was empty/null, or malformed.");
+		}
+		return value;
+	}
+
+	private static String quantity(SymbolState state, double value) {
+		return BigDecimal.valueOf(value).setScale(state.getQuantityPrecision(), RoundingMode.HALF_UP).toPlainString();
+	}
+
+	private static String money(double value) {
+		return BigDecimal.valueOf(value).setScale(8, RoundingMode.HALF_UP).toPlainString();
+	}
+
+	private static class Position {
+		final String symbol;
+		final String positionSide;
+		double amount;
+		double entryPrice;
+		long updateTime;
+
+		Position(String symbol, String positionSide) {
+			this.symbol = symbol;
+			this.positionSide = positionSide;
+		}
+	}
+
+	private static class Order {
+		final long orderId;
+		final String clientOrderId;
+		final String symbol;
+		final String side;
+		final String positionSide;
+		final String type;
+		final long time;
+		String timeInForce;
+		String workingType;
+		String status = "NEW";
+		double origQty;
+		double price;
+		double stopPrice;
+		double executedQty;
+		double cumQuote;
+		double avgPrice;
+		double realizedProfit;
+		boolean reduceOnly;
+		boolean closePosition;
+		long updateTime;
+
+		Order(long orderId, String clientOrderId, String symbol, String side, String positionSide,
+			  String type, long time) {
+			this.orderId = orderId;
+			this.clientOrderId = clientOrderId;
+			this.symbol = symbol;
+			this.side = side;
+			this.positionSide = positionSide;
+			this.type = type;
+			this.time = time;
+			this.updateTime = time;
+		}
+
+		JSONObject toJson(SymbolState state) {
+			return new JSONObject()
+				  .put("orderId", orderId)
+				  .put("symbol", symbol)
+				  .put("status", status)
+				  .put("clientOrderId", clientOrderId)
+				  .put("price", state.price(price))
+				  .put("avgPrice", state.price(avgPrice))
+				  .put("origQty", quantity(state, origQty))
+				  .put("executedQty", quantity(state, executedQty))
+				  .put("cumQty", quantity(state, executedQty))
+				  .put("cumQuote", money(cumQuote))
+				  .put("timeInForce", timeInForce)
+				  .put("type", type)
+				  .put("origType", type)
+				  .put("reduceOnly", reduceOnly)
+				  .put("closePosition", closePosition)
+				  .put("side", side)
+				  .put("positionSide", positionSide)
+				  .put("stopPrice", state.price(stopPrice))
+				  .put("workingType", workingType)
+				  .put("priceProtect", false)
+				  .put("time", time)
+				  .put("updateTime", updateTime);
+		}
+	}
+}
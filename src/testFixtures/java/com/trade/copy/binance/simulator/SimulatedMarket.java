@@ -0,0 +1,340 @@
+package com.trade.copy.binance.simulator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * 심볼별 마크 가격을 랜덤 워크로 생성하고 1분봉 이력을 유지하는 시세 모델
+ *  - 상위 인터벌(15m, 1h 등) 캔들은 1분봉을 집계하여 만듭니다.
+ *  - 시작 시점 이전 HISTORY_MINUTES 분의 이력을 미리 생성해 두므로 곧바로 지표 계산이 가능합니다.
+ */
+public class SimulatedMarket {
+
+	private static final long MINUTE_MS = 60_000L;
+
+	// 시뮬레이터가 보관하는 1분봉 개수 (약 2일)
+	private static final int HISTORY_MINUTES = 3000;
+
+	// 실제 봇이 거래하는 심볼과 대략적인 시작 가격
+	private static final Map<String, Double> MAJOR_SYMBOLS = new LinkedHashMap<>();
+
+	static {
+		MAJOR_SYMBOLS.put("BTCUSDT", 105_000.0);
+		MAJOR_SYMBOLS.put("ETHUSDT", 2_500.0);
+		MAJOR_SYMBOLS.put("XRPUSDT", 2.2);
+		MAJOR_SYMBOLS.put("SOLUSDT", 150.0);
+		MAJOR_SYMBOLS.put("SUIUSDT", 3.2);
+		MAJOR_SYMBOLS.put("TRUMPUSDT", 11.0);
+		MAJOR_SYMBOLS.put("BNBUSDT", 650.0);
+		MAJOR_SYMBOLS.put("DOGEUSDT", 0.19);
+		MAJOR_SYMBOLS.put("HYPEUSDT", 35.0);
+	}
+
+	private final SimulatorConfig config;
+	private final Random random;
+	private final Map<String, SymbolState> symbols = new LinkedHashMap<>();
+	private final Map<String, SimulatedDepth> depths = new ConcurrentHashMap<>();
+	private final double tickSigma;
+
+	public SimulatedMarket(SimulatorConfig config) {
+		this.config = config;
+		this.random = new Random(config.getSeed());
+		this.tickSigma = config.getVolatility() * Math.sqrt(config.getTickMillis() / (double) MINUTE_MS);
+
+		List<String> names = new ArrayList<>(MAJOR_SYMBOLS.keySet());
+		for (int i = 1; names.size() < config.getSymbolCount(); i++) {
+			names.add(String.format("SIM%03dUSDT", i));
+		}
+
+		long now = System.currentTimeMillis();
+		for (String name : names.subList(0, Math.min(names.size(), Math.max(config.getSymbolCount(), 1)))) {
+			double price = MAJOR_SYMBOLS.getOrDefault(name, Math.pow(10, random.nextDouble() * 5 - 2));
+			SymbolState state = new SymbolState(name, price);
+			seedHistory(state, now);
+			symbols.put(name, state);
+		}
+	}
+
+	public Collection<SymbolState> getSymbols() {
+		return Collections.unmodifiableCollection(symbols.values());
+	}
+
+	/**
+	 * 심볼 상태를 조회합니다. 존재하지 않는 심볼이면 Binance 와 동일한 -1121 오류를 던집니다.
+	 */
+	public SymbolState getSymbol(String symbol) {
+		SymbolState state = symbols.get(symbol);
+		if (state == null) {
+			throw SimulatorException.badRequest(-1121, "Invalid symbol.");
+		}
+		return state;
+	}
+
+	/**
+	 * 심볼의 호가 모델. 처음 요청될 때 생성되며 이후 틱마다 diff 를 만들어냅니다.
+	 */
+	SimulatedDepth depth(String symbol) {
+		SymbolState state = getSymbol(symbol);
+		return depths.computeIfAbsent(symbol,
+			  s -> new SimulatedDepth(state, config, config.getSeed() ^ s.hashCode()));
+	}
+
+	/**
+	 * 모든 심볼의 가격을 한 틱 진행시킵니다.
+	 */
+	public void tick(long now) {
+		for (SymbolState state : symbols.values()) {
+			synchronized (state) {
+				double next = state.markPrice * Math.exp(tickSigma * random.nextGaussian());
+				double tradedNotional = Math.abs(random.nextGaussian()) * 5_000;
+				state.update(next, tradedNotional, now);
+			}
+		}
+	}
+
+	/**
+	 * /fapi/v1/exchangeInfo 응답을 생성합니다.
+	 */
+	public JSONObject exchangeInfo(long now) {
+		JSONArray arr = new JSONArray();
+		for (SymbolState state : symbols.values()) {
+			JSONArray filters = new JSONArray()
+				  .put(new JSONObject()
+						.put("filterType", "PRICE_FILTER")
+						.put("tickSize", plain(state.tickSize))
+						.put("minPrice", plain(state.tickSize))
+						.put("maxPrice", "10000000"))
+				  .put(new JSONObject()
+						.put("filterType", "LOT_SIZE")
+						.put("stepSize", plain(state.stepSize))
+						.put("minQty", plain(state.stepSize))
+						.put("maxQty", "10000000"))
+				  .put(new JSONObject()
+						.put("filterType", "MARKET_LOT_SIZE")
+						.put("stepSize", plain(state.stepSize))
+						.put("minQty", plain(state.stepSize))
+						.put("maxQty", "10000000"))
+				  .put(new JSONObject()
+						.put("filterType", "MIN_NOTIONAL")
+						.put("notional", "5"));
+
+			arr.put(new JSONObject()
+				  .put("symbol", state.symbol)
+				  .put("pair", state.symbol)
+				  .put("contractType", "PERPETUAL")
+				  .put("status", "TRADING")
+				  .put("baseAsset", state.symbol.replace("USDT", ""))
+				  .put("quoteAsset", "USDT")
+				  .put("marginAsset", "USDT")
+				  .put("pricePrecision", state.pricePrecision)
+				  .put("quantityPrecision", state.quantityPrecision)
+				  .put("filters", filters));
+		}
+
+		return new JSONObject()
+			  .put("timezone", "UTC")
+			  .put("serverTime", now)
+			  .put("rateLimits", new JSONArray()
+					.put(new JSONObject()
+						  .put("rateLimitType", "REQUEST_WEIGHT")
+						  .put("interval", "MINUTE")
+						  .put("intervalNum", 1)
+						  .put("limit", config.getWeightLimitPerMinute())))
+			  .put("symbols", arr);
+	}
+
+	/**
+	 * /fapi/v1/klines 응답을 생성합니다. 마지막 원소는 아직 마감되지 않은 캔들입니다.
+	 */
+	public JSONArray klines(String symbol, String interval, int limit, Long startTime, Long endTime) {
+		SymbolState state = getSymbol(symbol);
+		long intervalMs = intervalMillis(interval);
+
+		List<JSONArray> rows = new ArrayList<>();
+		synchronized (state) {
+			long bucketOpen = -1;
+			double open = 0, high = 0, low = 0, close = 0, volume = 0, quoteVolume = 0;
+			int trades = 0;
+
+			for (Iterator<Candle> it = state.candles.iterator(); ; ) {
+				Candle c = it.hasNext() ? it.next() : null;
+				long cBucket = c == null ? -2 : c.openTime - Math.floorMod(c.openTime, intervalMs);
+
+				if (bucketOpen >= 0 && cBucket != bucketOpen) {
+					rows.add(new JSONArray()
+						  .put(bucketOpen)
+						  .put(state.price(open)).put(state.price(high))
+						  .put(state.price(low)).put(state.price(close))
+						  .put(plain(volume))
+						  .put(bucketOpen + intervalMs - 1)
+						  .put(plain(quoteVolume))
+						  .put(trades)
+						  .put(plain(volume / 2)).put(plain(quoteVolume / 2))
+						  .put("0"));
+				}
+				if (c == null) break;
+
+				if (cBucket != bucketOpen) {
+					bucketOpen = cBucket;
+					open = c.open;
+					high = c.high;
+					low = c.low;
+					volume = 0;
+					quoteVolume = 0;
+					trades = 0;
+				}
+				high = Math.max(high, c.high);
+				low = Math.min(low, c.low);
+				close = c.close;
+				volume += c.volume;
+				quoteVolume += c.quoteVolume;
+				trades += c.trades;
+			}
+		}
+
+		JSONArray result = new JSONArray();
+		List<JSONArray> filtered = rows.stream()
+			  .filter(r -> startTime == null || r.getLong(0) >= startTime)
+			  .filter(r -> endTime == null || r.getLong(0) <= endTime)
+			  .toList();
+		int from = startTime != null ? 0 : Math.max(0, filtered.size() - limit);
+		for (int i = from; i < Math.min(filtered.size(), from + limit); i++) {
+			result.put(filtered.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * "15m", "1h" 형태의 인터벌 문자열을 밀리초로 변환합니다.
+	 */
+	public static long intervalMillis(String interval) {
+		if (interval == null || interval.length() < 2) {
+			throw SimulatorException.badRequest(-1120, "Invalid interval.");
+		}
+		long amount;
+		try {
+			amount = Long.parseLong(interval.substring(0, interval.length() - 1));
+		} catch (NumberFormatException e) {
+			throw SimulatorException.badRequest(-1120, "Invalid interval.");
+		}
+		return switch (interval.charAt(interval.length() - 1)) {
+			case 'm' -> amount * MINUTE_MS;
+			case 'h' -> amount * 60 * MINUTE_MS;
+			case 'd' -> amount * 24 * 60 * MINUTE_MS;
+			case 'w' -> amount * 7 * 24 * 60 * MINUTE_MS;
+			default -> throw SimulatorException.badRequest(-1120, "Invalid interval.");
+		};
+	}
+
+	private void seedHistory(SymbolState state, long now) {
+		double minuteSigma = config.getVolatility();
+		long currentMinute = now - Math.floorMod(now, MINUTE_MS);
+		double price = state.markPrice;
+
+		for (int i = HISTORY_MINUTES; i > 0; i--) {
+			double open = price;
+			double close = open * Math.exp(minuteSigma * random.nextGaussian());
+			double wick = Math.abs(random.nextGaussian()) * minuteSigma * 0.5;
+			Candle c = new Candle(currentMinute - i * MINUTE_MS, open);
+			c.high = Math.max(open, close) * (1 + wick);
+			c.low = Math.min(open, close) * (1 - wick);
+			c.close = close;
+			c.quoteVolume = Math.abs(random.nextGaussian()) * 300_000;
+			c.volume = c.quoteVolume / close;
+			c.trades = 50 + random.nextInt(500);
+			state.candles.addLast(c);
+			price = close;
+		}
+		state.markPrice = price;
+		state.candles.addLast(new Candle(currentMinute, price));
+	}
+
+	static String plain(double value) {
+		return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+	}
+
+	/**
+	 * 심볼별 시세 상태
+	 */
+	@Getter
+	public static class SymbolState {
+		private final String symbol;
+		private final int pricePrecision;
+		private final int quantityPrecision;
+		private final double tickSize;
+		private final double stepSize;
+		private final ArrayDeque<Candle> candles = new ArrayDeque<>();
+		private volatile double markPrice;
+
+		SymbolState(String symbol, double initialPrice) {
+			this.symbol = symbol;
+			int magnitude = (int) Math.floor(Math.log10(initialPrice));
+			this.pricePrecision = Math.max(1, Math.min(7, 5 - magnitude));
+			this.quantityPrecision = Math.max(1, Math.min(3, magnitude));
+			this.tickSize = Math.pow(10, -pricePrecision);
+			this.stepSize = Math.pow(10, -quantityPrecision);
+			this.markPrice = initialPrice;
+		}
+
+		void update(double price, double tradedNotional, long now) {
+			Candle last = candles.peekLast();
+			long minute = now - Math.floorMod(now, MINUTE_MS);
+			if (last == null || last.openTime < minute) {
+				last = new Candle(minute, last == null ? price : last.close);
+				candles.addLast(last);
+				if (candles.size() > HISTORY_MINUTES) {
+					candles.removeFirst();
+				}
+			}
+			last.high = Math.max(last.high, price);
+			last.low = Math.min(last.low, price);
+			last.close = price;
+			last.quoteVolume += tradedNotional;
+			last.volume += tradedNotional / price;
+			last.trades++;
+			markPrice = price;
+		}
+
+		/**
+		 * tickSize 에 맞춰 반올림한 가격 문자열
+		 */
+		public String price(double value) {
+			return BigDecimal.valueOf(value).setScale(pricePrecision, RoundingMode.HALF_UP).toPlainString();
+		}
+	}
+
+	/**
+	 * 1분봉
+	 */
+	public static class Candle {
+		final long openTime;
+		final double open;
+		double high;
+		double low;
+		double close;
+		double volume;
+		double quoteVolume;
+		int trades;
+
+		Candle(long openTime, double open) {
+			this.openTime = openTime;
+			this.open = open;
+			this.high = open;
+			this.low = open;
+			this.close = open;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.trade.copy.binance.simulator;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 로컬 거래소 시뮬레이터 설정값
+ *  - 실행 인자(--key=value) 로 덮어쓸 수 있으며, 지정하지 않으면 기본값을 사용합니다.
+ */
+@Getter
+@Setter
+public class SimulatorConfig {
+
+	/**
+	 * REST 포트 (0 이면 임의 포트)
+	 */
+	private int httpPort = 18080;
+
+	/**
+	 * WebSocket 포트 (0 이면 임의 포트)
+	 */
+	private int wsPort = 18081;
+
+	/**
+	 * 봇이 사용할 API Key / Secret Key
+	 */
+	private String apiKey = "sim-key";
+	private String secret = "sim-secret";
+
+	/**
+	 * 생성할 심볼 개수 (주요 심볼 + SIMxxxUSDT 합성 심볼)
+	 */
+	private int symbolCount = 300;
+
+	/**
+	 * 가격 틱 주기 (ms)
+	 */
+	private long tickMillis = 100;
+
+	/**
+	 * 1분 기준 가격 변동성 (예: 0.002 == 0.2%)
+	 */
+	private double volatility = 0.002;
+
+	/**
+	 * 호가 스프레드 절반 (bps)
+	 */
+	private double spreadBps = 1.0;
+
+	/**
+	 * 명목가 10만 USDT 당 시장가 체결 충격 (bps)
+	 */
+	private double impactBpsPer100k = 2.0;
+
+	/**
+	 * 테이커 / 메이커 수수료율
+	 */
+	private double takerFeeRate = 0.0004;
+	private double makerFeeRate = 0.0002;
+
+	/**
+	 * 초기 지갑 잔고 (USDT)
+	 */
+	private double initialBalance = 10_000.0;
+
+	/**
+	 * 응답 지연 (ms) 및 지터 (ms)
+	 */
+	private long latencyMillis = 0;
+	private long latencyJitterMillis = 0;
+
+	/**
+	 * 5xx 오류를 주입할 확률 (0.0 ~ 1.0)
+	 */
+	private double errorRate = 0.0;
+
+	/**
+	 * 1분당 허용 요청 weight
+	 */
+	private int weightLimitPerMinute = 2400;
+
+	/**
+	 * 가격 생성 난수 시드
+	 */
+	private long seed = 42L;
+
+	/**
+	 * "--http-port=18080" 형태의 실행 인자를 읽어 설정을 생성합니다.
+	 *
+	 * @param args 실행 인자
+	 * @return 설정 객체
+	 */
+	public static SimulatorConfig fromArgs(String[] args) {
+		SimulatorConfig config = new SimulatorConfig();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("잘못된 실행 인자: " + arg);
+			}
+			String key = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+
+			switch (key) {
+				case "http-port" -> config.setHttpPort(Integer.parseInt(value));
+				case "ws-port" -> config.setWsPort(Integer.parseInt(value));
+				case "api-key" -> config.setApiKey(value);
+				case "secret" -> config.setSecret(value);
+				case "symbols" -> config.setSymbolCount(Integer.parseInt(value));
+				case "tick-ms" -> config.setTickMillis(Long.parseLong(value));
+				case "volatility" -> config.setVolatility(Double.parseDouble(value));
+				case "spread-bps" -> config.setSpreadBps(Double.parseDouble(value));
+				case "impact-bps" -> config.setImpactBpsPer100k(Double.parseDouble(value));
+				case "initial-balance" -> config.setInitialBalance(Double.parseDouble(value));
+				case "latency-ms" -> config.setLatencyMillis(Long.parseLong(value));
+				case "latency-jitter-ms" -> config.setLatencyJitterMillis(Long.parseLong(value));
+				case "error-rate" -> config.setErrorRate(Double.parseDouble(value));
+				case "weight-limit" -> config.setWeightLimitPerMinute(Integer.parseInt(value));
+				case "seed" -> config.setSeed(Long.parseLong(value));
+				default -> throw new IllegalArgumentException("알 수 없는 설정 키: " + key);
+			}
+		}
+		return config;
+	}
+}
@@ -0,0 +1,23 @@
+package com.trade.copy.binance.simulator;
+
+import lombok.Getter;
+
+/**
+ * 시뮬레이터가 Binance 오류 응답({"code": -xxxx, "msg": "..."})으로 변환해 돌려주는 예외
+ */
+@Getter
+public class SimulatorException extends RuntimeException {
+
+	private final int httpStatus;
+	private final int code;
+
+	public SimulatorException(int httpStatus, int code, String message) {
+		super(message);
+		this.httpStatus = httpStatus;
+		this.code = code;
+	}
+
+	public static SimulatorException badRequest(int code, String message) {
+		return new SimulatorException(400, code, message);
+	}
+}
@@ -0,0 +1,269 @@
+package com.trade.copy.binance.simulator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.trade.copy.binance.util.SignatureUtil;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import org.json.JSONObject;
+
+/**
+ * 봇이 사용하는 Binance Futures REST 엔드포인트를 흉내내는 HTTP 서버
+ *  - SIGNED 엔드포인트는 X-MBX-APIKEY, HMAC SHA256 시그니처, timestamp/recvWindow 를 검증합니다.
+ *  - 응답마다 X-MBX-USED-WEIGHT-1M 헤더를 붙이고, 분당 weight 한도를 넘으면 429(-1003)를 돌려줍니다.
+ *  - 설정에 따라 응답 지연과 5xx 오류를 주입합니다.
+ */
+public class SimulatorHttpServer {
+
+	private enum Security { NONE, USER_STREAM, SIGNED }
+
+	private record Route(Security security, ToIntFunction<Map<String, String>> weight, Handler handler) {
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		Object handle(Map<String, String> params, long now);
+	}
+
+	private final SimulatorConfig config;
+	private final SimulatedMarket market;
+	private final SimulatedExchange exchange;
+	private final HttpServer server;
+	private final Map<String, Route> routes = new LinkedHashMap<>();
+
+	// 1분 단위 고정 윈도우 weight / 주문 수 카운터
+	private final AtomicLong windowStart = new AtomicLong();
+	private final AtomicInteger usedWeight = new AtomicInteger();
+	private final AtomicInteger orderCount = new AtomicInteger();
+
+	public SimulatorHttpServer(SimulatorConfig config, SimulatedMarket market, SimulatedExchange exchange)
+		  throws IOException {
+		this.config = config;
+		this.market = market;
+		this.exchange = exchange;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", config.getHttpPort()), 0);
+		this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		this.server.createContext("/", this::handle);
+		registerRoutes();
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+	}
+
+	private void registerRoutes() {
+		route("GET /fapi/v1/ping", Security.NONE, p -> 1, (p, now) -> new JSONObject());
+		route("GET /fapi/v1/time", Security.NONE, p -> 1, (p, now) -> new JSONObject().put("serverTime", now));
+		route("GET /fapi/v1/exchangeInfo", Security.NONE, p -> 1, (p, now) -> market.exchangeInfo(now));
+		route("GET /fapi/v1/klines", Security.NONE, SimulatorHttpServer::klinesWeight, (p, now) -> market.klines(
+			  SimulatedExchange.required(p, "symbol"),
+			  SimulatedExchange.required(p, "interval"),
+			  Integer.parseInt(p.getOrDefault("limit", "500")),
+			  p.containsKey("startTime") ? Long.parseLong(p.get("startTime")) : null,
+			  p.containsKey("endTime") ? Long.parseLong(p.get("endTime")) : null));
+		route("GET /fapi/v1/depth", Security.NONE, SimulatorHttpServer::depthWeight, (p, now) -> market
+			  .depth(SimulatedExchange.required(p, "symbol"))
+			  .snapshot(Integer.parseInt(p.getOrDefault("limit", "500")), now));
+		route("GET /fapi/v1/premiumIndex", Security.NONE, p -> p.containsKey("symbol") ? 1 : 10,
+			  (p, now) -> exchange.premiumIndex(SimulatedExchange.required(p, "symbol"), now));
+
+		route("GET /fapi/v2/positionRisk", Security.SIGNED, p -> 5,
+			  (p, now) -> exchange.positionRisk(p.get("symbol"), false));
+		route("GET /fapi/v3/positionRisk", Security.SIGNED, p -> 5,
+			  (p, now) -> exchange.positionRisk(p.get("symbol"), true));
+		route("GET /fapi/v3/balance", Security.SIGNED, p -> 5, (p, now) -> exchange.balance(now));
+		route("GET /fapi/v1/income", Security.SIGNED, p -> 30, (p, now) -> exchange.income(p));
+		route("GET /fapi/v1/userTrades", Security.SIGNED, p -> 5, (p, now) -> exchange.userTrades(p));
+		route("GET /fapi/v1/positionSide/dual", Security.SIGNED, p -> 30, (p, now) -> exchange.getPositionMode());
+		route("POST /fapi/v1/positionSide/dual", Security.SIGNED, p -> 1,
+			  (p, now) -> exchange.changePositionMode(p));
+		route("POST /fapi/v1/leverage", Security.SIGNED, p -> 1, (p, now) -> exchange.changeLeverage(p));
+
+		route("GET /fapi/v1/order", Security.SIGNED, p -> 1, (p, now) -> exchange.queryOrder(p));
+		route("POST /fapi/v1/order", Security.SIGNED, p -> 0, (p, now) -> {
+			countOrders(1);
+			return exchange.placeOrder(p, now);
+		});
+		route("DELETE /fapi/v1/order", Security.SIGNED, p -> 1, (p, now) -> exchange.cancelOrder(p, now));
+		route("POST /fapi/v1/batchOrders", Security.SIGNED, p -> 5, (p, now) -> {
+			countOrders(5);
+			return exchange.placeBatchOrders(p, now);
+		});
+		route("GET /fapi/v1/openOrders", Security.SIGNED, p -> p.containsKey("symbol") ? 1 : 40,
+			  (p, now) -> exchange.openOrders(p.get("symbol")));
+		route("DELETE /fapi/v1/allOpenOrders", Security.SIGNED, p -> 1,
+			  (p, now) -> exchange.cancelAllOpenOrders(p, now));
+
+		route("POST /fapi/v1/listenKey", Security.USER_STREAM, p -> 1, (p, now) -> exchange.createListenKey());
+		route("PUT /fapi/v1/listenKey", Security.USER_STREAM, p -> 1, (p, now) -> exchange.createListenKey());
+		route("DELETE /fapi/v1/listenKey", Security.USER_STREAM, p -> 1, (p, now) -> exchange.closeListenKey());
+	}
+
+	private void route(String key, Security security, ToIntFunction<Map<String, String>> weight, Handler handler) {
+		routes.put(key, new Route(security, weight, handler));
+	}
+
+	private void handle(HttpExchange http) throws IOException {
+		try {
+			injectLatency();
+
+			String method = http.getRequestMethod();
+			String path = http.getRequestURI().getPath();
+			String rawQuery = http.getRequestURI().getRawQuery();
+			String body = new String(http.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+			String signedPayload = (rawQuery == null ? "" : rawQuery) + body;
+
+			Route route = routes.get(method + " " + path);
+			if (route == null) {
+				throw new SimulatorException(404, -5000, "Path " + path + ", Method " + method + " is invalid");
+			}
+
+			Map<String, String> params = new HashMap<>();
+			parseParams(rawQuery, params);
+			parseParams(body, params);
+
+			int weight = consumeWeight(route.weight().applyAsInt(params));
+			http.getResponseHeaders().add("X-MBX-USED-WEIGHT-1M", String.valueOf(weight));
+			http.getResponseHeaders().add("X-MBX-ORDER-COUNT-1M", String.valueOf(orderCount.get()));
+			if (weight > config.getWeightLimitPerMinute()) {
+				throw new SimulatorException(429, -1003,
+					  "Too many requests; current limit is " + config.getWeightLimitPerMinute()
+							+ " requests per minute.");
+			}
+
+			if (config.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < config.getErrorRate()) {
+				throw new SimulatorException(503, -1001, "Internal error; unable to process your request. Please try again.");
+			}
+
+			long now = System.currentTimeMillis();
+			if (route.security() != Security.NONE) {
+				verifyApiKey(http);
+			}
+			if (route.security() == Security.SIGNED) {
+				verifySignature(signedPayload, params, now);
+			}
+
+			Object result = route.handler().handle(params, now);
+			write(http, 200, result.toString());
+		} catch (SimulatorException e) {
+			write(http, e.getHttpStatus(), new JSONObject()
+				  .put("code", e.getCode())
+				  .put("msg", e.getMessage())
+				  .toString());
+		} catch (NumberFormatException e) {
+			write(http, 400, new JSONObject()
+				  .put("code", -1100)
+				  .put("msg", "Illegal characters found in a parameter.")
+				  .toString());
+		} catch (Exception e) {
+			write(http, 500, new JSONObject()
+				  .put("code", -1000)
+				  .put("msg", "An unknown error occurred while processing the request. " + e.getMessage())
+				  .toString());
+		}
+	}
+
+	private void verifyApiKey(HttpExchange http) {
+		String apiKey = http.getRequestHeaders().getFirst("X-MBX-APIKEY");
+		if (apiKey == null || !apiKey.equals(config.getApiKey())) {
+			throw new SimulatorException(401, -2015, "Invalid API-key, IP, or permissions for action.");
+		}
+	}
+
+	private void verifySignature(String payload, Map<String, String> params, long now) throws Exception {
+		String signature = params.get("signature");
+		if (signature == null) {
+			throw SimulatorException.badRequest(-1102,
+				  "Mandatory parameter 'signature' was not sent, was empty/null, or malformed.");
+		}
+
+		// signature 파라미터를 제외한 나머지 문자열이 서명 대상
+		String unsigned = payload.replace("&signature=" + signature, "").replace("signature=" + signature, "");
+		if (!SignatureUtil.generate(unsigned, config.getSecret()).equals(signature)) {
+			throw SimulatorException.badRequest(-1022, "Signature for this request is not valid.");
+		}
+
+		long timestamp = Long.parseLong(SimulatedExchange.required(params, "timestamp"));
+		long recvWindow = Long.parseLong(params.getOrDefault("recvWindow", "5000"));
+		if (timestamp < now - recvWindow || timestamp > now + 1000) {
+			throw SimulatorException.badRequest(-1021, "Timestamp for this request is outside of the recvWindow.");
+		}
+	}
+
+	private int consumeWeight(int weight) {
+		long minute = System.currentTimeMillis() / 60_000L;
+		long current = windowStart.get();
+		if (current != minute && windowStart.compareAndSet(current, minute)) {
+			usedWeight.set(0);
+			orderCount.set(0);
+		}
+		return usedWeight.addAndGet(weight);
+	}
+
+	private void countOrders(int count) {
+		orderCount.addAndGet(count);
+	}
+
+	private void injectLatency() throws InterruptedException {
+		long delay = config.getLatencyMillis();
+		if (config.getLatencyJitterMillis() > 0) {
+			delay += ThreadLocalRandom.current().nextLong(config.getLatencyJitterMillis() + 1);
+		}
+		if (delay > 0) {
+			Thread.sleep(delay);
+		}
+	}
+
+	private static int klinesWeight(Map<String, String> params) {
+		int limit = Integer.parseInt(params.getOrDefault("limit", "500"));
+		if (limit < 100) return 1;
+		if (limit < 500) return 2;
+		if (limit <= 1000) return 5;
+		return 10;
+	}
+
+	private static int depthWeight(Map<String, String> params) {
+		int limit = Integer.parseInt(params.getOrDefault("limit", "500"));
+		if (limit <= 50) return 2;
+		if (limit <= 100) return 5;
+		if (limit <= 500) return 10;
+		return 20;
+	}
+
+	private static void parseParams(String raw, Map<String, String> params) {
+		if (raw == null || raw.isBlank()) return;
+		for (String pair : raw.split("&")) {
+			int idx = pair.indexOf('=');
+			if (idx <= 0) continue;
+			params.put(pair.substring(0, idx), URLDecoder.decode(pair.substring(idx + 1), StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void write(HttpExchange http, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		http.getResponseHeaders().set("Content-Type", "application/json");
+		http.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = http.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
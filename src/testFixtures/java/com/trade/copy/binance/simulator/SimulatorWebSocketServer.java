@@ -0,0 +1,372 @@
+package com.trade.copy.binance.simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * 시뮬레이터용 최소 WebSocket(RFC 6455) 서버
+ *  - /ws/&lt;stream&gt;[/&lt;stream&gt;...] : 단일 / 원시 스트림
+ *  - /stream?streams=a/b : 결합 스트림 ({"stream": ..., "data": ...} 형태)
+ *  - /ws/&lt;listenKey&gt; : 유저 데이터 스트림
+ *  - /ws-fapi/v1 : 거래용 WebSocket API (요청 / 응답은 apiHandler 에 위임)
+ *  - {"method": "SUBSCRIBE" | "UNSUBSCRIBE" | "LIST_SUBSCRIPTIONS"} 요청을 처리합니다.
+ * 외부 의존성 없이 텍스트 프레임만 다루며, 연결마다 가상 스레드 하나를 사용합니다.
+ */
+public class SimulatorWebSocketServer {
+
+	private static final Logger logger = Logger.getLogger(SimulatorWebSocketServer.class.getName());
+	private static final String HANDSHAKE_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+	private final ServerSocket serverSocket;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+	private final Predicate<String> listenKeyValidator;
+	private final Function<JSONObject, JSONObject> apiHandler;
+	private volatile boolean running = true;
+
+	public SimulatorWebSocketServer(int port, Predicate<String> listenKeyValidator,
+		  Function<JSONObject, JSONObject> apiHandler) throws IOException {
+		this.serverSocket = new ServerSocket();
+		this.serverSocket.bind(new InetSocketAddress("127.0.0.1", port));
+		this.listenKeyValidator = listenKeyValidator;
+		this.apiHandler = apiHandler;
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	public void start() {
+		executor.submit(() -> {
+			while (running) {
+				try {
+					Socket socket = serverSocket.accept();
+					executor.submit(() -> serve(socket));
+				} catch (IOException e) {
+					if (running) {
+						logger.log(Level.WARNING, "WebSocket accept 실패", e);
+					}
+				}
+			}
+		});
+	}
+
+	public void stop() {
+		running = false;
+		try {
+			serverSocket.close();
+		} catch (IOException ignored) {
+		}
+		connections.forEach(Connection::close);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * 현재 하나 이상의 연결이 구독 중인 스트림 이름 목록
+	 */
+	public Set<String> subscribedStreams() {
+		Set<String> result = new HashSet<>();
+		connections.forEach(c -> result.addAll(c.streams));
+		return result;
+	}
+
+	/**
+	 * 마켓 스트림 이벤트를 구독 중인 연결에 전송합니다.
+	 */
+	public void publish(String stream, JSONObject data) {
+		String raw = null;
+		String combined = null;
+		for (Connection c : connections) {
+			if (!c.streams.contains(stream)) continue;
+			if (c.combined) {
+				if (combined == null) {
+					combined = new JSONObject().put("stream", stream).put("data", data).toString();
+				}
+				c.sendText(combined);
+			}
+			else {
+				if (raw == null) {
+					raw = data.toString();
+				}
+				c.sendText(raw);
+			}
+		}
+	}
+
+	/**
+	 * 유저 데이터 스트림 이벤트를 listenKey 로 접속한 연결에 전송합니다.
+	 */
+	public void publishUserEvent(JSONObject event) {
+		String text = event.toString();
+		for (Connection c : connections) {
+			if (c.userStream) {
+				c.sendText(text);
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		Connection connection = null;
+		try {
+			socket.setTcpNoDelay(true);
+			InputStream in = socket.getInputStream();
+			String target = handshake(in, socket.getOutputStream());
+			if (target == null) {
+				socket.close();
+				return;
+			}
+
+			connection = new Connection(socket);
+			bindTarget(connection, target);
+			connections.add(connection);
+
+			readLoop(connection, new DataInputStream(in));
+		} catch (IOException e) {
+			// 클라이언트 종료
+		} finally {
+			if (connection != null) {
+				connections.remove(connection);
+				connection.close();
+			}
+		}
+	}
+
+	private String handshake(InputStream in, OutputStream out) throws IOException {
+		String requestLine = readLine(in);
+		if (requestLine == null || !requestLine.startsWith("GET ")) {
+			return null;
+		}
+		String target = requestLine.split(" ")[1];
+
+		String key = null;
+		for (String line; (line = readLine(in)) != null && !line.isEmpty(); ) {
+			int idx = line.indexOf(':');
+			if (idx > 0 && line.substring(0, idx).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+				key = line.substring(idx + 1).trim();
+			}
+		}
+		if (key == null) {
+			out.write("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			return null;
+		}
+
+		String accept;
+		try {
+			MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+			accept = Base64.getEncoder().encodeToString(
+				  sha1.digest((key + HANDSHAKE_GUID).getBytes(StandardCharsets.US_ASCII)));
+		} catch (Exception e) {
+			throw new IOException(e);
+		}
+
+		String response = "HTTP/1.1 101 Switching Protocols\r\n"
+			  + "Upgrade: websocket\r\n"
+			  + "Connection: Upgrade\r\n"
+			  + "Sec-WebSocket-Accept: " + accept + "\r\n\r\n";
+		out.write(response.getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+		return target;
+	}
+
+	/**
+	 * 헤더 이후 바이트를 프레임 파싱에 그대로 넘겨야 하므로 버퍼링 없이 한 바이트씩 읽습니다.
+	 */
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int b; (b = in.read()) >= 0; ) {
+			if (b == '\n') {
+				int len = sb.length();
+				return len > 0 && sb.charAt(len - 1) == '\r' ? sb.substring(0, len - 1) : sb.toString();
+			}
+			sb.append((char) b);
+		}
+		return sb.isEmpty() ? null : sb.toString();
+	}
+
+	private void bindTarget(Connection connection, String target) {
+		String path = target.contains("?") ? target.substring(0, target.indexOf('?')) : target;
+		String query = target.contains("?") ? target.substring(target.indexOf('?') + 1) : "";
+
+		if (path.equals("/ws-fapi/v1")) {
+			connection.api = true;
+		}
+		else if (path.equals("/stream")) {
+			connection.combined = true;
+			for (String param : query.split("&")) {
+				if (param.startsWith("streams=")) {
+					String streams = URLDecoder.decode(param.substring("streams=".length()), StandardCharsets.UTF_8);
+					for (String s : streams.split("/")) {
+						if (!s.isBlank()) connection.streams.add(s);
+					}
+				}
+			}
+		}
+		else if (path.startsWith("/ws")) {
+			for (String s : path.substring("/ws".length()).split("/")) {
+				if (s.isBlank()) continue;
+				if (listenKeyValidator.test(s)) {
+					connection.userStream = true;
+				}
+				else {
+					connection.streams.add(s);
+				}
+			}
+		}
+	}
+
+	private void readLoop(Connection connection, DataInputStream in) throws IOException {
+		ByteArrayOutputStream message = new ByteArrayOutputStream();
+		while (running) {
+			int b0 = in.readUnsignedByte();
+			int b1 = in.readUnsignedByte();
+			boolean fin = (b0 & 0x80) != 0;
+			int opcode = b0 & 0x0F;
+			long length = b1 & 0x7F;
+			if (length == 126) {
+				length = in.readUnsignedShort();
+			}
+			else if (length == 127) {
+				length = in.readLong();
+			}
+			byte[] mask = new byte[4];
+			if ((b1 & 0x80) != 0) {
+				in.readFully(mask);
+			}
+			byte[] payload = new byte[(int) length];
+			in.readFully(payload);
+			for (int i = 0; i < payload.length; i++) {
+				payload[i] ^= mask[i % 4];
+			}
+
+			switch (opcode) {
+				case 0x0, 0x1 -> {
+					message.write(payload);
+					if (fin) {
+						onText(connection, message.toString(StandardCharsets.UTF_8));
+						message.reset();
+					}
+				}
+				case 0x8 -> {
+					connection.sendFrame(0x8, payload);
+					return;
+				}
+				case 0x9 -> connection.sendFrame(0xA, payload);
+				default -> {
+				}
+			}
+		}
+	}
+
+	private void onText(Connection connection, String text) {
+		JSONObject req;
+		try {
+			req = new JSONObject(text);
+		} catch (Exception e) {
+			connection.sendText(new JSONObject()
+				  .put("error", new JSONObject().put("code", 2).put("msg", "Invalid request"))
+				  .toString());
+			return;
+		}
+
+		if (connection.api) {
+			connection.sendText(apiHandler.apply(req).toString());
+			return;
+		}
+
+		Object id = req.opt("id");
+		String method = req.optString("method");
+		JSONArray params = req.optJSONArray("params");
+		switch (method) {
+			case "SUBSCRIBE" -> {
+				if (params != null) params.forEach(p -> connection.streams.add(p.toString()));
+				connection.sendText(new JSONObject().put("result", JSONObject.NULL).put("id", id).toString());
+			}
+			case "UNSUBSCRIBE" -> {
+				if (params != null) params.forEach(p -> connection.streams.remove(p.toString()));
+				connection.sendText(new JSONObject().put("result", JSONObject.NULL).put("id", id).toString());
+			}
+			case "LIST_SUBSCRIPTIONS" -> connection.sendText(new JSONObject()
+				  .put("result", new JSONArray(connection.streams))
+				  .put("id", id)
+				  .toString());
+			default -> connection.sendText(new JSONObject()
+				  .put("error", new JSONObject().put("code", 1).put("msg", "Unknown method"))
+				  .put("id", id)
+				  .toString());
+		}
+	}
+
+	/**
+	 * WebSocket 연결 하나
+	 */
+	static class Connection {
+		private final Socket socket;
+		private final OutputStream out;
+		final Set<String> streams = ConcurrentHashMap.newKeySet();
+		volatile boolean combined;
+		volatile boolean userStream;
+		volatile boolean api;
+
+		Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			this.out = socket.getOutputStream();
+		}
+
+		void sendText(String text) {
+			try {
+				sendFrame(0x1, text.getBytes(StandardCharsets.UTF_8));
+			} catch (IOException e) {
+				close();
+			}
+		}
+
+		synchronized void sendFrame(int opcode, byte[] payload) throws IOException {
+			out.write(0x80 | opcode);
+			if (payload.length < 126) {
+				out.write(payload.length);
+			}
+			else if (payload.length <= 0xFFFF) {
+				out.write(126);
+				out.write((payload.length >>> 8) & 0xFF);
+				out.write(payload.length & 0xFF);
+			}
+			else {
+				out.write(127);
+				long len = payload.length;
+				for (int shift = 56; shift >= 0; shift -= 8) {
+					out.write((int) (len >>> shift) & 0xFF);
+				}
+			}
+			out.write(payload);
+			out.flush();
+		}
+
+		void close() {
+			try {
+				socket.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+}